@@ -18,25 +18,42 @@ package io.github.rose.core.json;
 import static java.util.TimeZone.getTimeZone;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import io.github.rose.core.util.date.DatePattern;
 import io.github.rose.core.validation.Views;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
@@ -45,6 +62,10 @@ import java.util.*;
 public class JsonUtils {
     public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
     static {
         OBJECT_MAPPER
                 .setTimeZone(getTimeZone(ZoneId.systemDefault()))
@@ -76,6 +97,31 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Serializes the value while counting UTF-8 bytes and aborts the serialization once {@code maxBytes} is exceeded,
+     * so a large value is never fully serialized. A truncated result ends with {@code "..."} and is never longer than
+     * {@code maxBytes} bytes.
+     *
+     * @param maxBytes the maximum length in UTF-8 bytes, no limit when not positive
+     */
+    public static String toJson(Object value, int maxBytes) {
+        if (value == null) {
+            return null;
+        }
+        if (maxBytes <= 0) {
+            return toJson(value);
+        }
+        LimitedOutputStream out = new LimitedOutputStream(maxBytes);
+        try {
+            OBJECT_MAPPER.writeValue(out, value);
+        } catch (IOException | RuntimeException e) {
+            if (!out.isTruncated()) {
+                throw new RuntimeException(e);
+            }
+        }
+        return out.toJson();
+    }
+
     public static String toJson(Object value, Class<Views.Public> serializationView) {
         try {
             return OBJECT_MAPPER.writerWithView(serializationView).writeValueAsString(value);
@@ -171,10 +217,102 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Deep copies the value through a {@link TokenBuffer}, so the serialized form is kept as tokens and never rendered
+     * to text. The result is the same as {@code fromJson(toJson(value), value.getClass())}.
+     */
     public static <T> T clone(T value) {
+        if (value == null) {
+            return null;
+        }
         @SuppressWarnings("unchecked")
         Class<T> valueClass = (Class<T>) value.getClass();
-        return fromJson(toJson(value), valueClass);
+        TokenBuffer buffer = new TokenBuffer(OBJECT_MAPPER, false);
+        try {
+            OBJECT_MAPPER.writeValue(buffer, value);
+            try (JsonParser parser = buffer.asParser()) {
+                return readerFor(valueClass).readValue(parser);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns a cached {@link ObjectReader} bound to the given type, built once from {@link #OBJECT_MAPPER}.
+     */
+    public static ObjectReader readerFor(Class<?> clazz) {
+        return READERS.computeIfAbsent(clazz, OBJECT_MAPPER::readerFor);
+    }
+
+    /**
+     * Returns a cached {@link ObjectWriter} bound to the given type, built once from {@link #OBJECT_MAPPER}. The
+     * writer never closes the target it writes to.
+     */
+    public static ObjectWriter writerFor(Class<?> clazz) {
+        return WRITERS.computeIfAbsent(
+                clazz, key -> OBJECT_MAPPER.writerFor(key).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+
+    /**
+     * Lazily reads a JSON array (or a sequence of root-level values) element by element. Only the current element is
+     * held in memory; the returned iterator must be closed to release the underlying stream.
+     */
+    public static <T> MappingIterator<T> iterate(InputStream in, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValues(in);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static <T> MappingIterator<T> iterate(ReadableByteChannel channel, Class<T> clazz) {
+        return iterate(Channels.newInputStream(channel), clazz);
+    }
+
+    /**
+     * Same as {@link #iterate(InputStream, Class)} but exposed as a sequential {@link Stream}. Closing the stream
+     * closes the input.
+     */
+    public static <T> Stream<T> stream(InputStream in, Class<T> clazz) {
+        MappingIterator<T> iterator = iterate(in, clazz);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+    }
+
+    public static <T> Stream<T> stream(ReadableByteChannel channel, Class<T> clazz) {
+        return stream(Channels.newInputStream(channel), clazz);
+    }
+
+    /**
+     * Writes the elements as a JSON array one at a time, without building the whole document in memory. The output
+     * stream is flushed but left open.
+     */
+    public static <T> void writeArray(OutputStream out, Iterable<? extends T> values, Class<T> clazz) {
+        try (SequenceWriter sequenceWriter = writerFor(clazz).writeValuesAsArray(out)) {
+            for (T value : values) {
+                sequenceWriter.write(value);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static <T> void writeArray(OutputStream out, Stream<? extends T> values, Class<T> clazz) {
+        try (SequenceWriter sequenceWriter = writerFor(clazz).writeValuesAsArray(out)) {
+            Iterator<? extends T> iterator = values.iterator();
+            while (iterator.hasNext()) {
+                sequenceWriter.write(iterator.next());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     public static JsonNode getSafely(JsonNode node, String... path) {
@@ -217,4 +355,67 @@ public class JsonUtils {
             map.put(currentPath, node.asText());
         }
     }
+
+    private static final class LimitedOutputStream extends ByteArrayOutputStream {
+        private static final byte[] ELLIPSIS = "...".getBytes(StandardCharsets.UTF_8);
+
+        private final int limit;
+
+        private boolean truncated;
+
+        LimitedOutputStream(int limit) {
+            super(Math.min(limit, 256));
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (count >= limit) {
+                truncate();
+            }
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (count + len > limit) {
+                super.write(b, off, limit - count);
+                truncate();
+            }
+            super.write(b, off, len);
+        }
+
+        private void truncate() {
+            truncated = true;
+            throw new LimitExceededException();
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        String toJson() {
+            if (!truncated) {
+                return new String(buf, 0, count, StandardCharsets.UTF_8);
+            }
+            int end = Math.max(limit - ELLIPSIS.length, 0);
+            // do not split a multi-byte character
+            while (end > 0 && (buf[end] & 0xC0) == 0x80) {
+                end--;
+            }
+            return new String(buf, 0, end, StandardCharsets.UTF_8)
+                    + new String(ELLIPSIS, 0, Math.min(ELLIPSIS.length, limit), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class LimitExceededException extends UncheckedIOException {
+        LimitExceededException() {
+            super(new IOException("Output limit exceeded"));
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
 }
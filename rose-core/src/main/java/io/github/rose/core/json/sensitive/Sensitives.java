@@ -16,6 +16,7 @@
 package io.github.rose.core.json.sensitive;
 
 import io.github.rose.core.util.StringPool;
+import java.util.Arrays;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -34,22 +35,46 @@ public class Sensitives {
         if (StringUtils.isBlank(origin)) {
             return StringPool.EMPTY;
         }
+        if (mask.length() == 1) {
+            return new String(deSensitive(origin, prefixKeep, suffixKeep, mask.charAt(0)));
+        }
 
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0, n = origin.length(); i < n; i++) {
-            if (i < prefixKeep) {
-                sb.append(origin.charAt(i));
-                continue;
-            }
-            if (i > (n - suffixKeep - 1)) {
-                sb.append(origin.charAt(i));
-                continue;
-            }
+        int n = origin.length();
+        int maskFrom = Math.min(Math.max(prefixKeep, 0), n);
+        int maskTo = Math.max(n - Math.max(suffixKeep, 0), maskFrom);
+        StringBuilder sb = new StringBuilder(n + (maskTo - maskFrom) * (mask.length() - 1));
+        sb.append(origin, 0, maskFrom);
+        for (int i = maskFrom; i < maskTo; i++) {
             sb.append(mask);
         }
+        sb.append(origin, maskTo, n);
         return sb.toString();
     }
 
+    /**
+     * 单字符打码，直接写入字符数组，可配合{@code JsonGenerator#writeString(char[], int, int)}使用
+     *
+     * @param origin     原始值
+     * @param prefixKeep 前置不需要打码的长度
+     * @param suffixKeep 后置不需要打码的长度
+     * @param mask       打码字符
+     * @return 结果，原始值为空时返回空数组
+     */
+    public static char[] deSensitive(String origin, int prefixKeep, int suffixKeep, char mask) {
+        if (StringUtils.isBlank(origin)) {
+            return new char[0];
+        }
+
+        int n = origin.length();
+        int maskFrom = Math.min(Math.max(prefixKeep, 0), n);
+        int maskTo = Math.max(n - Math.max(suffixKeep, 0), maskFrom);
+        char[] chars = new char[n];
+        origin.getChars(0, maskFrom, chars, 0);
+        Arrays.fill(chars, maskFrom, maskTo, mask);
+        origin.getChars(maskTo, n, chars, maskTo);
+        return chars;
+    }
+
     /**
      * 【中文姓名】只显示最后一个汉字，其他隐藏为星号，比如：**梦
      *
@@ -25,43 +25,102 @@ import io.github.rose.core.spring.expression.SpringExpressionResolver;
 import java.io.IOException;
 import java.util.Objects;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.expression.Expression;
 
 /**
+ * 脱敏序列化器，注解配置在{@link #createContextual}时解析一次：按类型确定保留长度和打码字符，
+ * {@link FieldSensitive#disabled()}非空时预先解析为表达式，序列化时直接打码写入{@link JsonGenerator}
+ *
  * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
  * @since 0.0.1
  */
 public class StringSensitiveSerialize extends JsonSerializer<String> implements ContextualSerializer {
 
-    private FieldSensitive fieldSensitive;
+    private final SensitiveType type;
 
-    public StringSensitiveSerialize(FieldSensitive fieldSensitive) {
-        this.fieldSensitive = fieldSensitive;
-    }
+    private final int prefixKeep;
 
-    public StringSensitiveSerialize() {}
+    private final int suffixKeep;
 
-    private String handler(FieldSensitive fieldSensitive, String origin) {
-        Object disable = SpringExpressionResolver.getInstance().resolve(fieldSensitive.disabled());
-        if (Boolean.TRUE.equals(disable)) {
-            return origin;
-        }
+    private final String mask;
+
+    /**
+     * 按保留长度单字符打码，可直接写入字符数组
+     */
+    private final boolean maskChar;
 
+    /**
+     * 是否禁用脱敏的表达式，为null时总是脱敏
+     */
+    private final Expression disabled;
+
+    public StringSensitiveSerialize(FieldSensitive fieldSensitive) {
         ObjectUtils.requireNonEmpty(fieldSensitive.type(), "Sensitive type enum should not be null.");
-        switch (fieldSensitive.type()) {
+        this.type = fieldSensitive.type();
+        switch (type) {
             case CHINESE_NAME:
-                return Sensitives.chineseName(origin);
+                this.prefixKeep = 0;
+                this.suffixKeep = 1;
+                this.mask = "*";
+                break;
             case ID_CARD:
-                return Sensitives.idCardNum(origin);
             case BANK_CARD:
-                return Sensitives.bankCard(origin);
+                this.prefixKeep = 6;
+                this.suffixKeep = 4;
+                this.mask = "*";
+                break;
             case CAR_LICENSE:
-                return Sensitives.carLicense(origin);
+                this.prefixKeep = 2;
+                this.suffixKeep = 1;
+                this.mask = "*";
+                break;
             case TEL:
-                return Sensitives.tel(origin);
+                this.prefixKeep = 0;
+                this.suffixKeep = 4;
+                this.mask = "*";
+                break;
             case PHONE:
-                return Sensitives.phone(origin);
+                this.prefixKeep = 3;
+                this.suffixKeep = 4;
+                this.mask = "*";
+                break;
             case ADDRESS:
-                return Sensitives.address(origin);
+                this.prefixKeep = 6;
+                this.suffixKeep = 0;
+                this.mask = "*";
+                break;
+            case FIRST_MASK:
+                this.prefixKeep = 1;
+                this.suffixKeep = 0;
+                this.mask = fieldSensitive.mask();
+                break;
+            default:
+                this.prefixKeep = fieldSensitive.prefixKeep();
+                this.suffixKeep = fieldSensitive.suffixKeep();
+                this.mask = fieldSensitive.mask();
+        }
+        this.maskChar = mask.length() == 1
+                && type != SensitiveType.EMAIL
+                && type != SensitiveType.SECRET
+                && type != SensitiveType.IPV4
+                && type != SensitiveType.IPV6;
+        this.disabled = StringUtils.isNotBlank(fieldSensitive.disabled())
+                ? SpringExpressionResolver.parse(fieldSensitive.disabled())
+                : null;
+    }
+
+    public StringSensitiveSerialize() {
+        this.type = SensitiveType.CUSTOM;
+        this.prefixKeep = 0;
+        this.suffixKeep = 0;
+        this.mask = "*";
+        this.maskChar = true;
+        this.disabled = null;
+    }
+
+    private String handler(String origin) {
+        switch (type) {
             case EMAIL:
                 return Sensitives.email(origin);
             case SECRET:
@@ -70,13 +129,8 @@ public class StringSensitiveSerialize extends JsonSerializer<String> implements
                 return Sensitives.ipv4(origin);
             case IPV6:
                 return Sensitives.ipv6(origin);
-            case FIRST_MASK:
-                return Sensitives.deSensitive(origin, 1, 0, fieldSensitive.mask());
-            case CUSTOM:
-                return Sensitives.deSensitive(
-                        origin, fieldSensitive.prefixKeep(), fieldSensitive.suffixKeep(), fieldSensitive.mask());
             default:
-                throw new IllegalArgumentException("Unknown sensitive type enum " + fieldSensitive.type());
+                return Sensitives.deSensitive(origin, prefixKeep, suffixKeep, mask);
         }
     }
 
@@ -84,7 +138,17 @@ public class StringSensitiveSerialize extends JsonSerializer<String> implements
     public void serialize(
             final String origin, final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider)
             throws IOException {
-        jsonGenerator.writeString(handler(fieldSensitive, origin));
+        if (disabled != null
+                && Boolean.TRUE.equals(SpringExpressionResolver.getInstance().resolve(disabled))) {
+            jsonGenerator.writeString(origin);
+            return;
+        }
+        if (maskChar) {
+            char[] masked = Sensitives.deSensitive(origin, prefixKeep, suffixKeep, mask.charAt(0));
+            jsonGenerator.writeString(masked, 0, masked.length);
+        } else {
+            jsonGenerator.writeString(handler(origin));
+        }
     }
 
     @Override
@@ -0,0 +1,353 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.reflect;
+
+import io.github.rose.core.exception.RoseErrorCode;
+import io.github.rose.core.exception.RoseException;
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Property accessors of a bean class, compiled once with {@link LambdaMetafactory} and cached per class. Reading and
+ * writing properties through an accessor involves no reflection, which makes it suitable for per-request work such as
+ * partial updates.
+ *
+ * @param <T> the bean type.
+ */
+public final class BeanAccessor<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<BeanAccessor<?>> ACCESSORS = new ClassValue<BeanAccessor<?>>() {
+        @Override
+        protected BeanAccessor<?> computeValue(Class<?> type) {
+            return new BeanAccessor<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final Property[] properties;
+    private final Map<String, Property> propertiesByName;
+
+    private BeanAccessor(Class<T> type) {
+        this.type = type;
+        BeanInfo beanInfo;
+        try {
+            beanInfo = Introspector.getBeanInfo(type, Object.class);
+        } catch (IntrospectionException e) {
+            throw RoseException.wrap(e, RoseErrorCode.UNABLE_TO_INSTANTIATE_CLASS)
+                    .put("class", type.getName());
+        }
+        List<Property> list = new ArrayList<>();
+        Map<String, Property> byName = new LinkedHashMap<>();
+        for (PropertyDescriptor pd : beanInfo.getPropertyDescriptors()) {
+            if (pd.getPropertyType() == null) {
+                // indexed-only property
+                continue;
+            }
+            Property property = new Property(
+                    pd.getName(),
+                    pd.getPropertyType(),
+                    pd.getReadMethod() != null ? compileGetter(pd.getReadMethod()) : null,
+                    pd.getWriteMethod() != null ? compileSetter(pd.getWriteMethod()) : null);
+            list.add(property);
+            byName.put(property.name, property);
+        }
+        this.properties = list.toArray(new Property[0]);
+        this.propertiesByName = byName;
+    }
+
+    /**
+     * Returns the cached accessor of the specified class.
+     *
+     * @param type the bean class.
+     * @param <T>  the bean type.
+     * @return the accessor.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BeanAccessor<T> of(Class<T> type) {
+        return (BeanAccessor<T>) ACCESSORS.get(type);
+    }
+
+    /**
+     * Returns the cached accessor of the class of the specified bean.
+     *
+     * @param bean the bean.
+     * @param <T>  the bean type.
+     * @return the accessor.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BeanAccessor<T> of(T bean) {
+        return (BeanAccessor<T>) ACCESSORS.get(bean.getClass());
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public Set<String> propertyNames() {
+        return Collections.unmodifiableSet(propertiesByName.keySet());
+    }
+
+    public Object get(T bean, String name) {
+        Property property = propertiesByName.get(name);
+        return property != null && property.getter != null ? property.getter.apply(bean) : null;
+    }
+
+    public void set(T bean, String name, Object value) {
+        Property property = propertiesByName.get(name);
+        if (property != null) {
+            property.set(bean, value);
+        }
+    }
+
+    /**
+     * Returns the compiled getter of the named property, so that callers reading the same property of many beans can
+     * skip the lookup by name.
+     *
+     * @param name the property name.
+     * @return the getter, or {@code null} if the property does not exist or is not readable.
+     */
+    public Function<Object, Object> getter(String name) {
+        Property property = propertiesByName.get(name);
+        return property != null ? property.getter : null;
+    }
+
+    /**
+     * Returns the compiled setter of the named property. Like {@link #set}, the setter ignores {@code null} values of
+     * primitive properties.
+     *
+     * @param name the property name.
+     * @return the setter, or {@code null} if the property does not exist or is not writable.
+     */
+    public BiConsumer<Object, Object> setter(String name) {
+        Property property = propertiesByName.get(name);
+        return property != null && property.setter != null ? property::set : null;
+    }
+
+    /**
+     * Copies all readable properties into a new map, in declaration order of the bean info.
+     *
+     * @param bean the bean.
+     * @return the property values, {@code null} values included.
+     */
+    public Map<String, Object> toMap(T bean) {
+        Map<String, Object> map = new LinkedHashMap<>(properties.length * 4 / 3 + 1);
+        for (Property property : properties) {
+            if (property.getter != null) {
+                map.put(property.name, property.getter.apply(bean));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Sets the writable properties found in the map. Unknown keys are ignored.
+     *
+     * @param map  the property values.
+     * @param bean the bean to populate.
+     * @return the bean.
+     */
+    public T fromMap(Map<String, ?> map, T bean) {
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            Property property = propertiesByName.get(entry.getKey());
+            if (property != null) {
+                property.set(bean, entry.getValue());
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * Returns the names of the readable properties whose value is {@code null}.
+     *
+     * @param bean the bean.
+     * @return the property names.
+     */
+    public String[] nullProperties(T bean) {
+        List<String> names = new ArrayList<>();
+        for (Property property : properties) {
+            if (property.getter != null && property.getter.apply(bean) == null) {
+                names.add(property.name);
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * Copies the non-null readable properties of the source into the same-named, type-compatible writable properties
+     * of the target.
+     *
+     * @param source the source bean.
+     * @param target the target bean.
+     * @param <V>    the target type.
+     * @return the target.
+     */
+    public <V> V copyNonNull(T source, V target) {
+        BeanAccessor<V> targetAccessor = of(target);
+        for (Property property : properties) {
+            if (property.getter == null) {
+                continue;
+            }
+            Property targetProperty = targetAccessor.propertiesByName.get(property.name);
+            if (targetProperty == null || targetProperty.setter == null) {
+                continue;
+            }
+            Object value = property.getter.apply(source);
+            if (value != null && targetProperty.boxedType.isInstance(value)) {
+                targetProperty.setter.accept(target, value);
+            }
+        }
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compileGetter(Method method) {
+        if (isPublic(method) && isVisible(method.getDeclaringClass()) && isVisible(method.getReturnType())) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(
+                        LOOKUP,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(
+                                ClassUtils.primitiveToWrapper(method.getReturnType()), method.getDeclaringClass()));
+                return (Function<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable ignored) {
+                // not accessible from here, fall back to a method handle
+            }
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflect(ReflectUtils.makeAccessible(method))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return bean -> {
+                try {
+                    return handle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw RoseException.wrap(e, RoseErrorCode.UNABLE_TO_INVOKE_METHOD)
+                            .put("method", method.toGenericString());
+                }
+            };
+        } catch (Throwable e) {
+            throw RoseException.wrap(e, RoseErrorCode.UNABLE_TO_INVOKE_METHOD).put("method", method.toGenericString());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> compileSetter(Method method) {
+        if (isPublic(method)
+                && isVisible(method.getDeclaringClass())
+                && isVisible(method.getParameterTypes()[0])) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(
+                        LOOKUP,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(
+                                void.class,
+                                method.getDeclaringClass(),
+                                ClassUtils.primitiveToWrapper(method.getParameterTypes()[0])));
+                return (BiConsumer<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable ignored) {
+                // not accessible from here, fall back to a method handle
+            }
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflect(ReflectUtils.makeAccessible(method))
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (bean, value) -> {
+                try {
+                    handle.invokeExact(bean, value);
+                } catch (Throwable e) {
+                    throw RoseException.wrap(e, RoseErrorCode.UNABLE_TO_INVOKE_METHOD)
+                            .put("method", method.toGenericString());
+                }
+            };
+        } catch (Throwable e) {
+            throw RoseException.wrap(e, RoseErrorCode.UNABLE_TO_INVOKE_METHOD).put("method", method.toGenericString());
+        }
+    }
+
+    private static boolean isPublic(Method method) {
+        return Modifier.isPublic(method.getModifiers())
+                && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    /**
+     * The lambda class is linked from the class loader of this class. Types from a child class loader, such as a web
+     * application or a plugin, can not be resolved there and would fail with {@link NoClassDefFoundError}.
+     */
+    private static boolean isVisible(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            return true;
+        }
+        for (ClassLoader current = BeanAccessor.class.getClassLoader();
+                current != null;
+                current = current.getParent()) {
+            if (current == loader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Property {
+        private final String name;
+        private final Class<?> boxedType;
+        private final boolean primitive;
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+
+        private Property(
+                String name, Class<?> type, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+            this.name = name;
+            this.boxedType = ClassUtils.primitiveToWrapper(type);
+            this.primitive = type.isPrimitive();
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private void set(Object bean, Object value) {
+            if (setter == null || (value == null && primitive)) {
+                return;
+            }
+            setter.accept(bean, value);
+        }
+    }
+}
@@ -15,14 +15,9 @@
  */
 package io.github.rose.core.spring;
 
-import java.beans.PropertyDescriptor;
-import java.util.ArrayList;
-import java.util.List;
+import io.github.rose.core.reflect.BeanAccessor;
 import java.util.Map;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.cglib.beans.BeanCopier;
-import org.springframework.cglib.beans.BeanMap;
 import org.springframework.cglib.core.Converter;
 import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
@@ -40,16 +35,21 @@ public class BeanUtils {
      * @return 属性值
      */
     public static String[] getNullPropertyNames(Object source) {
-        BeanWrapper beanWrapper = new BeanWrapperImpl(source);
-        PropertyDescriptor[] pds = beanWrapper.getPropertyDescriptors();
-        List<String> nullPropertyNames = new ArrayList<>();
-        for (PropertyDescriptor pd : pds) {
-            String propertyName = pd.getName();
-            if (beanWrapper.getPropertyValue(propertyName) == null) {
-                nullPropertyNames.add(propertyName);
-            }
+        return BeanAccessor.of(source).nullProperties(source);
+    }
+
+    /**
+     * 拷贝源对象中不为空的属性到目标对象
+     *
+     * @param source 数据来源实体
+     * @param desc   目标对象
+     * @return desc
+     */
+    public static <T, V> V copyNonNull(T source, V desc) {
+        if (source == null || desc == null) {
+            return desc;
         }
-        return nullPropertyNames.toArray(new String[nullPropertyNames.size()]);
+        return BeanAccessor.of(source).copyNonNull(source, desc);
     }
 
     /**
@@ -77,12 +77,11 @@ public class BeanUtils {
      * @param bean 数据来源实体
      * @return map对象
      */
-    @SuppressWarnings("unchecked")
     public static <T> Map<String, Object> copyToMap(T bean) {
         if (ObjectUtils.isEmpty(bean)) {
             return null;
         }
-        return BeanMap.create(bean);
+        return BeanAccessor.of(bean).toMap(bean);
     }
 
     /**
@@ -99,13 +98,13 @@ public class BeanUtils {
         if (ObjectUtils.isEmpty(bean)) {
             return null;
         }
-        BeanMap.create(bean).putAll(map);
-        return bean;
+        return BeanAccessor.of(bean).fromMap(map, bean);
     }
 
     /**
      * BeanCopier属性缓存<br>
-     * 缓存用于防止多次反射造成的性能问题
+     * 缓存用于防止多次反射造成的性能问题，按 源类 -> 目标类 两级索引，查找时不拼接字符串。
+     * 缓存使用软引用，内存紧张时可被回收，不会阻止类加载器卸载。
      */
     public enum BeanCopierCache {
 
@@ -114,10 +113,14 @@ public class BeanUtils {
          */
         INSTANCE;
 
-        private final ConcurrentReferenceHashMap<String, BeanCopier> cache = new ConcurrentReferenceHashMap<>();
+        private final ConcurrentReferenceHashMap<Class<?>, ConcurrentReferenceHashMap<Class<?>, BeanCopier>> cache =
+                new ConcurrentReferenceHashMap<>();
+
+        private final ConcurrentReferenceHashMap<Class<?>, ConcurrentReferenceHashMap<Class<?>, BeanCopier>>
+                converterCache = new ConcurrentReferenceHashMap<>();
 
         /**
-         * 获得类与转换器生成的key在{@link BeanCopier}的Map中对应的元素
+         * 获得源类、目标类与转换器对应的{@link BeanCopier}，不存在时创建并缓存
          *
          * @param srcClass    源Bean的类
          * @param targetClass 目标Bean的类
@@ -125,25 +128,33 @@ public class BeanUtils {
          * @return Map中对应的BeanCopier
          */
         public BeanCopier get(Class<?> srcClass, Class<?> targetClass, Converter converter) {
-            final String key = genKey(srcClass, targetClass, converter);
-            return cache.getOrDefault(key, BeanCopier.create(srcClass, targetClass, converter != null));
+            return get(srcClass, targetClass, converter != null);
         }
 
         /**
-         * 获得类与转换器生成的key
+         * 预热，启动时为已知的类型对提前生成{@link BeanCopier}
          *
-         * @param srcClass    源Bean的类
-         * @param targetClass 目标Bean的类
-         * @param converter   转换器
-         * @return 属性名和Map映射的key
+         * @param srcClass     源Bean的类
+         * @param targetClass  目标Bean的类
+         * @param useConverter 是否使用转换器
+         */
+        public void preload(Class<?> srcClass, Class<?> targetClass, boolean useConverter) {
+            get(srcClass, targetClass, useConverter);
+        }
+
+        private BeanCopier get(Class<?> srcClass, Class<?> targetClass, boolean useConverter) {
+            ConcurrentReferenceHashMap<Class<?>, ConcurrentReferenceHashMap<Class<?>, BeanCopier>> copiers =
+                    useConverter ? converterCache : cache;
+            return copiers.computeIfAbsent(srcClass, key -> new ConcurrentReferenceHashMap<>())
+                    .computeIfAbsent(targetClass, key -> BeanCopier.create(srcClass, targetClass, useConverter));
+        }
+
+        /**
+         * 清空缓存
          */
-        private String genKey(Class<?> srcClass, Class<?> targetClass, Converter converter) {
-            final StringBuilder key =
-                    new StringBuilder().append(srcClass.getName()).append('#').append(targetClass.getName());
-            if (null != converter) {
-                key.append('#').append(converter.getClass().getName());
-            }
-            return key.toString();
+        public void clear() {
+            cache.clear();
+            converterCache.clear();
         }
     }
 }
@@ -21,37 +21,65 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.expression.BeanFactoryResolver;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
 import org.springframework.expression.common.TemplateParserContext;
 import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
+ * Resolves {@code ${...}} templates with Spring EL.
+ * <p>
+ * Parsed expressions are kept in a bounded LRU cache keyed by template, so repeated templates are
+ * parsed once and, with {@link SpelCompilerMode#IMMEDIATE}, compiled once. The shared evaluation
+ * context only holds static variables and is never modified after construction. Each evaluation
+ * gets its own lightweight context on top of it, in which dynamic variables such as
+ * {@code #uuid} or {@code #localDate} are computed on first reference and stay stable for the
+ * rest of that evaluation.
+ *
  * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
  * @since 0.0.1
  */
 public class SpringExpressionResolver implements Function<Object, Object> {
     private static final Logger log = LoggerFactory.getLogger(SpringExpressionResolver.class);
 
+    private static final int CACHE_SIZE = 1024;
+
     private static final ParserContext PARSER_CONTEXT = new TemplateParserContext("${", "}");
-    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
     private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
             new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, SpringExpressionResolver.class.getClassLoader()));
-    private static SpringExpressionResolver INSTANCE;
+    private static final ConcurrentLruCache<String, Expression> EXPRESSION_CACHE =
+            new ConcurrentLruCache<>(CACHE_SIZE, value -> EXPRESSION_PARSER.parseExpression(value, PARSER_CONTEXT));
+    private static final Map<String, Supplier<Object>> DYNAMIC_VARIABLES = dynamicVariables();
+
     private final StandardEvaluationContext evaluationContext = new StandardEvaluationContext();
 
     private SpringExpressionResolver() {
@@ -68,7 +96,15 @@ public class SpringExpressionResolver implements Function<Object, Object> {
         evaluationContext.setVariable("tempDir", System.getProperty("java.io.tmpdir"));
         evaluationContext.setVariable("zoneId", ZoneId.systemDefault().getId());
 
-        evaluationContext.setBeanResolver(new BeanFactoryResolver(SpringContextHolder.getApplicationContext()));
+        // look up the ApplicationContext per call, the resolver may be created before the context is ready
+        evaluationContext.setBeanResolver(new ApplicationContextBeanResolver());
+
+        // initialize the lazily created resolvers now, the shared context is read-only afterwards
+        evaluationContext.getPropertyAccessors();
+        evaluationContext.getConstructorResolvers();
+        evaluationContext.getMethodResolvers();
+        evaluationContext.getTypeLocator();
+        evaluationContext.getTypeConverter();
     }
 
     /**
@@ -76,12 +112,8 @@ public class SpringExpressionResolver implements Function<Object, Object> {
      *
      * @return the instance
      */
-    public static synchronized SpringExpressionResolver getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new SpringExpressionResolver();
-        }
-        INSTANCE.initializeDynamicVariables();
-        return INSTANCE;
+    public static SpringExpressionResolver getInstance() {
+        return Holder.INSTANCE;
     }
 
     /**
@@ -93,46 +125,156 @@ public class SpringExpressionResolver implements Function<Object, Object> {
     public Object resolve(final String value) {
         if (StringUtils.isNotBlank(value)) {
             log.trace("Parsing expression as [{}]", value);
-            Expression expression = EXPRESSION_PARSER.parseExpression(value, PARSER_CONTEXT);
-            Object result = expression.getValue(evaluationContext);
+            Object result = resolve(parse(value));
             log.trace("Parsed expression result is [{}]", result);
             return result;
         }
         return value;
     }
 
+    /**
+     * Parse the value, or get it from the expression cache, so that it can be evaluated repeatedly with
+     * {@link #resolve(Expression)}.
+     *
+     * @param value the value
+     * @return the parsed expression
+     */
+    public static Expression parse(final String value) {
+        return EXPRESSION_CACHE.get(value);
+    }
+
+    /**
+     * Evaluate an expression created by {@link #parse(String)}.
+     *
+     * @param expression the expression
+     * @return the result
+     */
+    public Object resolve(final Expression expression) {
+        return expression.getValue(new ResolutionContext(evaluationContext));
+    }
+
     @Override
     public Object apply(final Object o) {
         return resolve(o.toString());
     }
 
-    private void initializeDynamicVariables() {
-        evaluationContext.setVariable("randomNumber2", RandomStringUtils.randomNumeric(2));
-        evaluationContext.setVariable("randomNumber4", RandomStringUtils.randomNumeric(4));
-        evaluationContext.setVariable("randomNumber6", RandomStringUtils.randomNumeric(6));
-        evaluationContext.setVariable("randomNumber8", RandomStringUtils.randomNumeric(8));
-        evaluationContext.setVariable("randomString4", RandomStringUtils.randomAlphabetic(4));
-        evaluationContext.setVariable("randomString6", RandomStringUtils.randomAlphabetic(6));
-        evaluationContext.setVariable("randomString8", RandomStringUtils.randomAlphabetic(8));
-        evaluationContext.setVariable("uuid", UUID.randomUUID().toString());
-
-        evaluationContext.setVariable(
-                "localStartWorkDay", DateUtils.getStartWorkDay().toString());
-        evaluationContext.setVariable(
-                "localEndWorkDay", DateUtils.getEndWorkDay().toString());
-        evaluationContext.setVariable("localStartDay", DateUtils.getStartDay().toString());
-        evaluationContext.setVariable("localEndDay", DateUtils.getEndDay().toString());
-        evaluationContext.setVariable(
-                "localDateTime", DateUtils.getLocalDateTime().toString());
-        evaluationContext.setVariable(
-                "localDateTimeUtc", DateUtils.getLocalDateTimeUTC().toString());
-        evaluationContext.setVariable(
-                "localDate", LocalDate.now(ZoneId.systemDefault()).toString());
-        evaluationContext.setVariable(
-                "localDateUtc", LocalDate.now(Clock.systemUTC()).toString());
-        evaluationContext.setVariable(
-                "zonedDateTime", ZonedDateTime.now(ZoneId.systemDefault()).toString());
-        evaluationContext.setVariable(
-                "zonedDateTimeUtc", ZonedDateTime.now(Clock.systemUTC()).toString());
+    private static Map<String, Supplier<Object>> dynamicVariables() {
+        Map<String, Supplier<Object>> variables = new LinkedHashMap<>();
+        variables.put("randomNumber2", () -> RandomStringUtils.randomNumeric(2));
+        variables.put("randomNumber4", () -> RandomStringUtils.randomNumeric(4));
+        variables.put("randomNumber6", () -> RandomStringUtils.randomNumeric(6));
+        variables.put("randomNumber8", () -> RandomStringUtils.randomNumeric(8));
+        variables.put("randomString4", () -> RandomStringUtils.randomAlphabetic(4));
+        variables.put("randomString6", () -> RandomStringUtils.randomAlphabetic(6));
+        variables.put("randomString8", () -> RandomStringUtils.randomAlphabetic(8));
+        variables.put("uuid", () -> UUID.randomUUID().toString());
+
+        variables.put("localStartWorkDay", () -> DateUtils.getStartWorkDay().toString());
+        variables.put("localEndWorkDay", () -> DateUtils.getEndWorkDay().toString());
+        variables.put("localStartDay", () -> DateUtils.getStartDay().toString());
+        variables.put("localEndDay", () -> DateUtils.getEndDay().toString());
+        variables.put("localDateTime", () -> DateUtils.getLocalDateTime().toString());
+        variables.put("localDateTimeUtc", () -> DateUtils.getLocalDateTimeUTC().toString());
+        variables.put("localDate", () -> LocalDate.now(ZoneId.systemDefault()).toString());
+        variables.put("localDateUtc", () -> LocalDate.now(Clock.systemUTC()).toString());
+        variables.put("zonedDateTime", () -> ZonedDateTime.now(ZoneId.systemDefault()).toString());
+        variables.put("zonedDateTimeUtc", () -> ZonedDateTime.now(Clock.systemUTC()).toString());
+        return Collections.unmodifiableMap(variables);
+    }
+
+    private static final class Holder {
+        private static final SpringExpressionResolver INSTANCE = new SpringExpressionResolver();
+    }
+
+    private static final class ApplicationContextBeanResolver implements BeanResolver {
+        @Override
+        public Object resolve(EvaluationContext context, String beanName) throws AccessException {
+            ApplicationContext applicationContext = SpringContextHolder.getApplicationContext();
+            if (applicationContext == null) {
+                throw new AccessException("ApplicationContext is not available to resolve bean '" + beanName + "'");
+            }
+            return applicationContext.getBean(beanName);
+        }
+    }
+
+    /**
+     * Context of a single evaluation. It delegates to the shared context and keeps variables that are
+     * computed or assigned during the evaluation to itself.
+     */
+    private static final class ResolutionContext implements EvaluationContext {
+        private final StandardEvaluationContext delegate;
+
+        private Map<String, Object> variables;
+
+        ResolutionContext(StandardEvaluationContext delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            if (variables != null && variables.containsKey(name)) {
+                return variables.get(name);
+            }
+            Supplier<Object> supplier = DYNAMIC_VARIABLES.get(name);
+            if (supplier == null) {
+                return delegate.lookupVariable(name);
+            }
+            Object value = supplier.get();
+            setVariable(name, value);
+            return value;
+        }
+
+        @Override
+        public void setVariable(String name, Object value) {
+            if (variables == null) {
+                variables = new HashMap<>();
+            }
+            variables.put(name, value);
+        }
+
+        @Override
+        public TypedValue getRootObject() {
+            return delegate.getRootObject();
+        }
+
+        @Override
+        public List<PropertyAccessor> getPropertyAccessors() {
+            return delegate.getPropertyAccessors();
+        }
+
+        @Override
+        public List<ConstructorResolver> getConstructorResolvers() {
+            return delegate.getConstructorResolvers();
+        }
+
+        @Override
+        public List<MethodResolver> getMethodResolvers() {
+            return delegate.getMethodResolvers();
+        }
+
+        @Override
+        public BeanResolver getBeanResolver() {
+            return delegate.getBeanResolver();
+        }
+
+        @Override
+        public TypeLocator getTypeLocator() {
+            return delegate.getTypeLocator();
+        }
+
+        @Override
+        public TypeConverter getTypeConverter() {
+            return delegate.getTypeConverter();
+        }
+
+        @Override
+        public TypeComparator getTypeComparator() {
+            return delegate.getTypeComparator();
+        }
+
+        @Override
+        public OperatorOverloader getOperatorOverloader() {
+            return delegate.getOperatorOverloader();
+        }
     }
 }
@@ -64,16 +64,19 @@ public abstract class NanoId {
      * The generated NanoId String will have 21 symbols.
      * <p>
      * The NanoId String is generated using a cryptographically strong pseudo random
-     * number generator.
+     * number generator, see {@link NanoIdGenerator}.
      *
      * @return A randomly generated NanoId String.
      */
     public static String randomNanoId() {
-        return randomNanoId(DEFAULT_NUMBER_GENERATOR, DEFAULT_ALPHABET, DEFAULT_SIZE);
+        return NanoIdGenerator.DEFAULT.nextId();
     }
 
     public static String randomNanoId(final int size) {
-        return randomNanoId(DEFAULT_NUMBER_GENERATOR, DEFAULT_ALPHABET, size);
+        if (size == DEFAULT_SIZE) {
+            return NanoIdGenerator.DEFAULT.nextId();
+        }
+        return new NanoIdGenerator(DEFAULT_ALPHABET, size).nextId();
     }
 
     /**
@@ -103,12 +106,12 @@ public abstract class NanoId {
             throw new IllegalArgumentException("size must be greater than zero.");
         }
 
-        final int mask = (2 << (int) Math.floor(Math.log(alphabet.length - 1) / Math.log(2))) - 1;
+        final int mask = NanoIdGenerator.mask(alphabet.length);
         final int step = (int) Math.ceil(1.6 * mask * size / alphabet.length);
 
-        final StringBuilder idBuilder = new StringBuilder();
+        final StringBuilder idBuilder = new StringBuilder(size);
+        final byte[] bytes = new byte[step];
         while (true) {
-            final byte[] bytes = new byte[step];
             random.nextBytes(bytes);
 
             for (int i = 0; i < step; i++) {
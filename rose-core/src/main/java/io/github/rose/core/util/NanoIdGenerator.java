@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reusable, thread-safe NanoId generator for a fixed alphabet and size.
+ * <p>
+ * The mask is computed once per generator. Random bytes come from a per-thread
+ * {@link SecureRandom} and are drawn in blocks, so one {@code nextBytes} call serves many
+ * IDs and threads never contend on a shared random number generator.
+ *
+ * @see NanoId
+ */
+public final class NanoIdGenerator {
+
+    /**
+     * Generator for url-friendly NanoId Strings with {@link NanoId#DEFAULT_SIZE} symbols.
+     */
+    public static final NanoIdGenerator DEFAULT = new NanoIdGenerator(NanoId.DEFAULT_ALPHABET, NanoId.DEFAULT_SIZE);
+
+    private static final int BLOCK_SIZE = 4096;
+
+    private static final ThreadLocal<RandomBuffer> BUFFER = ThreadLocal.withInitial(RandomBuffer::new);
+
+    private final char[] alphabet;
+
+    private final int size;
+
+    private final int mask;
+
+    /**
+     * @param alphabet The symbols used in the NanoId String.
+     * @param size     The number of symbols in the NanoId String.
+     */
+    public NanoIdGenerator(final char[] alphabet, final int size) {
+        if (alphabet == null) {
+            throw new IllegalArgumentException("alphabet cannot be null.");
+        }
+
+        if (alphabet.length == 0 || alphabet.length >= 256) {
+            throw new IllegalArgumentException("alphabet must contain between 1 and 255 symbols.");
+        }
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be greater than zero.");
+        }
+
+        this.alphabet = alphabet.clone();
+        this.size = size;
+        this.mask = mask(alphabet.length);
+    }
+
+    /**
+     * Smallest {@code 2^n - 1} that covers every alphabet index, same as
+     * {@code (2 << floor(log2(length - 1))) - 1} without floating point math.
+     */
+    static int mask(final int length) {
+        if (length == 1) {
+            return 1;
+        }
+        return (2 << (31 - Integer.numberOfLeadingZeros(length - 1))) - 1;
+    }
+
+    /**
+     * @return A randomly generated NanoId String.
+     */
+    public String nextId() {
+        final RandomBuffer buffer = BUFFER.get();
+        final char[] id = new char[size];
+        fill(buffer, id);
+        return new String(id);
+    }
+
+    /**
+     * Generates several ids at once, reusing the per-thread random buffer for all of them.
+     *
+     * @param n The number of ids.
+     * @return The generated ids.
+     */
+    public List<String> nextIds(final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n cannot be negative.");
+        }
+        final RandomBuffer buffer = BUFFER.get();
+        final char[] id = new char[size];
+        final List<String> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            fill(buffer, id);
+            ids.add(new String(id));
+        }
+        return ids;
+    }
+
+    private void fill(final RandomBuffer buffer, final char[] id) {
+        int length = 0;
+        while (length < id.length) {
+            final int alphabetIndex = buffer.next() & mask;
+            if (alphabetIndex < alphabet.length) {
+                id[length++] = alphabet[alphabetIndex];
+            }
+        }
+    }
+
+    private static final class RandomBuffer {
+        private final SecureRandom random = new SecureRandom();
+
+        private final byte[] bytes = new byte[BLOCK_SIZE];
+
+        private int position = BLOCK_SIZE;
+
+        int next() {
+            if (position == bytes.length) {
+                random.nextBytes(bytes);
+                position = 0;
+            }
+            return bytes[position++];
+        }
+    }
+}
@@ -15,7 +15,9 @@
  */
 package io.github.rose.core.util;
 
-import com.github.f4b6a3.uuid.UuidCreator;
+import io.github.rose.core.util.id.IdRange;
+import io.github.rose.core.util.id.SnowflakeIdGenerator;
+import io.github.rose.core.util.id.TimeOrderedUuidGenerator;
 import java.nio.ByteBuffer;
 import java.util.Base64;
 import java.util.UUID;
@@ -33,7 +35,26 @@ public abstract class Uuids {
     private Uuids() {}
 
     public static UUID getUUID() {
-        return UuidCreator.getTimeOrderedEpoch(); // UUIDv7
+        return TimeOrderedUuidGenerator.getDefault().nextUuid(); // UUIDv7
+    }
+
+    /**
+     * Generate a time-ordered 64-bit id with the process wide {@link SnowflakeIdGenerator}.
+     *
+     * @return A new id.
+     */
+    public static long nextId() {
+        return SnowflakeIdGenerator.getDefault().nextId();
+    }
+
+    /**
+     * Reserve a range of time-ordered 64-bit ids, e.g. for a bulk insert.
+     *
+     * @param n The number of ids.
+     * @return The reserved ids.
+     */
+    public static IdRange reserve(int n) {
+        return SnowflakeIdGenerator.getDefault().reserve(n);
     }
 
     /**
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.id;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A contiguous block of ids reserved by {@link SnowflakeIdGenerator#reserve(int)}, in increasing
+ * order. Instances are not thread-safe and are meant to be consumed by the reserving thread.
+ */
+public final class IdRange implements PrimitiveIterator.OfLong {
+
+    private final SnowflakeIdGenerator generator;
+
+    private final long end;
+
+    private long next;
+
+    IdRange(final SnowflakeIdGenerator generator, final long first, final int size) {
+        this.generator = generator;
+        this.next = first;
+        this.end = first + size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next < end;
+    }
+
+    @Override
+    public long nextLong() {
+        if (next >= end) {
+            throw new NoSuchElementException();
+        }
+        return generator.toId(next++);
+    }
+
+    /**
+     * @return The number of ids not consumed yet.
+     */
+    public int remaining() {
+        return (int) (end - next);
+    }
+
+    /**
+     * Consumes all remaining ids.
+     *
+     * @return The remaining ids in increasing order.
+     */
+    public long[] toArray() {
+        long[] ids = new long[remaining()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = nextLong();
+        }
+        return ids;
+    }
+}
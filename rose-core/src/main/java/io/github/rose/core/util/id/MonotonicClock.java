@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.id;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free logical clock shared by the time-ordered id generators.
+ * <p>
+ * The state packs the last issued millisecond (relative to the epoch) and a per-millisecond
+ * sequence into one {@code long}, so allocating one id or a whole range is a single CAS. When
+ * the sequence of the current millisecond is exhausted, the state rolls over into the next
+ * millisecond ("borrows" future time) instead of spinning. Borrowing and small clock rollbacks
+ * are both tolerated up to {@code maxDriftMillis}: allocations wait for the wall clock to catch
+ * up, and a rollback beyond that is rejected.
+ */
+final class MonotonicClock {
+
+    private final int sequenceBits;
+
+    private final long epoch;
+
+    private final long maxDriftMillis;
+
+    private final long maxTimestamp;
+
+    /**
+     * Last issued state: {@code (timestamp << sequenceBits) | sequence}.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    MonotonicClock(int sequenceBits, int timestampBits, long epoch, long maxDriftMillis) {
+        if (maxDriftMillis < 0) {
+            throw new IllegalArgumentException("maxDriftMillis cannot be negative.");
+        }
+        if (epoch > System.currentTimeMillis()) {
+            throw new IllegalArgumentException("epoch cannot be in the future.");
+        }
+        this.sequenceBits = sequenceBits;
+        this.epoch = epoch;
+        this.maxDriftMillis = maxDriftMillis;
+        this.maxTimestamp = (1L << timestampBits) - 1;
+    }
+
+    /**
+     * @return The largest number of values a single {@link #allocate(int)} call may request.
+     */
+    long maxBatch() {
+        return (maxDriftMillis + 1) << sequenceBits;
+    }
+
+    /**
+     * Reserves {@code n} consecutive states.
+     *
+     * @param n The number of states, at least 1.
+     * @return The first reserved state, the others follow it without gaps.
+     */
+    long allocate(int n) {
+        if (n <= 0 || n > maxBatch()) {
+            throw new IllegalArgumentException("n must be between 1 and " + maxBatch() + ".");
+        }
+        for (; ; ) {
+            long now = System.currentTimeMillis() - epoch;
+            long current = state.get();
+            long ahead = (current >>> sequenceBits) - now;
+            if (ahead > maxDriftMillis) {
+                throw new IllegalStateException(
+                        "Clock moved backwards. Refusing to generate id for " + ahead + " milliseconds.");
+            }
+
+            long first = Math.max(current + 1, now << sequenceBits);
+            long last = first + n - 1;
+            long lastTimestamp = last >>> sequenceBits;
+            if (lastTimestamp > maxTimestamp) {
+                throw new IllegalStateException("Timestamp overflow, the epoch is too old.");
+            }
+            if (lastTimestamp - now > maxDriftMillis) {
+                // borrowed too far into the future, wait for the wall clock
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(lastTimestamp - now - maxDriftMillis));
+                continue;
+            }
+            if (state.compareAndSet(current, last)) {
+                return first;
+            }
+        }
+    }
+
+    long timestamp(long state) {
+        return (state >>> sequenceBits) + epoch;
+    }
+
+    int sequenceBits() {
+        return sequenceBits;
+    }
+}
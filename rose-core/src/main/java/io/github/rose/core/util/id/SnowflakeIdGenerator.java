@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.id;
+
+import io.github.rose.core.util.NetUtils;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free generator of time-ordered 64-bit ids in the snowflake layout:
+ * 41 bits of milliseconds since {@link #getEpoch() epoch}, 10 bits of worker id and 12 bits of
+ * sequence.
+ * <p>
+ * Ids of one generator are strictly increasing, also across threads, unless a stripe size is
+ * configured: each thread then reserves {@code stripeSize} ids with one CAS and hands them out
+ * locally, which removes contention on hot paths at the cost of ordering being only per thread.
+ * {@link #reserve(int)} allocates a contiguous range for bulk inserts.
+ * <p>
+ * The default epoch is the one used by MyBatis-Plus, so ids keep growing for tables that were
+ * filled by its {@code DefaultIdentifierGenerator}.
+ *
+ * @see TimeOrderedUuidGenerator
+ */
+public final class SnowflakeIdGenerator {
+
+    public static final long DEFAULT_EPOCH = 1288834974657L;
+
+    public static final long DEFAULT_MAX_DRIFT_MILLIS = 1000L;
+
+    /**
+     * System property (or the {@code ROSE_ID_WORKER_ID} environment variable) holding the worker id
+     * of {@link #getDefault()}.
+     */
+    public static final String WORKER_ID_PROPERTY = "rose.id.worker-id";
+
+    static final int SEQUENCE_BITS = 12;
+
+    static final int WORKER_ID_BITS = 10;
+
+    private static final int TIMESTAMP_BITS = 63 - WORKER_ID_BITS - SEQUENCE_BITS;
+
+    public static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+
+    private static final AtomicReference<SnowflakeIdGenerator> DEFAULT = new AtomicReference<>();
+
+    private final long workerId;
+
+    private final int stripeSize;
+
+    private final MonotonicClock clock;
+
+    private final ThreadLocal<IdRange> stripes;
+
+    /**
+     * @param workerId The worker id, unique per running process, between 0 and {@link #MAX_WORKER_ID}.
+     */
+    public SnowflakeIdGenerator(final long workerId) {
+        this(workerId, DEFAULT_EPOCH, DEFAULT_MAX_DRIFT_MILLIS, 1);
+    }
+
+    /**
+     * @param workerId       The worker id, unique per running process, between 0 and {@link #MAX_WORKER_ID}.
+     * @param epoch          The custom epoch in milliseconds.
+     * @param maxDriftMillis How far the generator may run ahead of the wall clock, either by
+     *                       borrowing future milliseconds or because the clock moved backwards.
+     * @param stripeSize     The number of ids each thread reserves at once, 1 for strictly
+     *                       increasing ids across threads.
+     */
+    public SnowflakeIdGenerator(final long workerId, final long epoch, final long maxDriftMillis, final int stripeSize) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("workerId must be between 0 and " + MAX_WORKER_ID + ".");
+        }
+        if (stripeSize <= 0) {
+            throw new IllegalArgumentException("stripeSize must be greater than zero.");
+        }
+        this.workerId = workerId;
+        this.stripeSize = stripeSize;
+        this.clock = new MonotonicClock(SEQUENCE_BITS, TIMESTAMP_BITS, epoch, maxDriftMillis);
+        this.stripes = stripeSize > 1 ? new ThreadLocal<>() : null;
+    }
+
+    /**
+     * @return The process wide generator, whose worker id was set by {@link #initDefault(long)} or
+     *         otherwise comes from {@link #resolveWorkerId()}.
+     */
+    public static SnowflakeIdGenerator getDefault() {
+        SnowflakeIdGenerator generator = DEFAULT.get();
+        if (generator == null) {
+            DEFAULT.compareAndSet(null, new SnowflakeIdGenerator(resolveWorkerId()));
+            generator = DEFAULT.get();
+        }
+        return generator;
+    }
+
+    /**
+     * Sets the worker id of the process wide generator, e.g. from application configuration. This
+     * must happen before the first call of {@link #getDefault()}: two generators with different
+     * worker ids in one process would hand out ids from both.
+     *
+     * @param workerId The worker id, between 0 and {@link #MAX_WORKER_ID}.
+     * @return The process wide generator.
+     * @throws IllegalStateException if the process wide generator is already in use with another
+     *                               worker id.
+     */
+    public static SnowflakeIdGenerator initDefault(final long workerId) {
+        SnowflakeIdGenerator generator = DEFAULT.get();
+        if (generator == null) {
+            DEFAULT.compareAndSet(null, new SnowflakeIdGenerator(workerId));
+            generator = DEFAULT.get();
+        }
+        if (generator.getWorkerId() != workerId) {
+            throw new IllegalStateException("The default generator is already in use with worker id "
+                    + generator.getWorkerId() + ", cannot change it to " + workerId + ".");
+        }
+        return generator;
+    }
+
+    /**
+     * Resolves the worker id from the {@link #WORKER_ID_PROPERTY} system property, then from the
+     * {@code ROSE_ID_WORKER_ID} environment variable, and falls back to {@link #fallbackWorkerId()}.
+     *
+     * @return The worker id.
+     */
+    public static long resolveWorkerId() {
+        String value = System.getProperty(WORKER_ID_PROPERTY);
+        if (value == null || value.trim().isEmpty()) {
+            value = System.getenv("ROSE_ID_WORKER_ID");
+        }
+        if (value != null && !value.trim().isEmpty()) {
+            return Long.parseLong(value.trim());
+        }
+        return fallbackWorkerId();
+    }
+
+    /**
+     * Derives a worker id from the MAC address (or the IP address when there is none) of the local
+     * host and the process id, so that processes on one host and hosts in one subnet usually differ.
+     * With 10 bits collisions remain possible, so deployments with many instances should configure
+     * the worker id.
+     *
+     * @return The worker id.
+     */
+    public static long fallbackWorkerId() {
+        long hash = 0;
+        InetAddress address = NetUtils.getLocalInetAddress();
+        if (address != null) {
+            byte[] hardwareAddress = null;
+            try {
+                NetworkInterface networkInterface = NetworkInterface.getByInetAddress(address);
+                if (networkInterface != null) {
+                    hardwareAddress = networkInterface.getHardwareAddress();
+                }
+            } catch (SocketException ignored) {
+                // use the IP address
+            }
+            hash = Arrays.hashCode(hardwareAddress != null ? hardwareAddress : address.getAddress());
+        }
+        hash = hash * 31 + processId();
+        // spread the bits so that the low 10 bits depend on all inputs
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash & MAX_WORKER_ID;
+    }
+
+    private static long processId() {
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        int index = name.indexOf('@');
+        try {
+            return Long.parseLong(index > 0 ? name.substring(0, index) : name);
+        } catch (NumberFormatException e) {
+            return name.hashCode();
+        }
+    }
+
+    /**
+     * @return A new id.
+     */
+    public long nextId() {
+        if (stripes == null) {
+            return toId(clock.allocate(1));
+        }
+        IdRange stripe = stripes.get();
+        if (stripe == null || !stripe.hasNext()) {
+            stripe = reserve(stripeSize);
+            stripes.set(stripe);
+        }
+        return stripe.nextLong();
+    }
+
+    /**
+     * Allocates {@code n} increasing ids with a single atomic operation.
+     *
+     * @param n The number of ids.
+     * @return The reserved ids, to be consumed by the calling thread.
+     */
+    public IdRange reserve(final int n) {
+        return new IdRange(this, clock.allocate(n), n);
+    }
+
+    long toId(final long state) {
+        return ((state >>> SEQUENCE_BITS) << (WORKER_ID_BITS + SEQUENCE_BITS))
+                | (workerId << SEQUENCE_BITS)
+                | (state & ((1L << SEQUENCE_BITS) - 1));
+    }
+
+    /**
+     * @param id An id created by this generator.
+     * @return The creation time in milliseconds since the Unix epoch.
+     */
+    public long getTimestamp(final long id) {
+        return clock.timestamp(id >>> WORKER_ID_BITS);
+    }
+
+    public long getWorkerId() {
+        return workerId;
+    }
+
+    public long getEpoch() {
+        return clock.timestamp(0);
+    }
+
+    public int getStripeSize() {
+        return stripeSize;
+    }
+}
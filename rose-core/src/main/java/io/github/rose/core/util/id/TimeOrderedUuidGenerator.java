@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.id;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lock-free generator of UUIDv7 (RFC 9562) values that are strictly increasing per generator.
+ * <p>
+ * The 48-bit Unix millisecond timestamp and the 12-bit {@code rand_a} field form a monotonic
+ * counter advanced by one CAS, the remaining 62 bits come from a per-thread {@link SecureRandom}.
+ *
+ * @see SnowflakeIdGenerator
+ */
+public final class TimeOrderedUuidGenerator {
+
+    private static final TimeOrderedUuidGenerator DEFAULT =
+            new TimeOrderedUuidGenerator(SnowflakeIdGenerator.DEFAULT_MAX_DRIFT_MILLIS);
+
+    private static final int COUNTER_BITS = 12;
+
+    private static final int TIMESTAMP_BITS = 48;
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final MonotonicClock clock;
+
+    /**
+     * @param maxDriftMillis How far the generator may run ahead of the wall clock, either by
+     *                       borrowing future milliseconds or because the clock moved backwards.
+     */
+    public TimeOrderedUuidGenerator(final long maxDriftMillis) {
+        this.clock = new MonotonicClock(COUNTER_BITS, TIMESTAMP_BITS, 0L, maxDriftMillis);
+    }
+
+    public static TimeOrderedUuidGenerator getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return A new UUIDv7.
+     */
+    public UUID nextUuid() {
+        return toUuid(clock.allocate(1), RANDOM.get());
+    }
+
+    /**
+     * Allocates {@code n} increasing UUIDs with a single atomic operation.
+     *
+     * @param n The number of UUIDs.
+     * @return The UUIDs in increasing order.
+     */
+    public List<UUID> reserve(final int n) {
+        final long first = clock.allocate(n);
+        final SecureRandom random = RANDOM.get();
+        final List<UUID> uuids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            uuids.add(toUuid(first + i, random));
+        }
+        return uuids;
+    }
+
+    private static UUID toUuid(final long state, final SecureRandom random) {
+        final long msb = ((state >>> COUNTER_BITS) << 16) | 0x7000L | (state & 0xFFFL);
+        final long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
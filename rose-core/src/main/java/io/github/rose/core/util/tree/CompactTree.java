@@ -0,0 +1,445 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.tree;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * 紧凑的树节点，与{@link Tree}功能相同，但标准属性使用固定字段保存，扩展属性使用键值交替的小数组保存，
+ * 不再为每个节点分配哈希表和Entry对象，适合节点数量很大的树。
+ *
+ * <p>
+ * 通过{@link Serializer}序列化为与{@link Tree}相同的JSON结构，属性名由{@link TreeNodeConfig}决定。
+ *
+ * @param <T> ID类型
+ */
+@JsonSerialize(using = CompactTree.Serializer.class)
+public class CompactTree<T> implements Node<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Object[] EMPTY = new Object[0];
+
+    // 与 Tree 一致：只有被设置过的属性才会被序列化，即使值为null
+    private static final byte ID = 1;
+    private static final byte PARENT_ID = 1 << 1;
+    private static final byte WEIGHT = 1 << 2;
+    private static final byte NAME = 1 << 3;
+    private static final byte CHILDREN = 1 << 4;
+
+    private final TreeNodeConfig treeNodeConfig;
+
+    private transient CompactTree<T> parent;
+
+    private T id;
+
+    private T parentId;
+
+    private Comparable<?> weight;
+
+    private CharSequence name;
+
+    private List<CompactTree<T>> children;
+
+    /**
+     * 扩展属性，键值交替存放
+     */
+    private Object[] extra = EMPTY;
+
+    private byte present;
+
+    public CompactTree() {
+        this(null);
+    }
+
+    public CompactTree(TreeNodeConfig treeNodeConfig) {
+        this.treeNodeConfig = ObjectUtils.defaultIfNull(treeNodeConfig, TreeNodeConfig.DEFAULT_CONFIG);
+    }
+
+    /**
+     * 由{@link TreeNode}列表构建单root节点树
+     *
+     * @param list   源数据集合
+     * @param rootId 最顶层父id值 一般为 0 之类
+     * @param config 配置
+     * @param <E>    ID类型
+     * @return 根节点
+     */
+    public static <E> CompactTree<E> buildSingle(List<TreeNode<E>> list, E rootId, TreeNodeConfig config) {
+        return buildSingle(list, rootId, config, (treeNode, tree) -> {
+            tree.setId(treeNode.getId());
+            tree.setParentId(treeNode.getParentId());
+            tree.setWeight(treeNode.getWeight());
+            tree.setName(treeNode.getName());
+            final Map<String, Object> extra = treeNode.getExtra();
+            if (ObjectUtils.isNotEmpty(extra)) {
+                extra.forEach(tree::putExtra);
+            }
+        });
+    }
+
+    /**
+     * 构建单root节点树，一次{@link HashMap}遍历完成连接，每组同级节点只排序一次
+     *
+     * @param list       源数据集合
+     * @param rootId     最顶层父id值 一般为 0 之类
+     * @param config     配置
+     * @param nodeParser 转换器
+     * @param <S>        转换的实体 为数据源里的对象类型
+     * @param <E>        ID类型
+     * @return 根节点
+     */
+    public static <S, E> CompactTree<E> buildSingle(
+            List<S> list, E rootId, TreeNodeConfig config, BiConsumer<S, CompactTree<E>> nodeParser) {
+        CompactTree<E> root = new CompactTree<>(config);
+        root.setId(rootId);
+
+        // 使用有序map，排序稳定，权重相同时按源数据顺序
+        Map<E, CompactTree<E>> nodes = new LinkedHashMap<>(list.size() * 4 / 3 + 1);
+        for (S s : list) {
+            CompactTree<E> node = new CompactTree<>(root.treeNodeConfig);
+            nodeParser.accept(s, node);
+            nodes.put(node.getId(), node);
+        }
+
+        Map<CompactTree<E>, List<CompactTree<E>>> children = new IdentityHashMap<>();
+        for (CompactTree<E> node : nodes.values()) {
+            E parentId = node.getParentId();
+            CompactTree<E> parentNode = Objects.equals(rootId, parentId) ? root : nodes.get(parentId);
+            if (parentNode != null) {
+                children.computeIfAbsent(parentNode, key -> new ArrayList<>()).add(node);
+            }
+        }
+        children.forEach((parentNode, siblings) -> {
+            Collections.sort(siblings);
+            for (CompactTree<E> child : siblings) {
+                child.setParent(parentNode);
+            }
+            parentNode.setChildren(siblings);
+        });
+        return root;
+    }
+
+    public TreeNodeConfig getConfig() {
+        return treeNodeConfig;
+    }
+
+    public CompactTree<T> getParent() {
+        return parent;
+    }
+
+    public CompactTree<T> setParent(CompactTree<T> parent) {
+        this.parent = parent;
+        if (null != parent) {
+            this.setParentId(parent.getId());
+        }
+        return this;
+    }
+
+    @Override
+    public T getId() {
+        return id;
+    }
+
+    @Override
+    public CompactTree<T> setId(T id) {
+        this.id = id;
+        this.present |= ID;
+        return this;
+    }
+
+    @Override
+    public T getParentId() {
+        return parentId;
+    }
+
+    @Override
+    public CompactTree<T> setParentId(T parentId) {
+        this.parentId = parentId;
+        this.present |= PARENT_ID;
+        return this;
+    }
+
+    @Override
+    public CharSequence getName() {
+        return name;
+    }
+
+    @Override
+    public CompactTree<T> setName(CharSequence name) {
+        this.name = name;
+        this.present |= NAME;
+        return this;
+    }
+
+    @Override
+    public Comparable<?> getWeight() {
+        return weight;
+    }
+
+    @Override
+    public CompactTree<T> setWeight(Comparable<?> weight) {
+        this.weight = weight;
+        this.present |= WEIGHT;
+        return this;
+    }
+
+    /**
+     * 获取所有子节点
+     *
+     * @return 所有子节点，没有子节点时返回空列表
+     */
+    public List<CompactTree<T>> getChildren() {
+        return children != null ? children : Collections.emptyList();
+    }
+
+    public CompactTree<T> setChildren(List<CompactTree<T>> children) {
+        this.children = children;
+        this.present |= CHILDREN;
+        return this;
+    }
+
+    /**
+     * 增加子节点，同时关联子节点的父节点为当前节点
+     *
+     * @param children 子节点列表
+     * @return this
+     */
+    @SafeVarargs
+    public final CompactTree<T> addChildren(CompactTree<T>... children) {
+        if (children.length > 0) {
+            if (this.children == null) {
+                setChildren(new ArrayList<>(children.length));
+            }
+            for (CompactTree<T> child : children) {
+                child.setParent(this);
+                this.children.add(child);
+            }
+            Collections.sort(this.children);
+        }
+        return this;
+    }
+
+    /**
+     * 获取ID对应的节点，此方法只查找此节点及子节点，采用深度优先遍历（非递归）
+     *
+     * @param id ID
+     * @return 节点
+     */
+    public CompactTree<T> getNode(T id) {
+        List<CompactTree<T>> stack = new ArrayList<>();
+        stack.add(this);
+        while (!stack.isEmpty()) {
+            CompactTree<T> node = stack.remove(stack.size() - 1);
+            if (Objects.equals(id, node.getId())) {
+                return node;
+            }
+            List<CompactTree<T>> nodeChildren = node.getChildren();
+            for (int i = nodeChildren.size() - 1; i >= 0; i--) {
+                stack.add(nodeChildren.get(i));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 扩展属性，键为id、parentId、name、weight、children（或配置的别名）时设置对应的属性，与{@link Tree#putExtra}覆盖同名属性一致
+     *
+     * @param key   键
+     * @param value 扩展值
+     */
+    @SuppressWarnings("unchecked")
+    public void putExtra(String key, Object value) {
+        if (key.length() == 0) {
+            throw new RuntimeException("Key must be not empty !");
+        }
+        if (key.equals(treeNodeConfig.getIdKey())) {
+            setId((T) value);
+            return;
+        }
+        if (key.equals(treeNodeConfig.getParentIdKey())) {
+            setParentId((T) value);
+            return;
+        }
+        if (key.equals(treeNodeConfig.getNameKey())) {
+            setName((CharSequence) value);
+            return;
+        }
+        if (key.equals(treeNodeConfig.getWeightKey())) {
+            setWeight((Comparable<?>) value);
+            return;
+        }
+        if (key.equals(treeNodeConfig.getChildrenKey())) {
+            setChildren((List<CompactTree<T>>) value);
+            return;
+        }
+        for (int i = 0; i < extra.length; i += 2) {
+            if (key.equals(extra[i])) {
+                extra[i + 1] = value;
+                return;
+            }
+        }
+        Object[] newExtra = Arrays.copyOf(extra, extra.length + 2);
+        newExtra[extra.length] = key;
+        newExtra[extra.length + 1] = value;
+        this.extra = newExtra;
+    }
+
+    public Object getExtra(String key) {
+        if (key.equals(treeNodeConfig.getIdKey())) {
+            return id;
+        }
+        if (key.equals(treeNodeConfig.getParentIdKey())) {
+            return parentId;
+        }
+        if (key.equals(treeNodeConfig.getNameKey())) {
+            return name;
+        }
+        if (key.equals(treeNodeConfig.getWeightKey())) {
+            return weight;
+        }
+        if (key.equals(treeNodeConfig.getChildrenKey())) {
+            return children;
+        }
+        for (int i = 0; i < extra.length; i += 2) {
+            if (key.equals(extra[i])) {
+                return extra[i + 1];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int compareTo(Node node) {
+        Comparable weight = this.getWeight();
+        if (null != weight) {
+            Comparable weightOther = node.getWeight();
+            return treeNodeConfig.getReversed() ? weightOther.compareTo(weight) : weight.compareTo(weightOther);
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * 按{@link Tree}的属性顺序输出：id、parentId、weight、name、扩展属性、children；
+     * 开启{@link SerializationFeature#ORDER_MAP_ENTRIES_BY_KEYS}时按属性名排序，与{@link Tree}作为Map序列化的结果一致
+     */
+    public static class Serializer extends StdSerializer<CompactTree<?>> {
+
+        private static final long serialVersionUID = 1L;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Serializer() {
+            super((Class) CompactTree.class);
+        }
+
+        @Override
+        public void serialize(CompactTree<?> value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            TreeNodeConfig config = value.treeNodeConfig;
+            int size = Integer.bitCount(value.present) + value.extra.length / 2;
+            String[] keys = new String[size];
+            Object[] values = new Object[size];
+            int n = 0;
+            if ((value.present & ID) != 0) {
+                keys[n] = config.getIdKey();
+                values[n++] = value.id;
+            }
+            if ((value.present & PARENT_ID) != 0) {
+                keys[n] = config.getParentIdKey();
+                values[n++] = value.parentId;
+            }
+            if ((value.present & WEIGHT) != 0) {
+                keys[n] = config.getWeightKey();
+                values[n++] = value.weight;
+            }
+            if ((value.present & NAME) != 0) {
+                keys[n] = config.getNameKey();
+                values[n++] = value.name;
+            }
+            for (int i = 0; i < value.extra.length; i += 2) {
+                keys[n] = (String) value.extra[i];
+                values[n++] = value.extra[i + 1];
+            }
+            int childrenIndex = -1;
+            if ((value.present & CHILDREN) != 0) {
+                childrenIndex = n;
+                keys[n] = config.getChildrenKey();
+                values[n++] = value.children;
+            }
+
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            if (provider.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)) {
+                // 属性很少，插入排序即可
+                for (int i = 1; i < n; i++) {
+                    int current = order[i];
+                    int j = i - 1;
+                    while (j >= 0 && keys[order[j]].compareTo(keys[current]) > 0) {
+                        order[j + 1] = order[j];
+                        j--;
+                    }
+                    order[j + 1] = current;
+                }
+            }
+
+            // Tree 作为 Map 序列化时会按 Map 的包含规则跳过 null 值
+            JsonInclude.Value inclusion = provider.getConfig().getDefaultPropertyInclusion(Map.class);
+            JsonInclude.Include include = inclusion.getContentInclusion();
+            if (include == JsonInclude.Include.USE_DEFAULTS) {
+                include = inclusion.getValueInclusion();
+            }
+            boolean skipNulls = include != JsonInclude.Include.ALWAYS && include != JsonInclude.Include.USE_DEFAULTS;
+
+            gen.writeStartObject(value);
+            for (int i : order) {
+                if (skipNulls && values[i] == null) {
+                    continue;
+                }
+                if (i == childrenIndex) {
+                    gen.writeFieldName(keys[i]);
+                    gen.writeStartArray();
+                    for (CompactTree<?> child : value.children) {
+                        serialize(child, gen, provider);
+                    }
+                    gen.writeEndArray();
+                } else {
+                    provider.defaultSerializeField(keys[i], values[i], gen);
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.tree;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 带索引的树，在{@link Tree}之上维护 id -> 节点 的哈希索引以及先序遍历（欧拉序）区间。
+ *
+ * <p>
+ * 查找节点为O(1)，获取父节点路径为O(depth)，判断祖先关系为O(1)，获取所有子孙节点为O(1)返回视图。<br>
+ * 索引是构建时的快照，之后对{@link Tree}的修改不会反映到索引中。
+ *
+ * @param <E> ID类型
+ */
+public class IndexedTree<E> {
+
+    private final Tree<E> root;
+
+    /**
+     * id -> 先序序号
+     */
+    private final Map<E, Integer> index;
+
+    /**
+     * 先序遍历的节点，下标即先序序号
+     */
+    private final Tree<E>[] order;
+
+    /**
+     * 父节点的先序序号，根节点为-1
+     */
+    private final int[] parent;
+
+    /**
+     * 节点深度，根节点为0
+     */
+    private final int[] depth;
+
+    /**
+     * 子树在{@link #order}中的结束位置（不包含），子树区间为 [i, end[i])
+     */
+    private final int[] end;
+
+    @SuppressWarnings("unchecked")
+    private IndexedTree(Tree<E> root) {
+        this.root = root;
+        List<Tree<E>> nodes = new ArrayList<>();
+        List<Integer> parents = new ArrayList<>();
+
+        // 迭代先序遍历，避免深层级树递归栈溢出
+        Deque<Tree<E>> stack = new ArrayDeque<>();
+        Deque<Integer> parentStack = new ArrayDeque<>();
+        stack.push(root);
+        parentStack.push(-1);
+        while (!stack.isEmpty()) {
+            Tree<E> node = stack.pop();
+            int ordinal = nodes.size();
+            nodes.add(node);
+            parents.add(parentStack.pop());
+
+            List<Tree<E>> children = node.getChildren();
+            if (children != null) {
+                ListIterator<Tree<E>> iterator = children.listIterator(children.size());
+                while (iterator.hasPrevious()) {
+                    stack.push(iterator.previous());
+                    parentStack.push(ordinal);
+                }
+            }
+        }
+
+        int size = nodes.size();
+        this.order = nodes.toArray(new Tree[size]);
+        this.parent = new int[size];
+        this.depth = new int[size];
+        this.end = new int[size];
+        this.index = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            parent[i] = parents.get(i);
+            depth[i] = i == 0 ? 0 : depth[parent[i]] + 1;
+            end[i] = i + 1;
+            // 与 TreeUtil.getNode 一致，相同ID只保留先序遍历的第一个
+            index.putIfAbsent(order[i].getId(), i);
+        }
+        // 子节点的先序序号都大于父节点，逆序即可把子树结束位置向上传递
+        for (int i = size - 1; i > 0; i--) {
+            if (end[i] > end[parent[i]]) {
+                end[parent[i]] = end[i];
+            }
+        }
+    }
+
+    /**
+     * 为已构建好的树建立索引
+     *
+     * @param root 根节点
+     * @param <E>  ID类型
+     * @return {@link IndexedTree}
+     */
+    public static <E> IndexedTree<E> of(Tree<E> root) {
+        return new IndexedTree<>(Objects.requireNonNull(root, "root"));
+    }
+
+    /**
+     * 构建树并建立索引，整个过程基于{@link HashMap}，时间复杂度O(n)（不含同级排序），ID无需实现{@link Comparable}。
+     * 权重相同的同级节点保持源数据中的顺序
+     *
+     * @param list           源数据集合
+     * @param rootId         最顶层父id值 一般为 0 之类
+     * @param treeNodeConfig 配置
+     * @param nodeParser     转换器
+     * @param <T>            转换的实体 为数据源里的对象类型
+     * @param <E>            ID类型
+     * @return {@link IndexedTree}
+     */
+    public static <T, E> IndexedTree<E> build(
+            List<T> list, E rootId, TreeNodeConfig treeNodeConfig, NodeParser<T, E> nodeParser) {
+        Tree<E> root = new Tree<>(treeNodeConfig);
+        root.setId(rootId);
+        TreeNodeConfig config = root.getConfig();
+
+        // 使用有序map，排序稳定，权重相同时按源数据顺序
+        Map<E, Tree<E>> nodes = new LinkedHashMap<>(list.size() * 4 / 3 + 1);
+        for (T t : list) {
+            Tree<E> node = new Tree<>(config);
+            nodeParser.parse(t, node);
+            nodes.put(node.getId(), node);
+        }
+
+        // Tree 本身是 Map，按引用区分父节点
+        Map<Tree<E>, List<Tree<E>>> children = new IdentityHashMap<>();
+        for (Tree<E> node : nodes.values()) {
+            E parentId = node.getParentId();
+            Tree<E> parentNode = Objects.equals(rootId, parentId) ? root : nodes.get(parentId);
+            if (parentNode != null) {
+                children.computeIfAbsent(parentNode, key -> new ArrayList<>()).add(node);
+            }
+        }
+        children.forEach((parentNode, siblings) -> {
+            // 每个父节点只排序一次
+            Collections.sort(siblings);
+            for (Tree<E> child : siblings) {
+                child.setParent(parentNode);
+            }
+            parentNode.setChildren(siblings);
+        });
+        return of(root);
+    }
+
+    public Tree<E> getRoot() {
+        return root;
+    }
+
+    /**
+     * @return 节点数量，包含根节点
+     */
+    public int size() {
+        return order.length;
+    }
+
+    public boolean contains(E id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * 获取ID对应的节点，O(1)
+     *
+     * @param id ID
+     * @return 节点，不存在返回null
+     */
+    public Tree<E> getNode(E id) {
+        Integer i = index.get(id);
+        return i == null ? null : order[i];
+    }
+
+    /**
+     * 获取节点深度，根节点为0
+     *
+     * @param id ID
+     * @return 深度，节点不存在返回-1
+     */
+    public int getDepth(E id) {
+        Integer i = index.get(id);
+        return i == null ? -1 : depth[i];
+    }
+
+    /**
+     * 获取所有父节点，从直接父节点到根节点，O(depth)
+     *
+     * @param id                 节点ID
+     * @param includeCurrentNode 是否包含当前节点
+     * @return 父节点列表，节点不存在返回空List
+     */
+    public List<Tree<E>> getParents(E id, boolean includeCurrentNode) {
+        Integer i = index.get(id);
+        if (i == null) {
+            return Collections.emptyList();
+        }
+        List<Tree<E>> result = new ArrayList<>(depth[i] + 1);
+        for (int p = includeCurrentNode ? i : parent[i]; p >= 0; p = parent[p]) {
+            result.add(order[p]);
+        }
+        return result;
+    }
+
+    /**
+     * 获取所有父节点名称列表，语义同{@link TreeUtil#getParentsName(Tree, boolean)}，O(depth)
+     *
+     * @param id                 节点ID
+     * @param includeCurrentNode 是否包含当前节点的名称
+     * @return 所有父节点名称列表
+     */
+    public List<CharSequence> getParentsName(E id, boolean includeCurrentNode) {
+        Integer i = index.get(id);
+        if (i == null) {
+            return new ArrayList<>();
+        }
+        List<CharSequence> result = new ArrayList<>(depth[i] + 1);
+        for (int p = includeCurrentNode ? i : parent[i]; p >= 0; p = parent[p]) {
+            result.add(order[p].getName());
+        }
+        return result;
+    }
+
+    /**
+     * 获取所有子孙节点（不包含自身），按先序排列，返回只读视图，O(1)
+     *
+     * @param id 节点ID
+     * @return 子孙节点，节点不存在返回空List
+     */
+    public List<Tree<E>> getDescendants(E id) {
+        Integer i = index.get(id);
+        if (i == null) {
+            return Collections.emptyList();
+        }
+        return new Range(i + 1, end[i]);
+    }
+
+    /**
+     * 判断 ancestorId 是否为 id 的祖先节点（不包含自身），O(1)
+     *
+     * @param ancestorId 祖先节点ID
+     * @param id         节点ID
+     * @return 是否为祖先
+     */
+    public boolean isAncestor(E ancestorId, E id) {
+        Integer a = index.get(ancestorId);
+        Integer i = index.get(id);
+        if (a == null || i == null) {
+            return false;
+        }
+        return a < i && i < end[a];
+    }
+
+    private class Range extends AbstractList<Tree<E>> {
+        private final int from;
+        private final int to;
+
+        Range(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Tree<E> get(int i) {
+            if (i < 0 || i >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size());
+            }
+            return order[from + i];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
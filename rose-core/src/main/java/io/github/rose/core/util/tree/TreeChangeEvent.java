@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.tree;
+
+/**
+ * {@link TreeModel}的变更事件
+ *
+ * @param <E> ID类型
+ */
+public class TreeChangeEvent<E> {
+
+    public enum Type {
+        INSERT,
+        MOVE,
+        DELETE,
+        UPDATE,
+        SORT
+    }
+
+    private final Type type;
+
+    private final E id;
+
+    private final E oldParentId;
+
+    private final E parentId;
+
+    private final TreeSnapshot<E> snapshot;
+
+    public TreeChangeEvent(Type type, E id, E oldParentId, E parentId, TreeSnapshot<E> snapshot) {
+        this.type = type;
+        this.id = id;
+        this.oldParentId = oldParentId;
+        this.parentId = parentId;
+        this.snapshot = snapshot;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return 变更的节点ID，{@link Type#SORT}时为父节点ID
+     */
+    public E getId() {
+        return id;
+    }
+
+    /**
+     * @return 变更前的父节点ID，仅{@link Type#MOVE}时与{@link #getParentId()}不同
+     */
+    public E getOldParentId() {
+        return oldParentId;
+    }
+
+    public E getParentId() {
+        return parentId;
+    }
+
+    /**
+     * @return 变更后发布的快照
+     */
+    public TreeSnapshot<E> getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return "TreeChangeEvent{type=" + type + ", id=" + id + ", oldParentId=" + oldParentId + ", parentId="
+                + parentId + ", version=" + snapshot.getVersion() + '}';
+    }
+}
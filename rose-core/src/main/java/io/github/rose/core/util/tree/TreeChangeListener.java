@@ -13,20 +13,15 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.github.rose.syslog.event;
-
-import org.springframework.context.ApplicationEvent;
+package io.github.rose.core.util.tree;
 
 /**
- * 系统日志事件
+ * {@link TreeModel}变更监听器，在写锁内按变更顺序回调，实现应尽量轻量
+ *
+ * @param <E> ID类型
  */
-public class SysLogEvent extends ApplicationEvent {
-
-    public SysLogEvent(SysLogInfo sysLogInfo) {
-        super(sysLogInfo);
-    }
+@FunctionalInterface
+public interface TreeChangeListener<E> {
 
-    public SysLogInfo getSource() {
-        return (SysLogInfo) super.getSource();
-    }
+    void onChange(TreeChangeEvent<E> event);
 }
@@ -0,0 +1,371 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 可变的线程安全树模型，支持原地插入、移动子树、删除、更新和重新排序，而无需重新构建整棵树。
+ *
+ * <p>
+ * 写操作串行执行，每次修改只复制从变更节点到根节点路径上的节点（写时复制），然后发布新的{@link TreeSnapshot}，
+ * 读线程通过{@link #snapshot()}无锁读取。每次修改后按顺序通知{@link TreeChangeListener}，可用于增量更新已构建树的缓存。
+ *
+ * <pre>
+ * TreeModel&lt;Long&gt; model = TreeModel.of(TreeUtil.buildSingle(list, 0L));
+ * model.insert(new Tree&lt;Long&gt;().setId(10L).setParentId(1L).setName("研发部"));
+ * model.move(10L, 2L);
+ * Tree&lt;Long&gt; root = model.snapshot().getRoot();
+ * </pre>
+ *
+ * @param <E> ID类型
+ */
+public class TreeModel<E> {
+
+    private final Object lock = new Object();
+
+    private final E rootId;
+
+    private final String childrenKey;
+
+    /**
+     * 最新版本的节点，仅在写锁内访问
+     */
+    private final Map<E, Tree<E>> nodes = new HashMap<>();
+
+    /**
+     * id -> 父节点ID，仅在写锁内访问
+     */
+    private final Map<E, E> parents = new HashMap<>();
+
+    private final List<TreeChangeListener<E>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 最新版本的根节点，仅在写锁内访问，{@link #publish}时才对读线程可见
+     */
+    private Tree<E> root;
+
+    private volatile TreeSnapshot<E> snapshot;
+
+    /**
+     * 构造，传入的树归模型所有，之后不应再直接修改
+     *
+     * @param root 根节点
+     */
+    public TreeModel(Tree<E> root) {
+        Objects.requireNonNull(root, "root");
+        this.rootId = root.getId();
+        this.childrenKey = root.getConfig().getChildrenKey();
+        this.root = root;
+        register(root, null);
+        this.snapshot = new TreeSnapshot<>(root, 0);
+    }
+
+    public static <E> TreeModel<E> of(Tree<E> root) {
+        return new TreeModel<>(root);
+    }
+
+    /**
+     * 获取当前快照，无锁
+     *
+     * @return 当前快照
+     */
+    public TreeSnapshot<E> snapshot() {
+        return snapshot;
+    }
+
+    public void addListener(TreeChangeListener<E> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TreeChangeListener<E> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 插入节点（可以带子节点），父节点由{@link Tree#getParentId()}指定
+     *
+     * @param node 节点
+     * @return 新快照
+     */
+    public TreeSnapshot<E> insert(Tree<E> node) {
+        synchronized (lock) {
+            E id = node.getId();
+            E parentId = node.getParentId();
+            if (nodes.containsKey(id)) {
+                throw new IllegalArgumentException("Node already exists: " + id);
+            }
+            requireNode(parentId);
+            Tree<E> parent = mutateChildren(parentId, children -> {
+                children.add(node);
+                Collections.sort(children);
+            });
+            node.setParent(parent);
+            register(node, parentId);
+            return publish(TreeChangeEvent.Type.INSERT, id, parentId, parentId);
+        }
+    }
+
+    /**
+     * 移动节点及其子树到新的父节点下
+     *
+     * @param id          节点ID
+     * @param newParentId 新的父节点ID
+     * @return 新快照
+     */
+    public TreeSnapshot<E> move(E id, E newParentId) {
+        synchronized (lock) {
+            Tree<E> node = requireNode(id);
+            requireNode(newParentId);
+            if (Objects.equals(id, rootId)) {
+                throw new IllegalArgumentException("Root node can not be moved");
+            }
+            for (E p = newParentId; p != null; p = parents.get(p)) {
+                if (Objects.equals(p, id)) {
+                    throw new IllegalArgumentException("Can not move node " + id + " under its own subtree");
+                }
+            }
+            E oldParentId = parents.get(id);
+            mutateChildren(oldParentId, children -> removeSame(children, node));
+
+            Tree<E> moved = copy(node);
+            moved.setParentId(newParentId);
+            nodes.put(id, moved);
+            parents.put(id, newParentId);
+            Tree<E> parent = mutateChildren(newParentId, children -> {
+                children.add(moved);
+                Collections.sort(children);
+            });
+            moved.setParent(parent);
+            return publish(TreeChangeEvent.Type.MOVE, id, oldParentId, newParentId);
+        }
+    }
+
+    /**
+     * 删除节点及其子树
+     *
+     * @param id 节点ID
+     * @return 新快照
+     */
+    public TreeSnapshot<E> delete(E id) {
+        synchronized (lock) {
+            Tree<E> node = requireNode(id);
+            if (Objects.equals(id, rootId)) {
+                throw new IllegalArgumentException("Root node can not be deleted");
+            }
+            E parentId = parents.get(id);
+            mutateChildren(parentId, children -> removeSame(children, node));
+            unregister(node);
+            return publish(TreeChangeEvent.Type.DELETE, id, parentId, parentId);
+        }
+    }
+
+    /**
+     * 更新节点属性（名称、权重、扩展字段等），更新后重新排序同级节点。不允许修改ID、父节点和子节点
+     *
+     * @param id      节点ID
+     * @param updater 更新函数，作用于节点副本
+     * @return 新快照
+     */
+    public TreeSnapshot<E> update(E id, Consumer<Tree<E>> updater) {
+        synchronized (lock) {
+            Tree<E> node = requireNode(id);
+            E parentId = parents.get(id);
+            Tree<E> updated = copy(node);
+            Object children = updated.get(childrenKey);
+            updater.accept(updated);
+            if (!Objects.equals(id, updated.getId())
+                    || !Objects.equals(node.getParentId(), updated.getParentId())
+                    || children != updated.get(childrenKey)) {
+                throw new IllegalArgumentException("Id, parent and children of node " + id + " can not be updated");
+            }
+            nodes.put(id, updated);
+            if (parentId == null) {
+                this.root = updated;
+            } else {
+                Tree<E> parent = mutateChildren(parentId, siblings -> {
+                    replaceSame(siblings, node, updated);
+                    Collections.sort(siblings);
+                });
+                updated.setParent(parent);
+            }
+            return publish(TreeChangeEvent.Type.UPDATE, id, parentId, parentId);
+        }
+    }
+
+    /**
+     * 按权重重新排序子节点
+     *
+     * @param parentId 父节点ID
+     * @return 新快照
+     */
+    public TreeSnapshot<E> sortChildren(E parentId) {
+        return sortChildren(parentId, null);
+    }
+
+    /**
+     * 按指定比较器重新排序子节点
+     *
+     * @param parentId   父节点ID
+     * @param comparator 比较器，为null时按权重排序
+     * @return 新快照
+     */
+    public TreeSnapshot<E> sortChildren(E parentId, Comparator<? super Tree<E>> comparator) {
+        synchronized (lock) {
+            requireNode(parentId);
+            mutateChildren(parentId, children -> children.sort(comparator));
+            return publish(TreeChangeEvent.Type.SORT, parentId, parents.get(parentId), parents.get(parentId));
+        }
+    }
+
+    private Tree<E> requireNode(E id) {
+        Tree<E> node = nodes.get(id);
+        if (node == null) {
+            throw new IllegalArgumentException("Node not found: " + id);
+        }
+        return node;
+    }
+
+    /**
+     * 复制父节点及其子节点列表并执行修改，然后沿路径复制到根节点
+     *
+     * @return 父节点的新副本
+     */
+    private Tree<E> mutateChildren(E parentId, Consumer<List<Tree<E>>> mutation) {
+        Tree<E> parent = requireNode(parentId);
+        Tree<E> copy = copy(parent);
+        @SuppressWarnings("unchecked")
+        List<Tree<E>> children = (List<Tree<E>>) copy.get(childrenKey);
+        if (children == null) {
+            children = new ArrayList<>();
+        }
+        mutation.accept(children);
+        if (children.isEmpty()) {
+            copy.remove(childrenKey);
+        } else {
+            copy.setChildren(children);
+        }
+        propagate(parent, copy);
+        return copy;
+    }
+
+    /**
+     * 用副本替换旧节点，并依次复制其所有祖先节点
+     */
+    private void propagate(Tree<E> old, Tree<E> replacement) {
+        E id = replacement.getId();
+        nodes.put(id, replacement);
+        E parentId = parents.get(id);
+        while (parentId != null) {
+            Tree<E> parent = nodes.get(parentId);
+            Tree<E> parentCopy = copy(parent);
+            replaceSame(parentCopy.getChildren(), old, replacement);
+            replacement.setParent(parentCopy);
+            nodes.put(parentId, parentCopy);
+
+            old = parent;
+            replacement = parentCopy;
+            parentId = parents.get(parentId);
+        }
+        this.root = replacement;
+    }
+
+    private TreeSnapshot<E> publish(TreeChangeEvent.Type type, E id, E oldParentId, E parentId) {
+        TreeSnapshot<E> published = new TreeSnapshot<>(root, snapshot.getVersion() + 1);
+        this.snapshot = published;
+        if (!listeners.isEmpty()) {
+            TreeChangeEvent<E> event = new TreeChangeEvent<>(type, id, oldParentId, parentId, published);
+            for (TreeChangeListener<E> listener : listeners) {
+                listener.onChange(event);
+            }
+        }
+        return published;
+    }
+
+    private Tree<E> copy(Tree<E> node) {
+        Tree<E> copy = new Tree<>(node.getConfig());
+        copy.putAll(node);
+        @SuppressWarnings("unchecked")
+        List<Tree<E>> children = (List<Tree<E>>) node.get(childrenKey);
+        if (children != null) {
+            copy.setChildren(new ArrayList<>(children));
+        }
+        copy.setParent(node.getParent());
+        return copy;
+    }
+
+    private void register(Tree<E> node, E parentId) {
+        Deque<Tree<E>> stack = new ArrayDeque<>();
+        nodes.put(node.getId(), node);
+        parents.put(node.getId(), parentId);
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Tree<E> current = stack.pop();
+            @SuppressWarnings("unchecked")
+            List<Tree<E>> children = (List<Tree<E>>) current.get(childrenKey);
+            if (children != null) {
+                for (Tree<E> child : children) {
+                    nodes.put(child.getId(), child);
+                    parents.put(child.getId(), current.getId());
+                    stack.push(child);
+                }
+            }
+        }
+    }
+
+    private void unregister(Tree<E> node) {
+        Deque<Tree<E>> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Tree<E> current = stack.pop();
+            nodes.remove(current.getId());
+            parents.remove(current.getId());
+            @SuppressWarnings("unchecked")
+            List<Tree<E>> children = (List<Tree<E>>) current.get(childrenKey);
+            if (children != null) {
+                children.forEach(stack::push);
+            }
+        }
+    }
+
+    private static <E> void removeSame(List<Tree<E>> list, Tree<E> node) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == node) {
+                list.remove(i);
+                return;
+            }
+        }
+    }
+
+    private static <E> void replaceSame(List<Tree<E>> list, Tree<E> old, Tree<E> replacement) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == old) {
+                list.set(i, replacement);
+                return;
+            }
+        }
+    }
+}
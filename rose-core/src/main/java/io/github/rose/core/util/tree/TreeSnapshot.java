@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.tree;
+
+import java.util.List;
+
+/**
+ * {@link TreeModel}发布的不可变快照，可被多个线程无锁读取。
+ *
+ * <p>
+ * 快照中的节点不可修改。由于修改时只复制了变更路径上的节点，未变更节点的{@link Tree#getParent()}可能指向父节点的旧版本，
+ * 查找父节点请使用{@link #getParents(Object, boolean)}。
+ *
+ * @param <E> ID类型
+ */
+public final class TreeSnapshot<E> {
+
+    private final Tree<E> root;
+
+    private final long version;
+
+    private volatile IndexedTree<E> index;
+
+    TreeSnapshot(Tree<E> root, long version) {
+        this.root = root;
+        this.version = version;
+    }
+
+    public Tree<E> getRoot() {
+        return root;
+    }
+
+    /**
+     * @return 版本号，每次修改加1
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 获取快照的索引，首次访问时构建
+     *
+     * @return {@link IndexedTree}
+     */
+    public IndexedTree<E> index() {
+        IndexedTree<E> result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    index = result = IndexedTree.of(root);
+                }
+            }
+        }
+        return result;
+    }
+
+    public Tree<E> getNode(E id) {
+        return index().getNode(id);
+    }
+
+    public List<Tree<E>> getParents(E id, boolean includeCurrentNode) {
+        return index().getParents(id, includeCurrentNode);
+    }
+
+    public List<Tree<E>> getDescendants(E id) {
+        return index().getDescendants(id);
+    }
+
+    public boolean isAncestor(E ancestorId, E id) {
+        return index().isAncestor(ancestorId, id);
+    }
+}
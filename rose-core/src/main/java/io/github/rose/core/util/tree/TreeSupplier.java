@@ -15,11 +15,17 @@
  */
 package io.github.rose.core.util.tree;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.ObjectUtils;
 
 /**
@@ -29,12 +35,24 @@ import org.apache.commons.lang3.ObjectUtils;
  */
 public class TreeSupplier<E> implements Supplier<Tree<E>> {
 
+    /**
+     * 节点数量达到此值时才并行构建，节点较少时并行的开销大于收益
+     */
+    public static final int PARALLEL_THRESHOLD = 10_000;
+
+    /**
+     * 分组时代替null的父节点ID
+     */
+    private static final Object NULL_KEY = new Object();
+
     private final Tree<E> root;
 
     private final Map<E, Tree<E>> idTreeMap;
 
     private boolean isBuild;
 
+    private ForkJoinPool pool;
+
     /**
      * 构造
      *
@@ -70,6 +88,27 @@ public class TreeSupplier<E> implements Supplier<Tree<E>> {
         return new TreeSupplier<>(rootId, config);
     }
 
+    /**
+     * 节点数量较多时，使用公共{@link ForkJoinPool}并行构建
+     *
+     * @param parallel 是否并行
+     * @return this
+     */
+    public TreeSupplier<E> parallel(boolean parallel) {
+        return parallel(parallel ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * 节点数量较多时，使用指定的{@link ForkJoinPool}并行构建
+     *
+     * @param pool 线程池，为null时串行构建
+     * @return this
+     */
+    public TreeSupplier<E> parallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
     /**
      * 增加节点列表，增加的节点是不带子节点的
      *
@@ -167,36 +206,71 @@ public class TreeSupplier<E> implements Supplier<Tree<E>> {
     }
 
     /**
-     * 开始构建
+     * 开始构建，按父节点ID分组后每组只排序一次，不使用递归
      */
     private void buildFromMap() {
         if (ObjectUtils.isEmpty(this.idTreeMap)) {
             return;
         }
 
-        final Map<E, Tree<E>> eTreeMap = idTreeMap; // 使用有序map
-        // MapUtils.sortByValue(this.idTreeMap,
-        // false);
-        E parentId;
-        for (Tree<E> node : eTreeMap.values()) {
-            if (null == node) {
-                continue;
-            }
-            parentId = node.getParentId();
-            if (Objects.equals(this.root.getId(), parentId)) {
-                this.root.addChildren(node);
-                continue;
-            }
+        if (pool != null && idTreeMap.size() >= PARALLEL_THRESHOLD) {
+            pool.submit(() -> link(true)).join();
+        } else {
+            link(false);
+        }
+    }
+
+    private void link(boolean parallel) {
+        Stream<Tree<E>> nodes = idTreeMap.values().stream();
+        if (parallel) {
+            nodes = nodes.parallel();
+        }
+        // groupingBy 在并行流中同样保留遍历顺序，权重相同的节点顺序与串行构建一致
+        Map<Object, List<Tree<E>>> childrenByParentId = nodes.filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(node -> node.getParentId() == null ? NULL_KEY : node.getParentId()));
 
-            final Tree<E> parentNode = eTreeMap.get(parentId);
-            if (null != parentNode) {
-                parentNode.addChildren(node);
+        Stream<Map.Entry<Object, List<Tree<E>>>> groups = childrenByParentId.entrySet().stream();
+        if (parallel) {
+            groups = groups.parallel();
+        }
+        // 并行阶段只读取节点，在独立的列表上合并、排序；每个节点既是某组的子节点又是另一组的父节点，
+        // 写入节点必须在下面的串行阶段完成
+        List<Map.Entry<Tree<E>, List<Tree<E>>>> sorted = groups.map(entry -> {
+                    @SuppressWarnings("unchecked")
+                    E parentId = entry.getKey() == NULL_KEY ? null : (E) entry.getKey();
+                    Tree<E> parentNode =
+                            Objects.equals(this.root.getId(), parentId) ? this.root : idTreeMap.get(parentId);
+                    return parentNode == null
+                            ? null
+                            : new AbstractMap.SimpleImmutableEntry<>(
+                                    parentNode, sortChildren(parentNode, entry.getValue()));
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        for (Map.Entry<Tree<E>, List<Tree<E>>> entry : sorted) {
+            Tree<E> parentNode = entry.getKey();
+            for (Tree<E> child : entry.getValue()) {
+                child.setParent(parentNode);
             }
+            parentNode.setChildren(entry.getValue());
+        }
+    }
+
+    private List<Tree<E>> sortChildren(Tree<E> parentNode, List<Tree<E>> children) {
+        @SuppressWarnings("unchecked")
+        List<Tree<E>> existing = (List<Tree<E>>) parentNode.get(parentNode.getConfig().getChildrenKey());
+        List<Tree<E>> result = new ArrayList<>(children.size() + (existing == null ? 0 : existing.size()));
+        if (ObjectUtils.isNotEmpty(existing)) {
+            result.addAll(existing);
         }
+        result.addAll(children);
+        Collections.sort(result);
+        return result;
     }
 
     /**
-     * 树剪枝
+     * 树剪枝，逐层遍历，不使用递归
      */
     private void cutTree() {
         final TreeNodeConfig config = this.root.getConfig();
@@ -204,31 +278,25 @@ public class TreeSupplier<E> implements Supplier<Tree<E>> {
         if (null == deep || deep < 0) {
             return;
         }
-        cutTree(this.root, 0, deep);
-    }
 
-    /**
-     * 树剪枝叶
-     *
-     * @param tree        节点
-     * @param currentDepp 当前层级
-     * @param maxDeep     最大层级
-     */
-    private void cutTree(Tree<E> tree, int currentDepp, int maxDeep) {
-        if (null == tree) {
-            return;
+        List<Tree<E>> level = Collections.singletonList(this.root);
+        for (int currentDeep = 0; currentDeep < deep && !level.isEmpty(); currentDeep++) {
+            List<Tree<E>> next = new ArrayList<>();
+            for (Tree<E> tree : level) {
+                final List<Tree<E>> children = tree.getChildren();
+                if (ObjectUtils.isNotEmpty(children)) {
+                    for (Tree<E> child : children) {
+                        if (null != child) {
+                            next.add(child);
+                        }
+                    }
+                }
+            }
+            level = next;
         }
-        if (currentDepp == maxDeep) {
-            // 剪枝
+        // 剪枝
+        for (Tree<E> tree : level) {
             tree.setChildren(null);
-            return;
-        }
-
-        final List<Tree<E>> children = tree.getChildren();
-        if (ObjectUtils.isNotEmpty(children)) {
-            for (Tree<E> child : children) {
-                cutTree(child, currentDepp + 1, maxDeep);
-            }
         }
     }
 
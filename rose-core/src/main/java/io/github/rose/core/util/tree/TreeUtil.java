@@ -169,7 +169,7 @@ public class TreeUtil {
 
     /**
      * 获取ID对应的节点，如果有多个ID相同的节点，只返回第一个。<br>
-     * 此方法只查找此节点及子节点，采用递归深度优先遍历。
+     * 此方法只查找此节点及子节点，采用深度优先遍历，使用显式栈而不是递归，层级很深时也不会栈溢出。
      *
      * @param <T>  ID类型
      * @param node 节点
@@ -178,21 +178,21 @@ public class TreeUtil {
      * @since 5.2.4
      */
     public static <T> Tree<T> getNode(Tree<T> node, T id) {
-        if (Objects.equals(id, node.getId())) {
-            return node;
-        }
-
-        final List<Tree<T>> children = node.getChildren();
-        if (null == children) {
-            return null;
-        }
+        final Deque<Tree<T>> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            final Tree<T> current = stack.pop();
+            if (Objects.equals(id, current.getId())) {
+                return current;
+            }
 
-        // 查找子节点
-        Tree<T> childNode;
-        for (Tree<T> child : children) {
-            childNode = child.getNode(id);
-            if (null != childNode) {
-                return childNode;
+            final List<Tree<T>> children = current.getChildren();
+            if (null != children) {
+                // 逆序入栈，保证按子节点顺序遍历；children 可能是 LinkedList，不使用下标访问
+                final ListIterator<Tree<T>> iterator = children.listIterator(children.size());
+                while (iterator.hasPrevious()) {
+                    stack.push(iterator.previous());
+                }
             }
         }
 
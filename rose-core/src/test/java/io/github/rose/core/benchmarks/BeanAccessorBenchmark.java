@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.benchmarks;
+
+import io.github.rose.core.reflect.BeanAccessor;
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+@State(Scope.Benchmark)
+public class BeanAccessorBenchmark {
+    private BeanUtilsBenchmark.Source source;
+
+    @Setup
+    public void setup() {
+        source = new BeanUtilsBenchmark.Source();
+        source.setId(1L);
+        source.setName("rose");
+    }
+
+    @Benchmark
+    public String[] nullPropertiesWithBeanWrapper() {
+        BeanWrapper beanWrapper = new BeanWrapperImpl(source);
+        List<String> names = new ArrayList<>();
+        for (PropertyDescriptor pd : beanWrapper.getPropertyDescriptors()) {
+            if (beanWrapper.getPropertyValue(pd.getName()) == null) {
+                names.add(pd.getName());
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public String[] nullProperties() {
+        return BeanAccessor.of(source).nullProperties(source);
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() {
+        return BeanAccessor.of(source).toMap(source);
+    }
+
+    @Benchmark
+    public BeanUtilsBenchmark.Target copyNonNull() {
+        return BeanAccessor.of(source).copyNonNull(source, new BeanUtilsBenchmark.Target());
+    }
+}
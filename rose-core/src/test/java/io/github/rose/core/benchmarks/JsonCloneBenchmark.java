@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.benchmarks;
+
+import io.github.rose.core.json.JsonUtils;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm} of the text round-trip and the token buffer copy.
+ */
+@State(Scope.Benchmark)
+public class JsonCloneBenchmark {
+    private Dto dto;
+
+    @Setup
+    public void setup() {
+        dto = new Dto();
+        dto.setId(1L);
+        dto.setName("rose");
+        dto.setDescription("a fairly long description to make the text copy noticeable");
+        dto.setCreateTime(LocalDateTime.now());
+        dto.setTags(Arrays.asList("a", "b", "c"));
+    }
+
+    @Benchmark
+    public Dto stringRoundTrip() {
+        return JsonUtils.fromJson(JsonUtils.toJson(dto), Dto.class);
+    }
+
+    @Benchmark
+    public Dto tokenBufferClone() {
+        return JsonUtils.clone(dto);
+    }
+
+    public static class Dto {
+        private Long id;
+        private String name;
+        private String description;
+        private LocalDateTime createTime;
+        private List<String> tags;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public LocalDateTime getCreateTime() {
+            return createTime;
+        }
+
+        public void setCreateTime(LocalDateTime createTime) {
+            this.createTime = createTime;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.benchmarks;
+
+import io.github.rose.core.json.JsonUtils;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the whole-document {@code toList}/{@code toJson} path with the streaming API. Run with {@code -prof gc} to
+ * see the allocation rate, which is what bounds peak heap for large exports.
+ */
+@State(Scope.Benchmark)
+public class JsonUtilsBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Item> items;
+
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Item(i, "item-" + i, i * 0.5d));
+        }
+        json = JsonUtils.toBytes(items);
+    }
+
+    @Benchmark
+    public void readToList(Blackhole bh) {
+        for (Map<String, Object> item : JsonUtils.toList(new String(json, StandardCharsets.UTF_8))) {
+            bh.consume(item);
+        }
+    }
+
+    @Benchmark
+    public void readStream(Blackhole bh) {
+        try (Stream<Item> stream = JsonUtils.stream(new ByteArrayInputStream(json), Item.class)) {
+            stream.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void writeToJson(Blackhole bh) {
+        bh.consume(JsonUtils.toJson(items));
+    }
+
+    @Benchmark
+    public void writeArray(Blackhole bh) {
+        JsonUtils.writeArray(new BlackholeOutputStream(bh), items, Item.class);
+    }
+
+    static class BlackholeOutputStream extends OutputStream {
+        private final Blackhole bh;
+
+        BlackholeOutputStream(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override
+        public void write(int b) {
+            bh.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bh.consume(len);
+        }
+    }
+
+    public static class Item {
+        private long id;
+        private String name;
+        private double price;
+
+        public Item() {}
+
+        Item(long id, String name, double price) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+    }
+}
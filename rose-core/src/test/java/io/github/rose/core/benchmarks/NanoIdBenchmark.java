@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.benchmarks;
+
+import io.github.rose.core.util.NanoId;
+import io.github.rose.core.util.NanoIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the shared {@code SecureRandom} path with {@link NanoIdGenerator} under 1, 8 and 32 threads.
+ */
+@State(Scope.Benchmark)
+public class NanoIdBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public String sharedRandom1() {
+        return NanoId.randomNanoId(NanoId.DEFAULT_NUMBER_GENERATOR, NanoId.DEFAULT_ALPHABET, NanoId.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String sharedRandom8() {
+        return NanoId.randomNanoId(NanoId.DEFAULT_NUMBER_GENERATOR, NanoId.DEFAULT_ALPHABET, NanoId.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String sharedRandom32() {
+        return NanoId.randomNanoId(NanoId.DEFAULT_NUMBER_GENERATOR, NanoId.DEFAULT_ALPHABET, NanoId.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generator1() {
+        return NanoIdGenerator.DEFAULT.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generator8() {
+        return NanoIdGenerator.DEFAULT.nextId();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String generator32() {
+        return NanoIdGenerator.DEFAULT.nextId();
+    }
+}
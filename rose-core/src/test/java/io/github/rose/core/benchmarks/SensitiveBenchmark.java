@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.rose.core.json.JsonUtils;
+import io.github.rose.core.json.sensitive.FieldSensitive;
+import io.github.rose.core.json.sensitive.SensitiveType;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Serializes 10k users with several {@link FieldSensitive} fields.
+ */
+@State(Scope.Benchmark)
+public class SensitiveBenchmark {
+    private List<User> users;
+
+    private ObjectWriter writer;
+
+    @Setup
+    public void setup() {
+        users = new ArrayList<>(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setName("刘德华" + i);
+            user.setPhone("135" + String.format("%08d", i));
+            user.setEmail("user" + i + "@rosestack.io");
+            user.setIdCard("34030419900101" + String.format("%04d", i));
+            user.setAddress("北京市海淀区中关村大街" + i + "号");
+            users.add(user);
+        }
+        writer = JsonUtils.writerFor(User.class);
+    }
+
+    @Benchmark
+    public int serialize() throws Exception {
+        int length = 0;
+        for (User user : users) {
+            length += writer.writeValueAsString(user).length();
+        }
+        return length;
+    }
+
+    public static class User {
+        private Long id;
+
+        @FieldSensitive(type = SensitiveType.CHINESE_NAME)
+        private String name;
+
+        @FieldSensitive(type = SensitiveType.PHONE)
+        private String phone;
+
+        @FieldSensitive(type = SensitiveType.EMAIL)
+        private String email;
+
+        @FieldSensitive(type = SensitiveType.ID_CARD)
+        private String idCard;
+
+        @FieldSensitive(type = SensitiveType.CUSTOM, prefixKeep = 6, mask = "#")
+        private String address;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public void setPhone(String phone) {
+            this.phone = phone;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getIdCard() {
+            return idCard;
+        }
+
+        public void setIdCard(String idCard) {
+            this.idCard = idCard;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        public void setAddress(String address) {
+            this.address = address;
+        }
+    }
+}
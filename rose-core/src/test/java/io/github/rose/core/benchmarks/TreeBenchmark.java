@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.benchmarks;
+
+import io.github.rose.core.util.tree.CompactTree;
+import io.github.rose.core.util.tree.Tree;
+import io.github.rose.core.util.tree.TreeNode;
+import io.github.rose.core.util.tree.TreeNodeConfig;
+import io.github.rose.core.util.tree.TreeUtil;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Builds a tree with a fan-out of 10. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} per build is the memory a
+ * tree of that size costs, the score is the build throughput.
+ */
+@State(Scope.Benchmark)
+public class TreeBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private List<TreeNode<Long>> nodes;
+
+    @Setup
+    public void setup() {
+        nodes = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            nodes.add(new TreeNode<>(i, i / 10, "node-" + i, (int) (i % 7)));
+        }
+    }
+
+    @Benchmark
+    public Tree<Long> tree() {
+        return TreeUtil.buildSingle(nodes, 0L);
+    }
+
+    @Benchmark
+    public CompactTree<Long> compactTree() {
+        return CompactTree.buildSingle(nodes, 0L, TreeNodeConfig.DEFAULT_CONFIG);
+    }
+}
@@ -19,10 +19,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -133,6 +138,49 @@ public class JsonUtilsTest {
         Assertions.assertEquals(Gender.FEMALE, gender);
     }
 
+    @Test
+    public void testClone() {
+        Person person = new Person("a", null, LocalDateTime.now(ZoneId.systemDefault()), new Date());
+        Person copy = JsonUtils.clone(person);
+        Assertions.assertNotSame(person, copy);
+        Assertions.assertEquals(JsonUtils.toJson(person), JsonUtils.toJson(copy));
+        Assertions.assertNull(JsonUtils.clone(null));
+    }
+
+    @Test
+    public void testStreamArray() {
+        List<Gender> genders = Arrays.asList(Gender.MALE, Gender.FEMALE, Gender.OTHER);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtils.writeArray(out, genders.stream(), Gender.class);
+        Assertions.assertEquals(JsonUtils.toJson(genders), out.toString());
+
+        try (Stream<Gender> stream = JsonUtils.stream(new ByteArrayInputStream(out.toByteArray()), Gender.class)) {
+            Assertions.assertEquals(genders, stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testCachedReaderAndWriter() {
+        Assertions.assertSame(JsonUtils.readerFor(Person.class), JsonUtils.readerFor(Person.class));
+        Assertions.assertSame(JsonUtils.writerFor(Person.class), JsonUtils.writerFor(Person.class));
+    }
+
+    @Test
+    public void testToJsonWithLimit() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, "值" + i);
+        }
+        Assertions.assertEquals("{\"a\":1}", JsonUtils.toJson(Collections.singletonMap("a", 1), 7));
+        Assertions.assertEquals(JsonUtils.toJson(map), JsonUtils.toJson(map, 0));
+        for (int limit : new int[] {3, 12, 13, 14, 100, 1024}) {
+            String json = JsonUtils.toJson(map, limit);
+            assertThat(json).endsWith("...");
+            assertThat(json.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(limit);
+            assertThat(JsonUtils.toJson(map)).startsWith(json.substring(0, json.length() - 3));
+        }
+    }
+
     public enum Gender {
         MALE,
         FEMALE,
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.json.sensitive;
+
+import io.github.rose.core.json.JsonUtils;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class StringSensitiveSerializeTest {
+
+    @Test
+    void testSerialize() {
+        Map<String, Object> map = JsonUtils.toMap(JsonUtils.toJson(new User()));
+        Assertions.assertEquals("135****6810", map.get("phone"));
+        Assertions.assertEquals("d**@126.com", map.get("email"));
+        Assertions.assertEquals("a########f", map.get("custom"));
+        Assertions.assertEquals("**华", map.get("name"));
+        Assertions.assertEquals("******", map.get("password"));
+    }
+
+    @Test
+    void testDeSensitive() {
+        Assertions.assertEquals("ab**ef", Sensitives.deSensitive("abcdef", 2, 2, "*"));
+        Assertions.assertEquals("ab##ef", new String(Sensitives.deSensitive("abcdef", 2, 2, '#')));
+        Assertions.assertEquals("abcdef", Sensitives.deSensitive("abcdef", 4, 4, "*"));
+        Assertions.assertEquals("a-.-.-.-.f", Sensitives.deSensitive("abcdef", 1, 1, "-."));
+        Assertions.assertEquals("", Sensitives.deSensitive(" ", 1, 1, "*"));
+    }
+
+    public static class User {
+        @FieldSensitive(type = SensitiveType.PHONE)
+        public String phone = "13512346810";
+
+        @FieldSensitive(type = SensitiveType.EMAIL)
+        public String email = "dan@126.com";
+
+        @FieldSensitive(prefixKeep = 1, suffixKeep = 1, mask = "##")
+        public String custom = "abcdef";
+
+        @FieldSensitive(type = SensitiveType.CHINESE_NAME)
+        public String name = "刘德华";
+
+        @FieldSensitive(type = SensitiveType.SECRET)
+        public String password = "secret";
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.reflect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class BeanAccessorTest {
+    @Test
+    public void testToMapAndNullProperties() {
+        Person person = new Person();
+        person.setName("rose");
+        person.setAge(18);
+
+        BeanAccessor<Person> accessor = BeanAccessor.of(Person.class);
+        assertThat(accessor.toMap(person))
+                .containsEntry("name", "rose")
+                .containsEntry("age", 18)
+                .containsEntry("id", null);
+        assertThat(accessor.nullProperties(person)).containsExactly("id");
+    }
+
+    @Test
+    public void testFromMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", 1L);
+        map.put("age", null);
+        map.put("unknown", "ignored");
+
+        Person person = BeanAccessor.of(Person.class).fromMap(map, new Person());
+        assertThat(person.getId()).isEqualTo(1L);
+        assertThat(person.getAge()).isZero();
+    }
+
+    @Test
+    public void testCopyNonNull() {
+        Person source = new Person();
+        source.setName("rose");
+        Person target = new Person();
+        target.setId(2L);
+        target.setName("old");
+
+        BeanAccessor.of(source).copyNonNull(source, target);
+        assertThat(target.getId()).isEqualTo(2L);
+        assertThat(target.getName()).isEqualTo("rose");
+    }
+
+    @Test
+    public void testNonPublicClass() {
+        Hidden hidden = new Hidden();
+        BeanAccessor.of(hidden).set(hidden, "value", "test");
+        assertThat(BeanAccessor.of(hidden).get(hidden, "value")).isEqualTo("test");
+    }
+
+    @Test
+    public void testGetterAndSetter() {
+        Person person = new Person();
+        BeanAccessor<Person> accessor = BeanAccessor.of(Person.class);
+        accessor.setter("name").accept(person, "rose");
+        accessor.setter("age").accept(person, null);
+        assertThat(accessor.getter("name").apply(person)).isEqualTo("rose");
+        assertThat(person.getAge()).isZero();
+        assertThat(accessor.getter("unknown")).isNull();
+        assertThat(accessor.setter("unknown")).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testChildClassLoader() throws Exception {
+        Class<?> type = new ChildClassLoader(BeanAccessorTest.class.getClassLoader()).loadClass(Person.class.getName());
+        assertThat(type).isNotSameAs(Person.class);
+
+        Object person = type.getConstructor().newInstance();
+        BeanAccessor<Object> accessor = (BeanAccessor<Object>) (BeanAccessor<?>) BeanAccessor.of(type);
+        accessor.set(person, "name", "rose");
+        accessor.setter("age").accept(person, 18);
+        assertThat(accessor.get(person, "name")).isEqualTo("rose");
+        assertThat(accessor.getter("age").apply(person)).isEqualTo(18);
+    }
+
+    public static class Person {
+        private Long id;
+        private String name;
+        private int age;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+
+    /**
+     * Defines the test beans itself instead of delegating to the parent, like a web application class loader.
+     */
+    static class ChildClassLoader extends ClassLoader {
+        ChildClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(BeanAccessorTest.class.getName() + "$")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type == null) {
+                    byte[] bytes = readClass(name);
+                    type = defineClass(name, bytes, 0, bytes.length);
+                }
+                return type;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (in == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int n; (n = in.read(buffer)) != -1; ) {
+                    out.write(buffer, 0, n);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    static class Hidden {
+        private String value;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
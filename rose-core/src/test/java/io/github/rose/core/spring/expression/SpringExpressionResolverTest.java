@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.spring.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SpringExpressionResolverTest {
+
+    @Test
+    void testResolve() {
+        SpringExpressionResolver resolver = SpringExpressionResolver.getInstance();
+        Assertions.assertEquals(2, resolver.resolve("${1 + 1}"));
+        Assertions.assertEquals("plain", resolver.resolve("plain"));
+        Assertions.assertEquals(System.getProperty("java.io.tmpdir"), resolver.resolve("${#tempDir}"));
+        Assertions.assertSame(SpringExpressionResolver.parse("${1 + 1}"), SpringExpressionResolver.parse("${1 + 1}"));
+    }
+
+    @Test
+    void testDynamicVariables() {
+        SpringExpressionResolver resolver = SpringExpressionResolver.getInstance();
+        // stable within one evaluation, fresh for the next one
+        Assertions.assertEquals(true, resolver.resolve("${#uuid == #uuid}"));
+        Assertions.assertNotEquals(resolver.resolve("${#uuid}"), resolver.resolve("${#uuid}"));
+        Assertions.assertEquals(8, resolver.resolve("${#randomNumber8}").toString().length());
+    }
+
+    @Test
+    void testConcurrentResolve() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final int n = i;
+            futures.add(executor.submit(() -> {
+                SpringExpressionResolver resolver = SpringExpressionResolver.getInstance();
+                for (int j = 0; j < 1000; j++) {
+                    if (!Integer.valueOf(n + j).equals(resolver.resolve("${" + n + " + " + j + "}"))) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        for (Future<Boolean> future : futures) {
+            Assertions.assertTrue(future.get());
+        }
+        executor.shutdown();
+    }
+}
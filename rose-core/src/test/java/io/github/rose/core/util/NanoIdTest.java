@@ -18,6 +18,8 @@ package io.github.rose.core.util;
 import static io.github.rose.core.util.NanoId.DEFAULT_ALPHABET;
 import static io.github.rose.core.util.NanoId.DEFAULT_SIZE;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -46,4 +48,27 @@ class NanoIdTest {
         Assertions.assertThrows(
                 IllegalArgumentException.class, () -> NanoId.randomNanoId(random, DEFAULT_ALPHABET, -1));
     }
+
+    @Test
+    void testNanoIdGenerator() {
+        NanoIdGenerator generator = new NanoIdGenerator("abc".toCharArray(), 8);
+        Assertions.assertTrue(generator.nextId().matches("[abc]{8}"));
+
+        List<String> ids = NanoIdGenerator.DEFAULT.nextIds(10000);
+        Assertions.assertEquals(10000, ids.size());
+        Assertions.assertEquals(10000, new HashSet<>(ids).size());
+        ids.forEach(id -> Assertions.assertEquals(DEFAULT_SIZE, id.length()));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NanoIdGenerator(null, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NanoIdGenerator(DEFAULT_ALPHABET, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> generator.nextIds(-1));
+    }
+
+    @Test
+    void testMask() {
+        for (int length = 2; length < 256; length++) {
+            int expected = (2 << (int) Math.floor(Math.log(length - 1) / Math.log(2))) - 1;
+            Assertions.assertEquals(expected, NanoIdGenerator.mask(length));
+        }
+    }
 }
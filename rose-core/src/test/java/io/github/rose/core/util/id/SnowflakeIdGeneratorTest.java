@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.id;
+
+import io.github.rose.core.util.Uuids;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void testNextIdIsIncreasing() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5);
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            Assertions.assertTrue(id > previous);
+            previous = id;
+        }
+        Assertions.assertEquals(5, (previous >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_WORKER_ID);
+        long timestamp = generator.getTimestamp(previous);
+        Assertions.assertTrue(Math.abs(System.currentTimeMillis() - timestamp) <= SnowflakeIdGenerator.DEFAULT_MAX_DRIFT_MILLIS + 1000);
+    }
+
+    @Test
+    void testReserve() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        long before = generator.nextId();
+        IdRange range = generator.reserve(10_000);
+        Assertions.assertEquals(10_000, range.remaining());
+        long[] ids = range.toArray();
+        Assertions.assertFalse(range.hasNext());
+        Assertions.assertTrue(ids[0] > before);
+        for (int i = 1; i < ids.length; i++) {
+            Assertions.assertTrue(ids[i] > ids[i - 1]);
+        }
+        Assertions.assertTrue(generator.nextId() > ids[ids.length - 1]);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> generator.reserve(0));
+    }
+
+    @Test
+    void testConcurrentUniqueness() throws Exception {
+        for (int stripeSize : new int[] {1, 64}) {
+            SnowflakeIdGenerator generator =
+                    new SnowflakeIdGenerator(3, SnowflakeIdGenerator.DEFAULT_EPOCH, 1000, stripeSize);
+            Set<Long> ids = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    long previous = 0;
+                    for (int i = 0; i < 50_000; i++) {
+                        long id = generator.nextId();
+                        Assertions.assertTrue(id > previous);
+                        previous = id;
+                        ids.add(id);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+            Assertions.assertEquals(8 * 50_000, ids.size());
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        Assertions.assertThrows(
+                IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(1, System.currentTimeMillis() + 60_000, 1000, 1));
+    }
+
+    @Test
+    void testTimeOrderedUuid() {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(1000);
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(generator.nextUuid());
+        }
+        uuids.addAll(generator.reserve(10_000));
+        for (UUID uuid : uuids) {
+            Assertions.assertEquals(7, uuid.version());
+            Assertions.assertEquals(2, uuid.variant());
+        }
+        List<UUID> sorted = new ArrayList<>(uuids);
+        Collections.sort(sorted);
+        Assertions.assertEquals(uuids, sorted);
+        Assertions.assertEquals(uuids.size(), new HashSet<>(uuids).size());
+    }
+
+    @Test
+    void testFallbackWorkerId() {
+        long workerId = SnowflakeIdGenerator.fallbackWorkerId();
+        Assertions.assertTrue(workerId >= 0 && workerId <= SnowflakeIdGenerator.MAX_WORKER_ID);
+        Assertions.assertEquals(workerId, SnowflakeIdGenerator.fallbackWorkerId());
+    }
+
+    @Test
+    void testInitDefault() {
+        SnowflakeIdGenerator generator = SnowflakeIdGenerator.getDefault();
+        long workerId = generator.getWorkerId();
+        Assertions.assertSame(generator, SnowflakeIdGenerator.initDefault(workerId));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> SnowflakeIdGenerator.initDefault((workerId + 1) & SnowflakeIdGenerator.MAX_WORKER_ID));
+        Assertions.assertSame(generator, SnowflakeIdGenerator.getDefault());
+
+        // Uuids shares the process wide generator
+        long id = Uuids.nextId();
+        long idWorkerId = (id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_WORKER_ID;
+        Assertions.assertEquals(workerId, idWorkerId);
+        Assertions.assertTrue(generator.nextId() > id);
+    }
+}
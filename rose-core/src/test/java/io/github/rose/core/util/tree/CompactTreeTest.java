@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.rose.core.json.JsonUtils;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class CompactTreeTest {
+    private static List<TreeNode<String>> nodes() {
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("path", "/shop/goods");
+        extra.put("icon", "goods");
+        return Arrays.asList(
+                new TreeNode<>("1", "0", "系统管理", 5),
+                new TreeNode<>("11", "1", "用户管理", 2),
+                new TreeNode<>("111", "11", "用户添加", 0),
+                new TreeNode<>("2", "0", null, 1),
+                new TreeNode<String>("21", "2", "商品管理", 44).setExtra(extra));
+    }
+
+    @Test
+    public void testSameJsonAsTree() throws Exception {
+        Tree<String> tree = TreeUtil.buildSingle(nodes(), "0");
+        CompactTree<String> compactTree = CompactTree.buildSingle(nodes(), "0", TreeNodeConfig.DEFAULT_CONFIG);
+
+        assertThat(JsonUtils.toJson(compactTree)).isEqualTo(JsonUtils.toJson(tree));
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertThat(objectMapper.writeValueAsString(compactTree)).isEqualTo(objectMapper.writeValueAsString(tree));
+    }
+
+    @Test
+    public void testCustomKeys() {
+        TreeNodeConfig config = new TreeNodeConfig();
+        config.setIdKey("key");
+        config.setChildrenKey("items");
+        Tree<String> tree = TreeUtil.buildSingle(nodes(), "0", config);
+        CompactTree<String> compactTree = CompactTree.buildSingle(nodes(), "0", config);
+
+        assertThat(JsonUtils.toJson(compactTree)).isEqualTo(JsonUtils.toJson(tree));
+    }
+
+    @Test
+    public void testExtraWithStandardKeys() {
+        TreeNodeConfig config = new TreeNodeConfig();
+        config.setNameKey("title");
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("title", "店铺");
+        extra.put("weight", 9);
+        extra.put("path", "/shop");
+        List<TreeNode<String>> nodes = Arrays.asList(
+                new TreeNode<>("1", "0", "系统管理", 5), new TreeNode<String>("2", "0", "店铺管理", 1).setExtra(extra));
+        Tree<String> tree = TreeUtil.buildSingle(nodes, "0", config);
+        CompactTree<String> compactTree = CompactTree.buildSingle(nodes, "0", config);
+
+        // 标准属性不会重复写入扩展属性，JSON中每个键只出现一次
+        assertThat(JsonUtils.toJson(compactTree)).isEqualTo(JsonUtils.toJson(tree));
+        CompactTree<String> node = compactTree.getNode("2");
+        assertThat(node.getName()).isEqualTo("店铺");
+        assertThat(node.getWeight()).isEqualTo(9);
+        assertThat(node.getExtra("title")).isEqualTo("店铺");
+        assertThat(compactTree.getChildren()).extracting(CompactTree::getId).containsExactly("1", "2");
+    }
+
+    @Test
+    public void testGetNode() {
+        CompactTree<String> root = CompactTree.buildSingle(nodes(), "0", null);
+        CompactTree<String> node = root.getNode("111");
+        assertThat(node.getName()).isEqualTo("用户添加");
+        assertThat(node.getParent().getId()).isEqualTo("11");
+        assertThat(root.getNode("21").getExtra("path")).isEqualTo("/shop/goods");
+        assertThat(root.getNode("404")).isNull();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class IndexedTreeTest {
+    private static final List<TreeNode<String>> NODES = Arrays.asList(
+            new TreeNode<>("1", "0", "系统管理", 5),
+            new TreeNode<>("11", "1", "用户管理", 222222),
+            new TreeNode<>("111", "11", "用户添加", 0),
+            new TreeNode<>("2", "0", "店铺管理", 1),
+            new TreeNode<>("21", "2", "商品管理", 44),
+            new TreeNode<>("221", "2", "商品管理2", 2));
+
+    @Test
+    public void testBuild() {
+        IndexedTree<String> tree =
+                IndexedTree.build(NODES, "0", TreeNodeConfig.DEFAULT_CONFIG, new DefaultNodeParser<>());
+
+        assertThat(tree.size()).isEqualTo(NODES.size() + 1);
+        assertThat(tree.getRoot().getChildren())
+                .extracting(Tree::getId)
+                .containsExactly("2", "1");
+        assertThat(tree.getNode("221").getChildren()).isEmpty();
+        assertThat(tree.getNode("2").getChildren()).extracting(Tree::getId).containsExactly("221", "21");
+        assertThat(tree.getNode("404")).isNull();
+    }
+
+    @Test
+    public void testEqualWeightKeepsInputOrder() {
+        List<TreeNode<Integer>> nodes = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 50; i > 0; i--) {
+            nodes.add(new TreeNode<>(i, 0, "n" + i, 0));
+            ids.add(i);
+        }
+        IndexedTree<Integer> tree =
+                IndexedTree.build(nodes, 0, TreeNodeConfig.DEFAULT_CONFIG, new DefaultNodeParser<>());
+        assertThat(tree.getRoot().getChildren()).extracting(Tree::getId).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    public void testSameAsTreeUtil() {
+        Tree<String> root = TreeUtil.buildSingle(NODES, "0");
+        IndexedTree<String> tree = IndexedTree.of(root);
+
+        for (TreeNode<String> node : NODES) {
+            assertThat(tree.getNode(node.getId())).isSameAs(TreeUtil.getNode(root, node.getId()));
+            assertThat(tree.getParentsName(node.getId(), true))
+                    .isEqualTo(TreeUtil.getParentsName(root.getNode(node.getId()), true));
+        }
+    }
+
+    @Test
+    public void testAncestorsAndDescendants() {
+        IndexedTree<String> tree =
+                IndexedTree.build(NODES, "0", TreeNodeConfig.DEFAULT_CONFIG, new DefaultNodeParser<>());
+
+        assertThat(tree.getDepth("111")).isEqualTo(3);
+        assertThat(tree.getParentsName("111", false)).containsExactly("用户管理", "系统管理", null);
+        assertThat(tree.getDescendants("1").stream().map(Tree::getId).collect(Collectors.toList()))
+                .containsExactly("11", "111");
+        assertThat(tree.getDescendants("0")).hasSize(NODES.size());
+        assertThat(tree.isAncestor("1", "111")).isTrue();
+        assertThat(tree.isAncestor("2", "111")).isFalse();
+        assertThat(tree.isAncestor("111", "111")).isFalse();
+    }
+
+    @Test
+    public void testDeepChain() {
+        int depth = 100_000;
+        List<TreeNode<Integer>> chain = new ArrayList<>(depth);
+        for (int i = 1; i <= depth; i++) {
+            chain.add(new TreeNode<>(i, i - 1, "n" + i, 0));
+        }
+        IndexedTree<Integer> tree =
+                IndexedTree.build(chain, 0, TreeNodeConfig.DEFAULT_CONFIG, new DefaultNodeParser<>());
+        assertThat(tree.getDepth(depth)).isEqualTo(depth);
+        assertThat(tree.isAncestor(1, depth)).isTrue();
+        assertThat(tree.getDescendants(1)).hasSize(depth - 1);
+    }
+}
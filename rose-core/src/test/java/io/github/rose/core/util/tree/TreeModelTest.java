@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.rose.core.json.JsonUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TreeModelTest {
+    private static final List<TreeNode<String>> NODES = Arrays.asList(
+            new TreeNode<>("1", "0", "系统管理", 5),
+            new TreeNode<>("11", "1", "用户管理", 2),
+            new TreeNode<>("111", "11", "用户添加", 0),
+            new TreeNode<>("2", "0", "店铺管理", 1),
+            new TreeNode<>("21", "2", "商品管理", 44));
+
+    @Test
+    public void testSnapshotIsNotAffectedByChanges() {
+        TreeModel<String> model = TreeModel.of(TreeUtil.buildSingle(NODES, "0"));
+        TreeSnapshot<String> before = model.snapshot();
+        String json = JsonUtils.toJson(before.getRoot());
+
+        model.insert(new Tree<String>().setId("22").setParentId("2").setName("店铺设置").setWeight(3));
+        model.move("11", "2");
+        model.delete("1");
+
+        assertThat(JsonUtils.toJson(before.getRoot())).isEqualTo(json);
+        assertThat(before.getNode("1")).isNotNull();
+        assertThat(model.snapshot().getVersion()).isEqualTo(3);
+        assertThat(model.snapshot().getNode("1")).isNull();
+        assertThat(model.snapshot().getNode("2").getChildren())
+                .extracting(Tree::getId)
+                .containsExactly("11", "22", "21");
+        assertThat(model.snapshot().isAncestor("2", "111")).isTrue();
+    }
+
+    @Test
+    public void testUpdateAndSort() {
+        TreeModel<String> model = TreeModel.of(TreeUtil.buildSingle(NODES, "0"));
+        model.update("2", node -> node.setWeight(10));
+        assertThat(model.snapshot().getRoot().getChildren())
+                .extracting(Tree::getId)
+                .containsExactly("1", "2");
+
+        model.update("2", node -> node.setWeight(0));
+        model.sortChildren("0");
+        assertThat(model.snapshot().getRoot().getChildren())
+                .extracting(Tree::getId)
+                .containsExactly("2", "1");
+    }
+
+    @Test
+    public void testEvents() {
+        TreeModel<String> model = TreeModel.of(TreeUtil.buildSingle(NODES, "0"));
+        List<TreeChangeEvent<String>> events = new ArrayList<>();
+        model.addListener(events::add);
+
+        model.move("11", "2");
+        model.delete("21");
+
+        assertThat(events).extracting(TreeChangeEvent::getType)
+                .containsExactly(TreeChangeEvent.Type.MOVE, TreeChangeEvent.Type.DELETE);
+        assertThat(events.get(0).getOldParentId()).isEqualTo("1");
+        assertThat(events.get(0).getParentId()).isEqualTo("2");
+        assertThat(events.get(1).getSnapshot()).isSameAs(model.snapshot());
+    }
+
+    @Test
+    public void testInvalidMove() {
+        TreeModel<String> model = TreeModel.of(TreeUtil.buildSingle(NODES, "0"));
+        assertThatThrownBy(() -> model.move("1", "111")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> model.move("404", "1")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(model.snapshot().getVersion()).isZero();
+    }
+}
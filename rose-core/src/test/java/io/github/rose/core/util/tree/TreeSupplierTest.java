@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.core.util.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rose.core.json.JsonUtils;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class TreeSupplierTest {
+    private static final int DEPTH = 200_000;
+
+    private static List<TreeNode<Integer>> chain(int depth) {
+        List<TreeNode<Integer>> nodes = new ArrayList<>(depth);
+        for (int i = 1; i <= depth; i++) {
+            nodes.add(new TreeNode<>(i, i - 1, "node-" + i, 0));
+        }
+        return nodes;
+    }
+
+    @Test
+    public void testDeepChain() {
+        Tree<Integer> root = TreeSupplier.of(0).append(chain(DEPTH), new DefaultNodeParser<>()).get();
+        assertThat(TreeUtil.getNode(root, DEPTH).getParentId()).isEqualTo(DEPTH - 1);
+        assertThat(IndexedTree.of(root).getDepth(DEPTH)).isEqualTo(DEPTH);
+    }
+
+    @Test
+    public void testDeepChainInParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Tree<Integer> root = TreeSupplier.of(0)
+                    .parallel(pool)
+                    .append(chain(DEPTH), new DefaultNodeParser<>())
+                    .get();
+            assertThat(IndexedTree.of(root).getDepth(DEPTH)).isEqualTo(DEPTH);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCutDeepChain() {
+        TreeNodeConfig config = new TreeNodeConfig();
+        config.setDeep(DEPTH / 2);
+        Tree<Integer> root = TreeSupplier.of(0, config)
+                .parallel(true)
+                .append(chain(DEPTH), new DefaultNodeParser<>())
+                .get();
+        IndexedTree<Integer> tree = IndexedTree.of(root);
+        assertThat(tree.size()).isEqualTo(DEPTH / 2 + 1);
+        assertThat(tree.getNode(DEPTH / 2).getChildren()).isNullOrEmpty();
+    }
+
+    @Test
+    public void testParallelSameAsSequential() {
+        List<TreeNode<Integer>> nodes = new ArrayList<>();
+        for (int i = 1; i <= 50_000; i++) {
+            nodes.add(new TreeNode<>(i, i / 10, "node-" + i, i % 7));
+        }
+        Tree<Integer> sequential = TreeSupplier.of(0).append(nodes, new DefaultNodeParser<>()).get();
+        Tree<Integer> parallel =
+                TreeSupplier.of(0).parallel(true).append(nodes, new DefaultNodeParser<>()).get();
+        assertThat(JsonUtils.toJson(parallel)).isEqualTo(JsonUtils.toJson(sequential));
+    }
+
+    @Test
+    public void testDeepTreeInParallelRepeatedly() {
+        // 每个节点既是父节点又是子节点，权重大量相同，用于发现并行链接时的数据竞争
+        List<TreeNode<Integer>> nodes = new ArrayList<>();
+        for (int i = 1; i <= 30_000; i++) {
+            nodes.add(new TreeNode<>(i, Math.max(0, i - 1 - i % 3), "node-" + i, i % 5));
+        }
+        List<String> sequential = snapshot(TreeSupplier.of(0).append(nodes, new DefaultNodeParser<>()).get());
+        for (int round = 0; round < 20; round++) {
+            Tree<Integer> parallel =
+                    TreeSupplier.of(0).parallel(true).append(nodes, new DefaultNodeParser<>()).get();
+            assertThat(snapshot(parallel)).isEqualTo(sequential);
+        }
+    }
+
+    /**
+     * 逐层记录每个节点的父节点和子节点顺序，不使用递归
+     */
+    private static List<String> snapshot(Tree<Integer> root) {
+        List<String> result = new ArrayList<>();
+        Deque<Tree<Integer>> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Tree<Integer> node = queue.poll();
+            List<Integer> childIds = new ArrayList<>();
+            List<Tree<Integer>> children = node.getChildren();
+            if (children != null) {
+                for (Tree<Integer> child : children) {
+                    childIds.add(child.getId());
+                    queue.add(child);
+                }
+            }
+            result.add(node.getId() + "<" + node.getParentId() + ">" + childIds);
+        }
+        return result;
+    }
+}
@@ -42,8 +42,9 @@ public class DataPermissionRuleHandler implements MultiDataPermissionHandler {
 
     @Override
     public Expression getSqlSegment(Table table, Expression where, String mappedStatementId) {
-        // 获得 Mapper 对应的数据权限的规则
-        List<DataPermissionRule> rules = ruleFactory.getDataPermissionRule(mappedStatementId);
+        // 获得 Mapper 中作用于该表的数据权限规则
+        String tableName = MyBatisUtils.getTableName(table);
+        List<DataPermissionRule> rules = ruleFactory.getDataPermissionRule(mappedStatementId, tableName);
         if (CollectionUtils.isEmpty(rules)) {
             return null;
         }
@@ -51,12 +52,6 @@ public class DataPermissionRuleHandler implements MultiDataPermissionHandler {
         // 生成条件
         Expression allExpression = null;
         for (DataPermissionRule rule : rules) {
-            // 判断表名是否匹配
-            String tableName = MyBatisUtils.getTableName(table);
-            if (!rule.getTableNames().contains(tableName)) {
-                continue;
-            }
-
             // 单条规则的条件
             Expression oneExpress = rule.getExpression(tableName, table.getAlias());
             if (oneExpress == null) {
@@ -16,6 +16,7 @@
 package io.github.rose.mybatis.datapermission.rule;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * {@link DataPermissionRule} 工厂接口 作为 {@link DataPermissionRule} 的容器，提供管理能力
@@ -36,4 +37,17 @@ public interface DataPermissionRuleFactory {
      * @return 数据权限规则数组
      */
     List<DataPermissionRule> getDataPermissionRule(String mappedStatementId);
+
+    /**
+     * 获得指定 Mapper 中作用于指定表的数据权限规则数组
+     *
+     * @param mappedStatementId 指定 Mapper 的编号
+     * @param tableName         表名
+     * @return 数据权限规则数组
+     */
+    default List<DataPermissionRule> getDataPermissionRule(String mappedStatementId, String tableName) {
+        return getDataPermissionRule(mappedStatementId).stream()
+                .filter(rule -> rule.getTableNames().contains(tableName))
+                .collect(Collectors.toList());
+    }
 }
@@ -19,23 +19,57 @@ import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.ObjectUtils;
 import io.github.rose.mybatis.datapermission.annotation.DataPermission;
 import io.github.rose.mybatis.datapermission.aop.DataPermissionContextHolder;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.ArrayUtils;
 
 /**
  * 默认的 DataPermissionRuleFactoryImpl 实现类 支持通过 {@link DataPermissionContextHolder} 过滤数据权限
+ * <p>
+ * 过滤结果按 mappedStatementId + {@link DataPermission} 实例缓存，并按表名建立索引，每条 SQL 只需几次哈希查找。
+ * {@link DataPermission} 注解由切面按方法缓存，实例稳定，因此按引用比较。规则的表名在首次解析时确定，
+ * 如果规则的表名会变化，需要调用 {@link #clearCache()}
  */
 public class DataPermissionRuleFactoryImpl implements DataPermissionRuleFactory {
 
+    /**
+     * 默认的缓存上限，超过后整体清空，避免动态创建的注解实例导致内存泄漏
+     */
+    public static final int DEFAULT_MAX_CACHE_SIZE = 10_000;
+
     /**
      * 数据权限规则数组
      */
     private final List<DataPermissionRule> rules;
 
+    /**
+     * 全部规则，未配置 {@link DataPermission} 时使用
+     */
+    private final ResolvedRules allRules;
+
+    private final int maxCacheSize;
+
+    private final Map<CacheKey, ResolvedRules> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder cacheMisses = new LongAdder();
+
     public DataPermissionRuleFactoryImpl(List<DataPermissionRule> rules) {
+        this(rules, DEFAULT_MAX_CACHE_SIZE);
+    }
+
+    public DataPermissionRuleFactoryImpl(List<DataPermissionRule> rules, int maxCacheSize) {
         this.rules = rules;
+        this.allRules = CollectionUtils.isEmpty(rules) ? ResolvedRules.EMPTY : new ResolvedRules(rules);
+        this.maxCacheSize = maxCacheSize;
     }
 
     @Override
@@ -43,36 +77,168 @@ public class DataPermissionRuleFactoryImpl implements DataPermissionRuleFactory
         return rules;
     }
 
-    @Override // mappedStatementId 参数，暂时没有用。以后，可以基于 mappedStatementId + DataPermission
-    // 进行缓存
+    @Override
     public List<DataPermissionRule> getDataPermissionRule(String mappedStatementId) {
+        return resolve(mappedStatementId).rules;
+    }
+
+    @Override
+    public List<DataPermissionRule> getDataPermissionRule(String mappedStatementId, String tableName) {
+        return resolve(mappedStatementId).getRules(tableName);
+    }
+
+    /**
+     * 清空缓存，规则的表名变化后调用
+     */
+    public void clearCache() {
+        cache.clear();
+        allRules.clear();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * 缓存命中率，尚未查询时返回 0
+     *
+     * @return 命中率，0 ~ 1
+     */
+    public double getCacheHitRate() {
+        long hits = cacheHits.sum();
+        long total = hits + cacheMisses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private ResolvedRules resolve(String mappedStatementId) {
         // 1. 无数据权限
-        if (CollectionUtils.isEmpty(rules)) {
-            return Collections.emptyList();
+        if (allRules == ResolvedRules.EMPTY) {
+            return ResolvedRules.EMPTY;
         }
         // 2. 未配置，则默认开启
         DataPermission dataPermission = DataPermissionContextHolder.get();
         if (dataPermission == null) {
-            return rules;
+            cacheHits.increment();
+            return allRules;
+        }
+        CacheKey key = new CacheKey(mappedStatementId, dataPermission);
+        ResolvedRules resolved = cache.get(key);
+        if (resolved != null) {
+            cacheHits.increment();
+            return resolved;
         }
+        cacheMisses.increment();
+        resolved = filter(dataPermission);
+        if (cache.size() >= maxCacheSize) {
+            cache.clear();
+        }
+        cache.put(key, resolved);
+        return resolved;
+    }
+
+    private ResolvedRules filter(DataPermission dataPermission) {
         // 3. 已配置，但禁用
         if (!dataPermission.enable()) {
-            return Collections.emptyList();
+            return ResolvedRules.EMPTY;
         }
-
         // 4. 已配置，只选择部分规则
         if (ObjectUtils.isNotEmpty(dataPermission.includeRules())) {
-            return rules.stream()
+            return new ResolvedRules(rules.stream()
                     .filter(rule -> ArrayUtils.contains(dataPermission.includeRules(), rule.getClass()))
-                    .collect(Collectors.toList()); // 一般规则不会太多，所以不采用 HashSet 查询
+                    .collect(Collectors.toList())); // 一般规则不会太多，所以不采用 HashSet 查询
         }
         // 5. 已配置，只排除部分规则
         if (ObjectUtils.isNotEmpty(dataPermission.excludeRules())) {
-            return rules.stream()
+            return new ResolvedRules(rules.stream()
                     .filter(rule -> !ArrayUtils.contains(dataPermission.excludeRules(), rule.getClass()))
-                    .collect(Collectors.toList()); // 一般规则不会太多，所以不采用 HashSet 查询
+                    .collect(Collectors.toList())); // 一般规则不会太多，所以不采用 HashSet 查询
         }
         // 6. 已配置，全部规则
-        return rules;
+        return allRules;
+    }
+
+    /**
+     * 缓存的键，{@link DataPermission} 按引用比较
+     */
+    private static final class CacheKey {
+        private final String mappedStatementId;
+        private final DataPermission dataPermission;
+        private final int hash;
+
+        private CacheKey(String mappedStatementId, DataPermission dataPermission) {
+            this.mappedStatementId = mappedStatementId;
+            this.dataPermission = dataPermission;
+            this.hash = 31 * Objects.hashCode(mappedStatementId) + System.identityHashCode(dataPermission);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return dataPermission == other.dataPermission && Objects.equals(mappedStatementId, other.mappedStatementId);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 过滤后的规则，以及表名到规则的索引
+     */
+    private static final class ResolvedRules {
+        private static final ResolvedRules EMPTY = new ResolvedRules(Collections.emptyList());
+
+        private final List<DataPermissionRule> rules;
+
+        private volatile Map<String, List<DataPermissionRule>> rulesByTable;
+
+        private ResolvedRules(List<DataPermissionRule> rules) {
+            this.rules = rules;
+        }
+
+        private List<DataPermissionRule> getRules(String tableName) {
+            if (rules.isEmpty()) {
+                return Collections.emptyList();
+            }
+            Map<String, List<DataPermissionRule>> index = rulesByTable;
+            if (index == null) {
+                index = buildIndex(rules);
+                rulesByTable = index;
+            }
+            return index.getOrDefault(tableName, Collections.emptyList());
+        }
+
+        private void clear() {
+            rulesByTable = null;
+        }
+
+        private static Map<String, List<DataPermissionRule>> buildIndex(List<DataPermissionRule> rules) {
+            Map<String, List<DataPermissionRule>> index = new HashMap<>();
+            for (DataPermissionRule rule : rules) {
+                for (String tableName : rule.getTableNames()) {
+                    List<DataPermissionRule> list = index.computeIfAbsent(tableName, k -> new ArrayList<>(1));
+                    // 规则顺序与原数组保持一致
+                    if (!list.contains(rule)) {
+                        list.add(rule);
+                    }
+                }
+            }
+            return index;
+        }
     }
 }
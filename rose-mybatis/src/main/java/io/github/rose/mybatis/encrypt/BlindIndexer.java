@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.encrypt;
+
+import io.github.rose.mybatis.encrypt.annotation.BlindIndex;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Locale;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 盲索引计算器，基于HmacSHA256，{@link Mac}实例按线程缓存。
+ * <p>
+ * 完整值的索引取HMAC前16字节的十六进制；开启n-gram时，每个分词取HMAC前4字节的十六进制，按顺序以空格连接。
+ * 子串的分词在原值的分词序列中是连续的，因此LIKE查询可以改写为对分词序列的LIKE
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class BlindIndexer {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final int INDEX_BYTES = 16;
+
+    private static final int TOKEN_BYTES = 4;
+
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * @param key 密钥。实际的HMAC密钥由它派生，即使与加密密码相同，两种用途也互不影响
+     */
+    public BlindIndexer(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Blind index key must not be empty");
+        }
+        byte[] derived = hmac(newMac(key.getBytes(StandardCharsets.UTF_8)), "rose-blind-index");
+        this.mac = ThreadLocal.withInitial(() -> newMac(derived));
+    }
+
+    /**
+     * 计算盲索引
+     *
+     * @param value      明文
+     * @param blindIndex 索引配置
+     * @return 盲索引，value为null时返回null
+     */
+    public String index(String value, BlindIndex blindIndex) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = blindIndex.normalize() ? normalize(value) : value;
+        if (blindIndex.ngram() <= 0) {
+            return hex(hmac(mac.get(), normalized), INDEX_BYTES);
+        }
+        return tokens(normalized, blindIndex.ngram());
+    }
+
+    /**
+     * 把LIKE查询串转换为对分词序列的LIKE查询串，只支持两端的%通配符
+     *
+     * @param pattern    LIKE查询串，如 %1234%
+     * @param blindIndex 索引配置
+     * @return 改写后的查询串；未开启n-gram、中间含有通配符或者长度不足n时返回null
+     */
+    public String likeIndex(String pattern, BlindIndex blindIndex) {
+        int n = blindIndex.ngram();
+        if (pattern == null || n <= 0) {
+            return null;
+        }
+        int start = 0;
+        int end = pattern.length();
+        while (start < end && pattern.charAt(start) == '%') {
+            start++;
+        }
+        while (end > start && pattern.charAt(end - 1) == '%') {
+            end--;
+        }
+        String value = pattern.substring(start, end);
+        if (value.indexOf('%') >= 0 || value.indexOf('_') >= 0) {
+            return null;
+        }
+        String normalized = blindIndex.normalize() ? normalize(value) : value;
+        if (normalized.codePointCount(0, normalized.length()) < n) {
+            return null;
+        }
+        return "%" + tokens(normalized, n) + "%";
+    }
+
+    private String tokens(String value, int n) {
+        int[] codePoints = value.codePoints().toArray();
+        if (codePoints.length <= n) {
+            return hex(hmac(mac.get(), value), TOKEN_BYTES);
+        }
+        Mac current = mac.get();
+        StringBuilder sb = new StringBuilder((codePoints.length - n + 1) * (TOKEN_BYTES * 2 + 1));
+        for (int i = 0; i + n <= codePoints.length; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(hex(hmac(current, new String(codePoints, i, n)), TOKEN_BYTES));
+        }
+        return sb.toString();
+    }
+
+    static String normalize(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c) && c != '-') {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static byte[] hmac(Mac mac, String value) {
+        return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String hex(byte[] bytes, int length) {
+        char[] chars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            chars[i * 2] = HEX[(bytes[i] & 0xF0) >>> 4];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+
+    private static Mac newMac(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(key, HMAC_SHA256));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -17,6 +17,7 @@ package io.github.rose.mybatis.encrypt;
 
 import io.github.rose.mybatis.encrypt.util.Algorithm;
 import io.github.rose.mybatis.encrypt.util.AlgorithmUtils;
+import java.util.List;
 
 /**
  * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
@@ -31,4 +32,14 @@ public class DefaultEncryptor implements IEncryptor {
     public String decrypt(Algorithm algorithm, String password, String plaintext, Object metaObject) {
         return AlgorithmUtils.resolve(algorithm, password, false, plaintext);
     }
+
+    @Override
+    public List<String> encryptAll(Algorithm algorithm, String password, List<String> plaintexts) {
+        return AlgorithmUtils.resolveAll(algorithm, password, true, plaintexts);
+    }
+
+    @Override
+    public List<String> decryptAll(Algorithm algorithm, String password, List<String> ciphertexts) {
+        return AlgorithmUtils.resolveAll(algorithm, password, false, ciphertexts);
+    }
 }
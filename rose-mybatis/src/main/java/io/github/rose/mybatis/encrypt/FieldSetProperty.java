@@ -15,8 +15,11 @@
  */
 package io.github.rose.mybatis.encrypt;
 
+import io.github.rose.mybatis.encrypt.annotation.BlindIndex;
 import io.github.rose.mybatis.encrypt.annotation.FieldBind;
 import io.github.rose.mybatis.encrypt.annotation.FieldEncrypt;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
@@ -30,6 +33,14 @@ public class FieldSetProperty {
 
     private FieldBind fieldBind;
 
+    private Function<Object, Object> getter;
+
+    private BiConsumer<Object, Object> setter;
+
+    private BlindIndex blindIndex;
+
+    private BiConsumer<Object, Object> blindIndexSetter;
+
     public FieldSetProperty() {}
 
     public FieldSetProperty(String fieldName, FieldEncrypt fieldEncrypt, FieldBind fieldBind) {
@@ -38,6 +49,37 @@ public class FieldSetProperty {
         this.fieldBind = fieldBind;
     }
 
+    public FieldSetProperty(
+            String fieldName,
+            FieldEncrypt fieldEncrypt,
+            FieldBind fieldBind,
+            Function<Object, Object> getter,
+            BiConsumer<Object, Object> setter) {
+        this(fieldName, fieldEncrypt, fieldBind);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * 通过预编译的访问器读取字段值
+     *
+     * @param object 实体对象
+     * @return 字段值
+     */
+    public Object getValue(Object object) {
+        return getter.apply(object);
+    }
+
+    /**
+     * 通过预编译的访问器写入字段值
+     *
+     * @param object 实体对象
+     * @param value  字段值
+     */
+    public void setValue(Object object, Object value) {
+        setter.accept(object, value);
+    }
+
     public String getFieldName() {
         return fieldName;
     }
@@ -61,4 +103,46 @@ public class FieldSetProperty {
     public void setFieldBind(FieldBind fieldBind) {
         this.fieldBind = fieldBind;
     }
+
+    /**
+     * 写入盲索引属性
+     *
+     * @param object 实体对象
+     * @param value  盲索引
+     */
+    public void setBlindIndexValue(Object object, String value) {
+        blindIndexSetter.accept(object, value);
+    }
+
+    public Function<Object, Object> getGetter() {
+        return getter;
+    }
+
+    public void setGetter(Function<Object, Object> getter) {
+        this.getter = getter;
+    }
+
+    public BiConsumer<Object, Object> getSetter() {
+        return setter;
+    }
+
+    public void setSetter(BiConsumer<Object, Object> setter) {
+        this.setter = setter;
+    }
+
+    public BlindIndex getBlindIndex() {
+        return blindIndex;
+    }
+
+    public void setBlindIndex(BlindIndex blindIndex) {
+        this.blindIndex = blindIndex;
+    }
+
+    public BiConsumer<Object, Object> getBlindIndexSetter() {
+        return blindIndexSetter;
+    }
+
+    public void setBlindIndexSetter(BiConsumer<Object, Object> blindIndexSetter) {
+        this.blindIndexSetter = blindIndexSetter;
+    }
 }
@@ -16,6 +16,8 @@
 package io.github.rose.mybatis.encrypt;
 
 import io.github.rose.mybatis.encrypt.util.Algorithm;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
@@ -26,4 +28,36 @@ public interface IEncryptor {
     String encrypt(Algorithm algorithm, String password, String plaintext, Object metaObject);
 
     String decrypt(Algorithm algorithm, String password, String plaintext, Object metaObject);
+
+    /**
+     * 批量加密
+     *
+     * @param algorithm  算法
+     * @param password   密码
+     * @param plaintexts 明文，null值原样保留
+     * @return 密文，顺序与输入一致
+     */
+    default List<String> encryptAll(Algorithm algorithm, String password, List<String> plaintexts) {
+        List<String> result = new ArrayList<>(plaintexts.size());
+        for (String plaintext : plaintexts) {
+            result.add(encrypt(algorithm, password, plaintext, null));
+        }
+        return result;
+    }
+
+    /**
+     * 批量解密
+     *
+     * @param algorithm   算法
+     * @param password    密码
+     * @param ciphertexts 密文，null值原样保留
+     * @return 明文，顺序与输入一致
+     */
+    default List<String> decryptAll(Algorithm algorithm, String password, List<String> ciphertexts) {
+        List<String> result = new ArrayList<>(ciphertexts.size());
+        for (String ciphertext : ciphertexts) {
+            result.add(decrypt(algorithm, password, ciphertext, null));
+        }
+        return result;
+    }
 }
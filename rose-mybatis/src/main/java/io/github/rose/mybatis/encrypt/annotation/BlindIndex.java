@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.encrypt.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 为{@link FieldEncrypt}字段维护盲索引：写入时把明文的HMAC存入同一实体的{@link #target()}属性（对应表中的兄弟列），
+ * 查询时把该字段上的等值、IN以及（开启n-gram时）LIKE条件改写到索引列，加密字段的查询仍然可以走数据库索引
+ *
+ * <pre>
+ * &#64;FieldEncrypt(algorithm = Algorithm.AES)
+ * &#64;BlindIndex(target = "phoneIndex")
+ * private String phone;
+ *
+ * private String phoneIndex;
+ * </pre>
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface BlindIndex {
+
+    /**
+     * 存放盲索引的属性名，类型必须为String
+     */
+    String target();
+
+    /**
+     * n-gram长度。大于0时按n-gram分词，每个分词单独计算HMAC，支持LIKE查询，查询串不能短于该长度
+     */
+    int ngram() default 0;
+
+    /**
+     * 计算前是否规范化：去掉空白和连字符并转为小写，例如手机号和身份证号
+     */
+    boolean normalize() default true;
+}
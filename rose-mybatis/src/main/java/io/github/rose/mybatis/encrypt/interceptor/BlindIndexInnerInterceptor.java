@@ -0,0 +1,508 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.encrypt.interceptor;
+
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import io.github.rose.mybatis.encrypt.BlindIndexer;
+import io.github.rose.mybatis.encrypt.FieldSetProperty;
+import io.github.rose.mybatis.encrypt.annotation.BlindIndex;
+import io.github.rose.mybatis.encrypt.util.AlgorithmUtils;
+import io.github.rose.mybatis.encrypt.util.FieldSetPropertyHelper;
+import io.github.rose.mybatis.util.MyBatisUtils;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.LikeExpression;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.ParenthesedSelect;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * 盲索引查询改写：把查询条件中带{@link BlindIndex}的加密列改写为对应的盲索引列，参数值替换为明文的盲索引。
+ * <p>
+ * 支持WHERE中的 {@code col = ?}、{@code col IN (?, ...)}，开启n-gram时还支持 {@code col LIKE ?}，参数和字符串常量均可。
+ * 条件值须为明文；值为密文、null或者LIKE查询串无法使用索引时，绑定为空串，不会匹配任何数据。
+ * 改写方案按SQL缓存，同一SQL只解析一次。需要加在分页插件之前，使count查询同样走索引
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class BlindIndexInnerInterceptor implements InnerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(BlindIndexInnerInterceptor.class);
+
+    private static final String PARAMETER_PREFIX = "__blind_index_";
+
+    /**
+     * 定位参数时临时写入JdbcParameter的序号起点，避免与SQL中已有的 ?1 形式参数冲突
+     */
+    private static final int MARKER = 1_000_000;
+
+    private static final String MYSQL_ESCAPE_CHARACTER = "`";
+
+    private final BlindIndexer blindIndexer;
+
+    private final int cacheSize;
+
+    /**
+     * 改写方案依赖{@link #tables}，重建表信息时整体替换
+     */
+    private volatile ConcurrentLruCache<String, RewritePlan> plans;
+
+    /**
+     * 表名 -> 加密列 -> 盲索引列，均为小写
+     */
+    private volatile Map<String, Map<String, IndexColumn>> tables = Collections.emptyMap();
+
+    /**
+     * 构建{@link #tables}时各配置中的语句数
+     */
+    private final Map<Configuration, Integer> statementCounts = new ConcurrentHashMap<>();
+
+    public BlindIndexInnerInterceptor(BlindIndexer blindIndexer) {
+        this(blindIndexer, 1024);
+    }
+
+    public BlindIndexInnerInterceptor(BlindIndexer blindIndexer, int cacheSize) {
+        this.blindIndexer = blindIndexer;
+        this.cacheSize = cacheSize;
+        this.plans = new ConcurrentLruCache<>(cacheSize, this::plan);
+    }
+
+    @Override
+    public void beforeQuery(
+            Executor executor,
+            MappedStatement ms,
+            Object parameter,
+            RowBounds rowBounds,
+            ResultHandler resultHandler,
+            BoundSql boundSql) {
+        if (getTables(ms.getConfiguration()).isEmpty()) {
+            return;
+        }
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        RewritePlan plan = plans.get(mpBs.sql());
+        if (plan == RewritePlan.NONE) {
+            return;
+        }
+        mpBs.sql(plan.sql);
+        if (plan.indexes.length == 0) {
+            return;
+        }
+
+        // 映射列表可能被静态SQL共享，复制后再修改
+        List<ParameterMapping> mappings = new ArrayList<>(mpBs.parameterMappings());
+        Configuration configuration = ms.getConfiguration();
+        MetaObject metaObject = null;
+        for (int i = 0; i < plan.indexes.length; i++) {
+            int index = plan.indexes[i];
+            if (index >= mappings.size()) {
+                continue;
+            }
+            String property = mappings.get(index).getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(property);
+            }
+
+            String name = PARAMETER_PREFIX + index;
+            boundSql.setAdditionalParameter(name, index(value, plan.blindIndexes[i], plan.likes[i]));
+            mappings.set(index, new ParameterMapping.Builder(configuration, name, String.class).build());
+        }
+        mpBs.parameterMappings(mappings);
+    }
+
+    private String index(Object value, BlindIndex blindIndex, boolean like) {
+        if (!(value instanceof String) || AlgorithmUtils.isEncrypted((String) value)) {
+            return "";
+        }
+        String index = like
+                ? blindIndexer.likeIndex((String) value, blindIndex)
+                : blindIndexer.index((String) value, blindIndex);
+        return index == null ? "" : index;
+    }
+
+    /**
+     * 注册Mapper时会同时初始化表信息和注入语句，按语句数判断是否需要重建，避免每次查询都复制表信息列表。
+     * 重建后丢弃已缓存的改写方案
+     */
+    Map<String, Map<String, IndexColumn>> getTables(Configuration configuration) {
+        int statementCount = configuration.getMappedStatementNames().size();
+        Integer builtCount = statementCounts.get(configuration);
+        if (builtCount == null || builtCount != statementCount) {
+            synchronized (this) {
+                builtCount = statementCounts.get(configuration);
+                if (builtCount == null || builtCount != statementCount) {
+                    tables = buildTables(TableInfoHelper.getTableInfos());
+                    plans = new ConcurrentLruCache<>(cacheSize, this::plan);
+                    statementCounts.put(configuration, statementCount);
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static Map<String, Map<String, IndexColumn>> buildTables(List<TableInfo> tableInfos) {
+        Map<String, Map<String, IndexColumn>> result = new HashMap<>();
+        for (TableInfo tableInfo : tableInfos) {
+            Map<String, IndexColumn> columns = new HashMap<>();
+            for (FieldSetProperty fieldSetProperty :
+                    FieldSetPropertyHelper.getFieldSetPropertyList(tableInfo.getEntityType())) {
+                BlindIndex blindIndex = fieldSetProperty.getBlindIndex();
+                if (blindIndex == null) {
+                    continue;
+                }
+                String source = getColumn(tableInfo, fieldSetProperty.getFieldName());
+                String target = getColumn(tableInfo, blindIndex.target());
+                if (source != null && target != null) {
+                    columns.put(lower(source), new IndexColumn(target, blindIndex));
+                }
+            }
+            if (!columns.isEmpty()) {
+                result.put(lower(tableInfo.getTableName()), columns);
+            }
+        }
+        return result;
+    }
+
+    private static String getColumn(TableInfo tableInfo, String property) {
+        for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+            if (fieldInfo.getProperty().equals(property)) {
+                return fieldInfo.getColumn();
+            }
+        }
+        return null;
+    }
+
+    RewritePlan plan(String sql) {
+        Statement statement;
+        try {
+            statement = CCJSqlParserUtil.parse(sql);
+        } catch (JSQLParserException e) {
+            log.debug("Could not parse sql for blind index: {}", sql, e);
+            return RewritePlan.NONE;
+        }
+        if (!(statement instanceof Select)) {
+            return RewritePlan.NONE;
+        }
+
+        Rewriter rewriter = new Rewriter();
+        rewriter.select((Select) statement);
+        if (!rewriter.changed) {
+            return RewritePlan.NONE;
+        }
+
+        // 为参数临时写入序号，输出SQL后按出现顺序换算为参数映射的下标
+        List<JdbcParameter> parameters = rewriter.parameters;
+        for (int i = 0; i < parameters.size(); i++) {
+            parameters.get(i).setUseFixedIndex(true);
+            parameters.get(i).setIndex(MARKER + i);
+        }
+        int[] indexes = ordinals(statement.toString(), parameters.size());
+        for (JdbcParameter parameter : parameters) {
+            parameter.setUseFixedIndex(false);
+            parameter.setIndex(null);
+        }
+        return new RewritePlan(
+                statement.toString(),
+                indexes,
+                rewriter.blindIndexes.toArray(new BlindIndex[0]),
+                toArray(rewriter.likes));
+    }
+
+    /**
+     * 找出每个标记参数是SQL中的第几个参数，跳过引号中的内容
+     */
+    static int[] ordinals(String sql, int count) {
+        int[] indexes = new int[count];
+        Arrays.fill(indexes, Integer.MAX_VALUE);
+        int ordinal = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                int j = i + 1;
+                while (j < sql.length() && Character.isDigit(sql.charAt(j))) {
+                    j++;
+                }
+                if (j > i + 1 && j - i - 1 < 10) {
+                    int marker = Integer.parseInt(sql.substring(i + 1, j)) - MARKER;
+                    if (marker >= 0 && marker < count) {
+                        indexes[marker] = ordinal;
+                    }
+                }
+                ordinal++;
+                i = j - 1;
+            }
+        }
+        return indexes;
+    }
+
+    private static boolean[] toArray(List<Boolean> list) {
+        boolean[] array = new boolean[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    private static String lower(String name) {
+        if (name.startsWith(MYSQL_ESCAPE_CHARACTER) && name.endsWith(MYSQL_ESCAPE_CHARACTER)) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 遍历查询语句，改写WHERE中的加密列条件，并记录需要替换值的参数
+     */
+    private class Rewriter {
+
+        private final List<JdbcParameter> parameters = new ArrayList<>();
+
+        private final List<BlindIndex> blindIndexes = new ArrayList<>();
+
+        private final List<Boolean> likes = new ArrayList<>();
+
+        private boolean changed;
+
+        private void select(Select select) {
+            if (select instanceof PlainSelect) {
+                plainSelect((PlainSelect) select);
+            } else if (select instanceof SetOperationList) {
+                for (Select child : ((SetOperationList) select).getSelects()) {
+                    select(child);
+                }
+            } else if (select instanceof ParenthesedSelect) {
+                select(((ParenthesedSelect) select).getSelect());
+            }
+        }
+
+        private void plainSelect(PlainSelect plainSelect) {
+            Expression where = plainSelect.getWhere();
+            if (where == null) {
+                return;
+            }
+            Map<String, Map<String, IndexColumn>> scope = new HashMap<>();
+            addScope(scope, plainSelect.getFromItem());
+            if (plainSelect.getJoins() != null) {
+                for (Join join : plainSelect.getJoins()) {
+                    addScope(scope, join.getRightItem());
+                }
+            }
+            if (!scope.isEmpty()) {
+                where.accept(new ConditionVisitor(scope));
+            }
+        }
+
+        private void addScope(Map<String, Map<String, IndexColumn>> scope, FromItem fromItem) {
+            if (!(fromItem instanceof Table)) {
+                return;
+            }
+            Table table = (Table) fromItem;
+            Map<String, IndexColumn> columns = tables.get(lower(MyBatisUtils.getTableName(table)));
+            if (columns == null) {
+                return;
+            }
+            String qualifier = table.getAlias() != null ? table.getAlias().getName() : table.getName();
+            scope.put(lower(qualifier), columns);
+        }
+
+        private void addParameter(JdbcParameter parameter, BlindIndex blindIndex, boolean like) {
+            parameters.add(parameter);
+            blindIndexes.add(blindIndex);
+            likes.add(like);
+        }
+
+        private class ConditionVisitor extends ExpressionVisitorAdapter {
+
+            private final Map<String, Map<String, IndexColumn>> scope;
+
+            private ConditionVisitor(Map<String, Map<String, IndexColumn>> scope) {
+                this.scope = scope;
+            }
+
+            @Override
+            public void visit(EqualsTo expr) {
+                rewrite(expr, false);
+            }
+
+            @Override
+            public void visit(LikeExpression expr) {
+                rewrite(expr, true);
+            }
+
+            @Override
+            public void visit(InExpression expr) {
+                IndexColumn column = resolve(expr.getLeftExpression());
+                if (column == null || !(expr.getRightExpression() instanceof ExpressionList)) {
+                    return;
+                }
+                @SuppressWarnings("unchecked")
+                ExpressionList<Expression> values = (ExpressionList<Expression>) expr.getRightExpression();
+                for (Expression value : values) {
+                    if (!(value instanceof JdbcParameter) && !(value instanceof StringValue)) {
+                        return;
+                    }
+                }
+                for (int i = 0; i < values.size(); i++) {
+                    int index = i;
+                    rewriteValue(values.get(i), column, false, v -> values.set(index, v));
+                }
+                expr.setLeftExpression(column.toColumn((Column) expr.getLeftExpression()));
+                changed = true;
+            }
+
+            private void rewrite(BinaryExpression expr, boolean like) {
+                IndexColumn column = resolve(expr.getLeftExpression());
+                if (column != null && (!like || column.blindIndex.ngram() > 0)) {
+                    if (rewriteValue(expr.getRightExpression(), column, like, expr::setRightExpression)) {
+                        expr.setLeftExpression(column.toColumn((Column) expr.getLeftExpression()));
+                        changed = true;
+                    }
+                    return;
+                }
+                if (like) {
+                    return;
+                }
+                column = resolve(expr.getRightExpression());
+                if (column != null && rewriteValue(expr.getLeftExpression(), column, false, expr::setLeftExpression)) {
+                    expr.setRightExpression(column.toColumn((Column) expr.getRightExpression()));
+                    changed = true;
+                }
+            }
+
+            private boolean rewriteValue(
+                    Expression value, IndexColumn column, boolean like, Consumer<Expression> replacement) {
+                if (value instanceof JdbcParameter) {
+                    addParameter((JdbcParameter) value, column.blindIndex, like);
+                    return true;
+                }
+                if (value instanceof StringValue) {
+                    String index = index(((StringValue) value).getValue(), column.blindIndex, like);
+                    replacement.accept(new StringValue(index));
+                    return true;
+                }
+                return false;
+            }
+
+            private IndexColumn resolve(Expression expression) {
+                if (!(expression instanceof Column)) {
+                    return null;
+                }
+                Column column = (Column) expression;
+                String name = lower(column.getColumnName());
+                Table table = column.getTable();
+                if (table != null && table.getName() != null) {
+                    Map<String, IndexColumn> columns = scope.get(lower(table.getName()));
+                    return columns == null ? null : columns.get(name);
+                }
+                IndexColumn found = null;
+                for (Map<String, IndexColumn> columns : scope.values()) {
+                    IndexColumn indexColumn = columns.get(name);
+                    if (indexColumn != null) {
+                        if (found != null) {
+                            return null;
+                        }
+                        found = indexColumn;
+                    }
+                }
+                return found;
+            }
+        }
+    }
+
+    static final class IndexColumn {
+
+        private final String column;
+
+        private final BlindIndex blindIndex;
+
+        private IndexColumn(String column, BlindIndex blindIndex) {
+            this.column = column;
+            this.blindIndex = blindIndex;
+        }
+
+        private Column toColumn(Column source) {
+            return new Column(source.getTable(), column);
+        }
+    }
+
+    static final class RewritePlan {
+
+        static final RewritePlan NONE = new RewritePlan(null, new int[0], new BlindIndex[0], new boolean[0]);
+
+        final String sql;
+
+        final int[] indexes;
+
+        final BlindIndex[] blindIndexes;
+
+        final boolean[] likes;
+
+        private RewritePlan(String sql, int[] indexes, BlindIndex[] blindIndexes, boolean[] likes) {
+            this.sql = sql;
+            this.indexes = indexes;
+            this.blindIndexes = blindIndexes;
+            this.likes = likes;
+        }
+    }
+}
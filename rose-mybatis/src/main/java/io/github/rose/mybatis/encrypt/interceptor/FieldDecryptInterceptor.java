@@ -27,6 +27,7 @@ import java.util.Properties;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.plugin.*;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,11 +39,17 @@ import org.slf4j.LoggerFactory;
     @Signature(
             type = ResultSetHandler.class,
             method = "handleResultSets",
+            args = {Statement.class}),
+    @Signature(
+            type = ResultSetHandler.class,
+            method = "handleCursorResultSets",
             args = {Statement.class})
 })
 public class FieldDecryptInterceptor implements Interceptor {
     private static final Logger log = LoggerFactory.getLogger(FieldDecryptInterceptor.class);
 
+    private static final String CURSOR_METHOD = "handleCursorResultSets";
+
     private final IEncryptor encryptor;
 
     private final IFieldBinder fieldBinder;
@@ -58,19 +65,24 @@ public class FieldDecryptInterceptor implements Interceptor {
     }
 
     public Object intercept(Invocation invocation) throws Throwable {
-        return InterceptorHelper.decrypt(invocation, (metaObject, fieldSetProperty) -> {
-            decrypt(this.encryptor, this.fieldBinder, this.password, metaObject, fieldSetProperty);
-        });
+        FieldSetPropertyHelper.FieldConsumer consumer = (configuration, object, fieldSetProperty) -> {
+            decrypt(this.encryptor, this.fieldBinder, this.password, configuration, object, fieldSetProperty);
+        };
+        // 游标查询在读取每一行时解密
+        if (CURSOR_METHOD.equals(invocation.getMethod().getName())) {
+            return InterceptorHelper.decryptCursor(invocation, consumer);
+        }
+        return InterceptorHelper.decrypt(invocation, consumer);
     }
 
     public void decrypt(
             IEncryptor encryptor,
             IFieldBinder fieldBinder,
             String password,
-            MetaObject metaObject,
+            Configuration configuration,
+            Object object,
             FieldSetProperty fieldSetProperty) {
-        String fieldName = fieldSetProperty.getFieldName();
-        Object value = metaObject.getValue(fieldName);
+        Object value = fieldSetProperty.getValue(object);
         if (null != value) {
             if (null != encryptor && value instanceof String) {
                 try {
@@ -87,10 +99,12 @@ public class FieldDecryptInterceptor implements Interceptor {
             if (null != fieldBinder) {
                 FieldBind fieldBind = fieldSetProperty.getFieldBind();
                 if (null != fieldBind) {
+                    // 绑定器仍基于MetaObject，只在存在@FieldBind字段时才创建
+                    MetaObject metaObject = configuration.newMetaObject(object);
                     fieldBinder.setMetaObject(fieldBind, value, metaObject);
                 }
             }
-            metaObject.setValue(fieldName, value);
+            fieldSetProperty.setValue(object, value);
         }
     }
 
@@ -15,6 +15,7 @@
  */
 package io.github.rose.mybatis.encrypt.interceptor;
 
+import io.github.rose.mybatis.encrypt.BlindIndexer;
 import io.github.rose.mybatis.encrypt.IEncryptor;
 import io.github.rose.mybatis.encrypt.util.InterceptorHelper;
 import org.apache.ibatis.cache.CacheKey;
@@ -49,6 +50,10 @@ import org.apache.ibatis.session.RowBounds;
                 CacheKey.class,
                 BoundSql.class
             }),
+    @Signature(
+            type = Executor.class,
+            method = "queryCursor",
+            args = {MappedStatement.class, Object.class, RowBounds.class}),
 })
 public class FieldEncryptInterceptor implements Interceptor {
 
@@ -56,9 +61,16 @@ public class FieldEncryptInterceptor implements Interceptor {
 
     private final String password;
 
+    private final BlindIndexer blindIndexer;
+
     public FieldEncryptInterceptor(IEncryptor encryptor, String password) {
+        this(encryptor, password, null);
+    }
+
+    public FieldEncryptInterceptor(IEncryptor encryptor, String password, BlindIndexer blindIndexer) {
         this.encryptor = encryptor;
         this.password = password;
+        this.blindIndexer = blindIndexer;
     }
 
     public IEncryptor getEncryptor() {
@@ -69,8 +81,12 @@ public class FieldEncryptInterceptor implements Interceptor {
         return password;
     }
 
+    public BlindIndexer getBlindIndexer() {
+        return blindIndexer;
+    }
+
     public Object intercept(Invocation invocation) throws Throwable {
-        return InterceptorHelper.encrypt(invocation, encryptor, password);
+        return InterceptorHelper.encrypt(invocation, encryptor, password, blindIndexer);
     }
 
     public Object plugin(Object var1) {
@@ -15,11 +15,8 @@
  */
 package io.github.rose.mybatis.encrypt.util;
 
-import com.baomidou.mybatisplus.core.toolkit.AES;
-import java.nio.charset.Charset;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -29,23 +26,55 @@ import java.util.function.Function;
 public class AlgorithmUtils {
 
     static final String PREFIX = "{@##@}";
-    static char[] CHARS = new char[] {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
 
     private AlgorithmUtils() {}
 
+    /**
+     * 判断值是否已经过{@link #resolve}加密
+     *
+     * @param value 值
+     * @return 是否为密文
+     */
+    public static boolean isEncrypted(String value) {
+        return value != null && value.startsWith(PREFIX);
+    }
+
     public static String resolve(Algorithm algorithmEnum, String password, boolean isEncrypt, String plaintext) {
+        return resolver(algorithmEnum, password, isEncrypt).apply(plaintext);
+    }
+
+    /**
+     * 批量加解密，算法只解析一次
+     *
+     * @param algorithmEnum 算法
+     * @param password      密码
+     * @param isEncrypt     是否加密
+     * @param plaintexts    待处理的值，null值原样保留
+     * @return 处理结果，顺序与输入一致
+     */
+    public static List<String> resolveAll(
+            Algorithm algorithmEnum, String password, boolean isEncrypt, List<String> plaintexts) {
+        Function<String, String> resolver = resolver(algorithmEnum, password, isEncrypt);
+        List<String> result = new ArrayList<>(plaintexts.size());
+        for (String plaintext : plaintexts) {
+            result.add(resolver.apply(plaintext));
+        }
+        return result;
+    }
+
+    private static Function<String, String> resolver(Algorithm algorithmEnum, String password, boolean isEncrypt) {
         if (algorithmEnum == Algorithm.MD5_32) {
-            return isEncrypt ? encrypt(plaintext, AlgorithmUtils::md5With32) : plaintext;
+            return isEncrypt ? s -> encrypt(s, CryptoProvider::md5With32) : Function.identity();
         } else if (algorithmEnum == Algorithm.MD5_16) {
-            return isEncrypt ? encrypt(plaintext, AlgorithmUtils::md5With16) : plaintext;
+            return isEncrypt ? s -> encrypt(s, CryptoProvider::md5With16) : Function.identity();
         } else if (algorithmEnum == Algorithm.AES) {
             return isEncrypt
-                    ? encrypt(plaintext, s -> AES.encrypt(s, password))
-                    : decrypt(plaintext, s -> AES.decrypt(s, password));
+                    ? s -> encrypt(s, v -> CryptoProvider.aesEncrypt(v, password))
+                    : s -> decrypt(s, v -> CryptoProvider.aesDecrypt(v, password));
         } else {
             return isEncrypt
-                    ? encrypt(plaintext, AlgorithmUtils::base64Encode)
-                    : decrypt(plaintext, AlgorithmUtils::base64Decode);
+                    ? s -> encrypt(s, CryptoProvider::base64Encode)
+                    : s -> decrypt(s, CryptoProvider::base64Decode);
         }
     }
 
@@ -58,35 +87,4 @@ public class AlgorithmUtils {
                 ? function.apply(plaintext.substring(PREFIX.length()))
                 : plaintext;
     }
-
-    private static String md5With32(String data) {
-        MessageDigest messageDigest = null;
-        try {
-            messageDigest = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5算法不存在");
-        }
-
-        messageDigest.update(data.getBytes(Charset.forName("UTF-8")));
-        byte[] digest = messageDigest.digest();
-
-        StringBuilder stringBuilder = new StringBuilder(digest.length * 2);
-        for (int var2 = 0; var2 < digest.length; ++var2) {
-            stringBuilder.append(CHARS[(digest[var2] & 240) >>> 4]);
-            stringBuilder.append(CHARS[digest[var2] & 15]);
-        }
-        return stringBuilder.toString();
-    }
-
-    private static String md5With16(String data) {
-        return md5With32(data).substring(8, 24);
-    }
-
-    private static String base64Encode(String data) {
-        return Base64.getEncoder().encodeToString(data.getBytes(Charset.forName("UTF-8")));
-    }
-
-    private static String base64Decode(String data) {
-        return new String(Base64.getDecoder().decode(data), Charset.forName("UTF-8"));
-    }
 }
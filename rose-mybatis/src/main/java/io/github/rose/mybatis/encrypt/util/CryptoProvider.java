@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.encrypt.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 加解密算法实现。{@link MessageDigest}和{@link Cipher}按线程缓存复用，AES密钥按密码只解析一次，
+ * AES密文格式与MyBatis-Plus {@code AES}一致（AES/CBC/PKCS5Padding，密码同时作为IV），已有数据无需迁移
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public final class CryptoProvider {
+
+    private static final String AES = "AES";
+
+    private static final String AES_CBC_CIPHER = "AES/CBC/PKCS5Padding";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("MD5算法不存在");
+        }
+    });
+
+    private static final Map<String, AesKey> AES_KEYS = new ConcurrentHashMap<>();
+
+    private CryptoProvider() {}
+
+    public static String md5With32(String data) {
+        MessageDigest messageDigest = MD5.get();
+        byte[] digest = messageDigest.digest(data.getBytes(StandardCharsets.UTF_8));
+        char[] chars = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i * 2] = HEX[(digest[i] & 0xF0) >>> 4];
+            chars[i * 2 + 1] = HEX[digest[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+
+    public static String md5With16(String data) {
+        return md5With32(data).substring(8, 24);
+    }
+
+    public static String base64Encode(String data) {
+        return Base64.getEncoder().encodeToString(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String base64Decode(String data) {
+        return new String(Base64.getDecoder().decode(data), StandardCharsets.UTF_8);
+    }
+
+    public static String aesEncrypt(String data, String password) {
+        return aesKey(password).encrypt(data);
+    }
+
+    public static String aesDecrypt(String data, String password) {
+        return aesKey(password).decrypt(data);
+    }
+
+    private static AesKey aesKey(String password) {
+        AesKey aesKey = AES_KEYS.get(password);
+        if (aesKey == null) {
+            aesKey = AES_KEYS.computeIfAbsent(password, AesKey::new);
+        }
+        return aesKey;
+    }
+
+    /**
+     * 按密码解析的AES密钥，每个线程持有各自已初始化的加密、解密{@link Cipher}
+     */
+    private static final class AesKey {
+
+        private final ThreadLocal<Cipher> encryptCipher;
+
+        private final ThreadLocal<Cipher> decryptCipher;
+
+        private AesKey(String password) {
+            byte[] key = password.getBytes(StandardCharsets.UTF_8);
+            if (key.length != 16) {
+                throw new RuntimeException("Invalid AES key length (must be 16 bytes)");
+            }
+            SecretKeySpec secretKeySpec = new SecretKeySpec(key, AES);
+            IvParameterSpec iv = new IvParameterSpec(key);
+            this.encryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE, secretKeySpec, iv));
+            this.decryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE, secretKeySpec, iv));
+        }
+
+        String encrypt(String data) {
+            byte[] bytes = doFinal(encryptCipher, data.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+
+        String decrypt(String data) {
+            byte[] bytes = doFinal(decryptCipher, Base64.getDecoder().decode(data));
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * doFinal结束后Cipher回到init时的状态，可直接复用；出错时丢弃当前线程的实例，避免状态不确定
+         */
+        private static byte[] doFinal(ThreadLocal<Cipher> cipher, byte[] input) {
+            try {
+                return cipher.get().doFinal(input);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                cipher.remove();
+                throw new RuntimeException(e);
+            }
+        }
+
+        private static Cipher newCipher(int mode, SecretKeySpec secretKeySpec, IvParameterSpec iv) {
+            try {
+                Cipher cipher = Cipher.getInstance(AES_CBC_CIPHER);
+                cipher.init(mode, secretKeySpec, iv);
+                return cipher;
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
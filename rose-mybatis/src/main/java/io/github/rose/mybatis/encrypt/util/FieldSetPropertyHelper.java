@@ -15,32 +15,49 @@
  */
 package io.github.rose.mybatis.encrypt.util;
 
-import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import io.github.rose.core.reflect.BeanAccessor;
 import io.github.rose.mybatis.encrypt.FieldSetProperty;
+import io.github.rose.mybatis.encrypt.annotation.BlindIndex;
 import io.github.rose.mybatis.encrypt.annotation.FieldBind;
 import io.github.rose.mybatis.encrypt.annotation.FieldEncrypt;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import org.apache.commons.lang3.reflect.FieldUtils;
-import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.session.Configuration;
+import org.springframework.util.ReflectionUtils;
 
 /**
+ * 按类缓存加解密字段的访问计划：每个带{@link FieldEncrypt}或{@link FieldBind}注解的字段在首次出现时编译一次getter/setter，
+ * 之后逐行读写不再经过MyBatis {@code MetaObject}的反射路径
+ *
  * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
  * @since 0.0.1
  */
 public class FieldSetPropertyHelper {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
     private static boolean hasFieldEncrypt = false;
 
     private static boolean hasFieldBind = false;
 
-    private static Map<Class<?>, List<FieldSetProperty>> clazzMap;
+    private static Map<Class<?>, List<FieldSetProperty>> clazzMap = new ConcurrentHashMap<>();
+
+    private static Set<Class<?>> excludeClazzSet = new CopyOnWriteArraySet<>();
 
-    private static Set<Class<?>> excludeClazzSet;
+    private static Set<String> statementSet = ConcurrentHashMap.newKeySet();
+
+    private static Set<String> excludeStatementSet = ConcurrentHashMap.newKeySet();
 
     private FieldSetPropertyHelper() {}
 
@@ -49,11 +66,60 @@ public class FieldSetPropertyHelper {
         hasFieldBind = var2;
         clazzMap = new ConcurrentHashMap<>();
         excludeClazzSet = new CopyOnWriteArraySet<>();
+        statementSet = ConcurrentHashMap.newKeySet();
+        excludeStatementSet = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * 判断查询结果是否可能包含加解密字段，结果按{@link MappedStatement#getId()}缓存，不包含的语句直接跳过逐行处理
+     *
+     * @param mappedStatement 查询语句
+     * @return 结果类型中没有加解密字段时返回true
+     */
+    public static boolean isExcluded(MappedStatement mappedStatement) {
+        String id = mappedStatement.getId();
+        if (excludeStatementSet.contains(id)) {
+            return true;
+        }
+        if (statementSet.contains(id)) {
+            return false;
+        }
+
+        boolean excluded = true;
+        for (ResultMap resultMap : mappedStatement.getResultMaps()) {
+            if (!isExcluded(resultMap)) {
+                excluded = false;
+                break;
+            }
+        }
+        if (excluded) {
+            excludeStatementSet.add(id);
+        } else {
+            statementSet.add(id);
+        }
+        return excluded;
+    }
+
+    /**
+     * 带鉴别器或者结果类型为接口、抽象类时，实际行类型无法预知，保守地按包含处理
+     */
+    private static boolean isExcluded(ResultMap resultMap) {
+        Class<?> type = resultMap.getType();
+        if (Map.class.isAssignableFrom(type) || type.isPrimitive() || type.isArray()) {
+            return true;
+        }
+        if (resultMap.getDiscriminator() != null
+                || type == Object.class
+                || type.isInterface()
+                || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        return getFieldSetPropertyList(type).isEmpty();
     }
 
     public static List<FieldSetProperty> getFieldSetPropertyList(Class<?> clazz) {
         if (excludeClazzSet.contains(clazz)) {
-            return new ArrayList<>();
+            return Collections.emptyList();
         }
 
         List<FieldSetProperty> fieldSetPropertyList = clazzMap.get(clazz);
@@ -63,52 +129,133 @@ public class FieldSetPropertyHelper {
 
         if (clazz.isAssignableFrom(HashMap.class)) {
             excludeClazzSet.add(clazz);
-        } else {
-            List<FieldSetProperty> finalFieldSetPropertyList = new ArrayList<>();
-
-            for (Field field : FieldUtils.getAllFields(clazz)) {
-                FieldEncrypt fieldEncrypt = null;
-                if (hasFieldEncrypt) {
-                    fieldEncrypt = field.getAnnotation(FieldEncrypt.class);
-                    if (null != fieldEncrypt && !field.getType().isAssignableFrom(String.class)) {
-                        throw new RuntimeException("annotation `@FieldEncrypt` only string types are supported.");
-                    }
-                }
+            return Collections.emptyList();
+        }
 
-                FieldBind fieldBind = null;
-                if (hasFieldBind) {
-                    fieldBind = field.getAnnotation(FieldBind.class);
-                }
-                if (fieldBind != null || fieldEncrypt != null) {
-                    finalFieldSetPropertyList.add(new FieldSetProperty(field.getName(), fieldEncrypt, fieldBind));
+        List<FieldSetProperty> finalFieldSetPropertyList = new ArrayList<>();
+        BeanAccessor<?> beanAccessor = null;
+        for (Field field : FieldUtils.getAllFields(clazz)) {
+            FieldEncrypt fieldEncrypt = null;
+            if (hasFieldEncrypt) {
+                fieldEncrypt = field.getAnnotation(FieldEncrypt.class);
+                if (null != fieldEncrypt && !field.getType().isAssignableFrom(String.class)) {
+                    throw new RuntimeException("annotation `@FieldEncrypt` only string types are supported.");
                 }
             }
 
-            fieldSetPropertyList = finalFieldSetPropertyList;
-
-            if (fieldSetPropertyList.isEmpty()) {
-                excludeClazzSet.add(clazz);
-            } else {
-                clazzMap.put(clazz, fieldSetPropertyList);
+            FieldBind fieldBind = null;
+            if (hasFieldBind) {
+                fieldBind = field.getAnnotation(FieldBind.class);
+            }
+            if (fieldBind != null || fieldEncrypt != null) {
+                if (beanAccessor == null) {
+                    beanAccessor = BeanAccessor.of(clazz);
+                }
+                FieldSetProperty fieldSetProperty = new FieldSetProperty(
+                        field.getName(),
+                        fieldEncrypt,
+                        fieldBind,
+                        compileGetter(beanAccessor, field),
+                        compileSetter(beanAccessor, field));
+                BlindIndex blindIndex = fieldEncrypt != null ? field.getAnnotation(BlindIndex.class) : null;
+                if (blindIndex != null) {
+                    Field target = FieldUtils.getField(clazz, blindIndex.target(), true);
+                    if (target == null || !target.getType().isAssignableFrom(String.class)) {
+                        throw new RuntimeException("annotation `@BlindIndex` target `" + blindIndex.target()
+                                + "` must be a string field of " + clazz.getName());
+                    }
+                    fieldSetProperty.setBlindIndex(blindIndex);
+                    fieldSetProperty.setBlindIndexSetter(compileSetter(beanAccessor, target));
+                }
+                finalFieldSetPropertyList.add(fieldSetProperty);
             }
         }
 
+        if (finalFieldSetPropertyList.isEmpty()) {
+            excludeClazzSet.add(clazz);
+            return Collections.emptyList();
+        }
+        fieldSetPropertyList = Collections.unmodifiableList(finalFieldSetPropertyList);
+        clazzMap.put(clazz, fieldSetPropertyList);
         return fieldSetPropertyList;
     }
 
-    public static boolean foreachValue(
-            Configuration configuration, Object value, BiConsumer<MetaObject, FieldSetProperty> consumer) {
+    /**
+     * 依次处理对象上的加解密字段。字段通常只有两三个，串行处理即可，不再为单行数据使用并行流
+     *
+     * @param configuration MyBatis配置
+     * @param value         实体对象
+     * @param consumer      字段处理函数
+     * @return 对象是否包含加解密字段
+     */
+    public static boolean foreachValue(Configuration configuration, Object value, FieldConsumer consumer) {
         if (value == null) {
             return Boolean.FALSE;
         }
         List<FieldSetProperty> fieldSetPropertyList = getFieldSetPropertyList(value.getClass());
-        if (!CollectionUtils.isEmpty(fieldSetPropertyList)) {
-            MetaObject metaObject = configuration.newMetaObject(value);
-            fieldSetPropertyList.parallelStream()
-                    .forEach(fieldSetProperty -> consumer.accept(metaObject, fieldSetProperty));
-            return Boolean.TRUE;
-        } else {
+        if (fieldSetPropertyList.isEmpty()) {
             return Boolean.FALSE;
         }
+        for (int i = 0, size = fieldSetPropertyList.size(); i < size; i++) {
+            consumer.accept(configuration, value, fieldSetPropertyList.get(i));
+        }
+        return Boolean.TRUE;
+    }
+
+    /**
+     * 优先使用编译后的getter方法，没有getter时直接读取字段，与{@code MetaObject}的查找顺序一致
+     */
+    private static Function<Object, Object> compileGetter(BeanAccessor<?> beanAccessor, Field field) {
+        Function<Object, Object> getter = beanAccessor.getter(field.getName());
+        if (getter != null) {
+            return getter;
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflectGetter(makeAccessible(field))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return object -> {
+                try {
+                    return handle.invokeExact(object);
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static BiConsumer<Object, Object> compileSetter(BeanAccessor<?> beanAccessor, Field field) {
+        BiConsumer<Object, Object> setter = beanAccessor.setter(field.getName());
+        if (setter != null) {
+            return setter;
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflectSetter(makeAccessible(field))
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (object, value) -> {
+                try {
+                    handle.invokeExact(object, value);
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Field makeAccessible(Field field) {
+        ReflectionUtils.makeAccessible(field);
+        return field;
+    }
+
+    /**
+     * 加解密字段处理函数
+     */
+    @FunctionalInterface
+    public interface FieldConsumer {
+
+        void accept(Configuration configuration, Object value, FieldSetProperty fieldSetProperty);
     }
 }
@@ -16,18 +16,23 @@
 package io.github.rose.mybatis.encrypt.util;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import io.github.rose.mybatis.encrypt.FieldSetProperty;
+import io.github.rose.mybatis.encrypt.BlindIndexer;
 import io.github.rose.mybatis.encrypt.IEncryptor;
+import io.github.rose.mybatis.encrypt.annotation.BlindIndex;
 import io.github.rose.mybatis.encrypt.annotation.FieldEncrypt;
+import io.github.rose.mybatis.extension.cursor.CursorDecorator;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.*;
-import java.util.function.BiConsumer;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.plugin.Invocation;
-import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,11 +45,29 @@ import org.springframework.util.ReflectionUtils;
 public class InterceptorHelper {
     private static final Logger log = LoggerFactory.getLogger(InterceptorHelper.class);
 
-    private static Map<Class<? extends IEncryptor>, IEncryptor> encryptorMap;
+    private static final MethodHandle MAPPED_STATEMENT_GETTER = mappedStatementGetter();
+
+    private static final Map<Class<? extends IEncryptor>, IEncryptor> ENCRYPTORS = new ConcurrentHashMap<>();
 
     private InterceptorHelper() {}
 
     public static Object encrypt(Invocation invocation, IEncryptor encryptor, String password) throws Throwable {
+        return encrypt(invocation, encryptor, password, null);
+    }
+
+    /**
+     * 加密参数中的实体字段，并为带{@link BlindIndex}的字段写入盲索引。查询时带盲索引的字段保持明文，
+     * 由{@code BlindIndexInnerInterceptor}把条件改写为盲索引列
+     *
+     * @param invocation   调用
+     * @param encryptor    加密器
+     * @param password     密码
+     * @param blindIndexer 盲索引计算器，为null时不处理盲索引
+     * @return 执行结果
+     */
+    public static Object encrypt(
+            Invocation invocation, IEncryptor encryptor, String password, BlindIndexer blindIndexer)
+            throws Throwable {
         if (encryptor == null || StringUtils.isBlank(password)) {
             return invocation.proceed();
         }
@@ -62,6 +85,7 @@ public class InterceptorHelper {
         }
 
         Configuration configuration = mappedStatement.getConfiguration();
+        boolean query = SqlCommandType.SELECT == sqlCommandType;
         if (paramMap instanceof Map) {
             for (Map.Entry<?, ?> entry : ((Map<?, ?>) paramMap).entrySet()) {
                 if (((String) entry.getKey()).startsWith("param") || entry.getValue() == null) {
@@ -70,16 +94,16 @@ public class InterceptorHelper {
 
                 if (entry.getValue() instanceof ArrayList) {
                     for (Object var : (ArrayList) entry.getValue()) {
-                        encryptValue(configuration, encryptor, password, var);
+                        encryptValue(configuration, encryptor, password, blindIndexer, query, var);
                     }
                 } else if (entry.getValue() instanceof QueryWrapper) {
                     Object entity = ((QueryWrapper<?>) entry.getValue()).getEntity();
-                    encryptValue(configuration, encryptor, password, entity);
+                    encryptValue(configuration, encryptor, password, blindIndexer, query, entity);
                 }
-                encryptValue(configuration, encryptor, password, entry.getValue());
+                encryptValue(configuration, encryptor, password, blindIndexer, query, entry.getValue());
             }
         } else {
-            encryptValue(configuration, encryptor, password, paramMap);
+            encryptValue(configuration, encryptor, password, blindIndexer, query, paramMap);
         }
 
         return invocation.proceed();
@@ -87,18 +111,38 @@ public class InterceptorHelper {
 
     public static boolean encryptValue(
             Configuration configuration, IEncryptor encryptor, String password, Object object) {
+        return encryptValue(configuration, encryptor, password, null, false, object);
+    }
+
+    public static boolean encryptValue(
+            Configuration configuration,
+            IEncryptor encryptor,
+            String password,
+            BlindIndexer blindIndexer,
+            boolean query,
+            Object object) {
         if (object == null) {
             return false;
         }
-        return FieldSetPropertyHelper.foreachValue(configuration, object, (metaObject, fieldSetProperty) -> {
+        return FieldSetPropertyHelper.foreachValue(configuration, object, (config, value, fieldSetProperty) -> {
             FieldEncrypt fieldEncrypt = fieldSetProperty.getFieldEncrypt();
             if (null != fieldEncrypt) {
-                Object objectValue = metaObject.getValue(fieldSetProperty.getFieldName());
+                Object objectValue = fieldSetProperty.getValue(value);
                 if (null != objectValue) {
+                    BlindIndex blindIndex = fieldSetProperty.getBlindIndex();
+                    if (blindIndexer != null && blindIndex != null) {
+                        if (query) {
+                            return;
+                        }
+                        if (!AlgorithmUtils.isEncrypted((String) objectValue)) {
+                            fieldSetProperty.setBlindIndexValue(
+                                    value, blindIndexer.index((String) objectValue, blindIndex));
+                        }
+                    }
                     try {
-                        String value = getEncryptor(encryptor, fieldEncrypt.encryptor())
+                        String encrypted = getEncryptor(encryptor, fieldEncrypt.encryptor())
                                 .encrypt(fieldEncrypt.algorithm(), password, (String) objectValue, null);
-                        metaObject.setValue(fieldSetProperty.getFieldName(), value);
+                        fieldSetProperty.setValue(value, encrypted);
                     } catch (Exception e) {
                         log.error("field encrypt: {}", e.getMessage());
                     }
@@ -107,42 +151,99 @@ public class InterceptorHelper {
         });
     }
 
+    /**
+     * 获取字段使用的加密器，自定义加密器按类型只实例化一次
+     *
+     * @param encryptor       默认加密器
+     * @param customEncryptor 注解指定的加密器类型
+     * @return 加密器
+     */
     public static IEncryptor getEncryptor(IEncryptor encryptor, Class<? extends IEncryptor> customEncryptor) {
-        IEncryptor result = encryptor;
-        if (IEncryptor.class != customEncryptor) {
-            if (null == encryptorMap) {
-                encryptorMap = new HashMap<>();
-            }
-
-            try {
-                result = encryptorMap.putIfAbsent(customEncryptor, customEncryptor.newInstance());
-            } catch (Exception var4) {
-                log.error("fieldEncrypt encryptor newInstance error", var4);
-            }
+        if (IEncryptor.class == customEncryptor) {
+            return encryptor;
+        }
+        IEncryptor result = ENCRYPTORS.get(customEncryptor);
+        if (result == null) {
+            result = ENCRYPTORS.computeIfAbsent(customEncryptor, InterceptorHelper::newEncryptor);
         }
         return result;
     }
 
-    public static Object decrypt(Invocation invocation, BiConsumer<MetaObject, FieldSetProperty> consumer)
+    private static IEncryptor newEncryptor(Class<? extends IEncryptor> encryptorClass) {
+        try {
+            return encryptorClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            log.error("fieldEncrypt encryptor newInstance error", e);
+            throw new IllegalStateException("Could not instantiate encryptor " + encryptorClass.getName(), e);
+        }
+    }
+
+    public static Object decrypt(Invocation invocation, FieldSetPropertyHelper.FieldConsumer consumer)
             throws Throwable {
         List<?> result = (List<?>) invocation.proceed();
         if (result.isEmpty()) {
             return result;
-        } else {
-            DefaultResultSetHandler defaultResultSetHandler = (DefaultResultSetHandler) invocation.getTarget();
-            Field field = defaultResultSetHandler.getClass().getDeclaredField("mappedStatement");
-            ReflectionUtils.makeAccessible(field);
-            MappedStatement mappedStatement = (MappedStatement) field.get(defaultResultSetHandler);
-            Configuration configuration = mappedStatement.getConfiguration();
-            Iterator<?> iterator = result.iterator();
-
-            while (iterator.hasNext()) {
-                Object value = iterator.next();
-                if (null != value && !FieldSetPropertyHelper.foreachValue(configuration, value, consumer)) {
-                    break;
+        }
+
+        MappedStatement mappedStatement = getMappedStatement((DefaultResultSetHandler) invocation.getTarget());
+        if (FieldSetPropertyHelper.isExcluded(mappedStatement)) {
+            return result;
+        }
+
+        // 不同行的类型可能不同（鉴别器、多结果集），需要处理全部行
+        Configuration configuration = mappedStatement.getConfiguration();
+        for (Object value : result) {
+            if (value instanceof List) {
+                for (Object element : (List<?>) value) {
+                    FieldSetPropertyHelper.foreachValue(configuration, element, consumer);
                 }
+            } else {
+                FieldSetPropertyHelper.foreachValue(configuration, value, consumer);
             }
-            return result;
+        }
+        return result;
+    }
+
+    /**
+     * 游标查询的结果在读取时逐行解密，不会先读入全部结果
+     *
+     * @param invocation 调用
+     * @param consumer   字段处理
+     * @return 逐行解密的游标
+     */
+    public static Object decryptCursor(Invocation invocation, FieldSetPropertyHelper.FieldConsumer consumer)
+            throws Throwable {
+        Cursor<?> cursor = (Cursor<?>) invocation.proceed();
+        MappedStatement mappedStatement = getMappedStatement((DefaultResultSetHandler) invocation.getTarget());
+        if (FieldSetPropertyHelper.isExcluded(mappedStatement)) {
+            return cursor;
+        }
+        return decorate(cursor, mappedStatement.getConfiguration(), consumer);
+    }
+
+    private static <T> Cursor<T> decorate(
+            Cursor<T> cursor, Configuration configuration, FieldSetPropertyHelper.FieldConsumer consumer) {
+        return new CursorDecorator<>(
+                cursor, value -> FieldSetPropertyHelper.foreachValue(configuration, value, consumer), null);
+    }
+
+    private static MappedStatement getMappedStatement(DefaultResultSetHandler resultSetHandler) throws Throwable {
+        return (MappedStatement) MAPPED_STATEMENT_GETTER.invokeExact(resultSetHandler);
+    }
+
+    private static MethodHandle mappedStatementGetter() {
+        Field field = ReflectionUtils.findField(DefaultResultSetHandler.class, "mappedStatement");
+        if (field == null) {
+            throw new IllegalStateException(
+                    "Could not find field 'mappedStatement' on " + DefaultResultSetHandler.class.getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        try {
+            return MethodHandles.lookup()
+                    .unreflectGetter(field)
+                    .asType(MethodType.methodType(MappedStatement.class, DefaultResultSetHandler.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.cursor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import org.apache.ibatis.cursor.Cursor;
+
+/**
+ * 包装 {@link Cursor}：每读出一行执行一次处理，关闭时释放关联的资源
+ * <p>
+ * 读完最后一行时自动关闭，遍历完的游标不需要调用方关闭也会释放连接
+ *
+ * @param <T> 行类型
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class CursorDecorator<T> implements Cursor<T> {
+
+    private final Cursor<T> delegate;
+
+    private final Consumer<? super T> action;
+
+    private final Runnable onClose;
+
+    private boolean closed;
+
+    /**
+     * @param delegate 原游标
+     * @param action   每行的处理，可为 null
+     * @param onClose  关闭游标后执行，可为 null
+     */
+    public CursorDecorator(Cursor<T> delegate, Consumer<? super T> action, Runnable onClose) {
+        this.delegate = delegate;
+        this.action = action;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public boolean isConsumed() {
+        return delegate.isConsumed();
+    }
+
+    @Override
+    public int getCurrentIndex() {
+        return delegate.getCurrentIndex();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> iterator = delegate.iterator();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = iterator.hasNext();
+                if (!hasNext) {
+                    close();
+                }
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                T next = iterator.next();
+                if (action != null) {
+                    action.accept(next);
+                }
+                return next;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            delegate.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (onClose != null) {
+                onClose.run();
+            }
+        }
+    }
+}
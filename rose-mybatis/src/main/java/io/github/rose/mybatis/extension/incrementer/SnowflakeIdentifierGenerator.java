@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.incrementer;
+
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import io.github.rose.core.util.id.IdRange;
+import io.github.rose.core.util.id.SnowflakeIdGenerator;
+import io.github.rose.core.util.id.TimeOrderedUuidGenerator;
+
+/**
+ * 基于{@link SnowflakeIdGenerator}的MyBatis-Plus主键生成器，{@code IdType.ASSIGN_ID}使用时间有序的64位ID，
+ * {@code IdType.ASSIGN_UUID}使用UUIDv7（去掉中划线）
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    private final TimeOrderedUuidGenerator uuidGenerator;
+
+    /**
+     * 使用进程内默认的生成器，workerId 通过 {@link SnowflakeIdGenerator#WORKER_ID_PROPERTY} 配置
+     */
+    public SnowflakeIdentifierGenerator() {
+        this(SnowflakeIdGenerator.getDefault(), TimeOrderedUuidGenerator.getDefault());
+    }
+
+    public SnowflakeIdentifierGenerator(SnowflakeIdGenerator idGenerator, TimeOrderedUuidGenerator uuidGenerator) {
+        this.idGenerator = idGenerator;
+        this.uuidGenerator = uuidGenerator;
+    }
+
+    @Override
+    public Long nextId(Object entity) {
+        return idGenerator.nextId();
+    }
+
+    @Override
+    public String nextUUID(Object entity) {
+        return uuidGenerator.nextUuid().toString().replace("-", "");
+    }
+
+    /**
+     * 批量预分配ID，用于批量插入
+     *
+     * @param n 数量
+     * @return 递增的ID
+     */
+    public IdRange reserve(int n) {
+        return idGenerator.reserve(n);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.injector;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlInjectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+/**
+ * 多行插入：{@code INSERT INTO t (c1, c2) VALUES (?, ?), (?, ?)}，参数为 {@code list}
+ * <p>
+ * 每行写入相同的列，按字段的 insertStrategy 处理空值：单条插入会跳过的空属性写入 {@code DEFAULT}，使用列的默认值；
+ * insertStrategy 为 NEVER 的字段不写入。参数经过 MyBatis-Plus 的参数处理器，自动填充和主键生成与单条插入一致
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class InsertBatch extends AbstractMethod {
+
+    public static final String METHOD = "insertBatch";
+
+    /**
+     * 参数中实体列表的名称
+     */
+    public static final String LIST = "list";
+
+    private static final String ITEM = "et";
+
+    public InsertBatch() {
+        super(METHOD);
+    }
+
+    protected InsertBatch(String methodName) {
+        super(methodName);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        List<String> columns = new ArrayList<>();
+        List<String> properties = new ArrayList<>();
+        boolean autoIncrement = tableInfo.havePK() && tableInfo.getIdType() == IdType.AUTO;
+        if (tableInfo.havePK() && !autoIncrement) {
+            columns.add(tableInfo.getKeyColumn());
+            properties.add(SqlScriptUtils.safeParam(ITEM + DOT + tableInfo.getKeyProperty()));
+        }
+        for (TableFieldInfo fieldInfo : getInsertFields(tableInfo)) {
+            columns.add(fieldInfo.getColumn());
+            properties.add(insertValue(fieldInfo));
+        }
+
+        String values = SqlScriptUtils.convertForeach(
+                LEFT_BRACKET + String.join(COMMA, properties) + RIGHT_BRACKET, LIST, null, ITEM, COMMA);
+        String sql = "<script>INSERT INTO " + tableInfo.getTableName() + " "
+                + LEFT_BRACKET + String.join(COMMA, columns) + RIGHT_BRACKET
+                + " VALUES " + values + suffix(tableInfo) + "</script>";
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+
+        KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
+        String keyProperty = null;
+        String keyColumn = null;
+        if (autoIncrement) {
+            keyGenerator = Jdbc3KeyGenerator.INSTANCE;
+            keyProperty = tableInfo.getKeyProperty();
+            keyColumn = SqlInjectionUtils.removeEscapeCharacter(tableInfo.getKeyColumn());
+        }
+        return addInsertMappedStatement(
+                mapperClass, modelClass, methodName, sqlSource, keyGenerator, keyProperty, keyColumn);
+    }
+
+    /**
+     * 追加在 VALUES 之后的SQL
+     */
+    protected String suffix(TableInfo tableInfo) {
+        return "";
+    }
+
+    protected static List<TableFieldInfo> getInsertFields(TableInfo tableInfo) {
+        List<TableFieldInfo> fields = new ArrayList<>();
+        for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+            if (fieldInfo.getInsertStrategy() != FieldStrategy.NEVER) {
+                fields.add(fieldInfo);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 字段的值，与单条插入的 insertStrategy 判断一致，不满足条件时写入 DEFAULT
+     */
+    private static String insertValue(TableFieldInfo fieldInfo) {
+        String property = fieldInfo.getInsertSqlProperty(ITEM + DOT);
+        property = property.substring(0, property.length() - 1);
+        // 插入时自动填充的字段与单条插入一样总是写入
+        if (fieldInfo.isWithInsertFill()) {
+            return property;
+        }
+        String el = ITEM + DOT + fieldInfo.getProperty();
+        String test;
+        if (fieldInfo.getInsertStrategy() == FieldStrategy.NOT_NULL) {
+            test = el + " != null";
+        } else if (fieldInfo.getInsertStrategy() == FieldStrategy.NOT_EMPTY) {
+            test = fieldInfo.isCharSequence() ? el + " != null and " + el + " != ''" : el + " != null";
+        } else {
+            return property;
+        }
+        return "<choose><when test=\"" + test + "\">" + property + "</when><otherwise>DEFAULT</otherwise></choose>";
+    }
+}
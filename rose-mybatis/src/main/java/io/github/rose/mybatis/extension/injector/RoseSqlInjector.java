@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.injector;
+
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.injector.methods.SelectList;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import io.github.rose.mybatis.extension.mapper.CursorMapper;
+import io.github.rose.mybatis.util.DbTypeEnum;
+import java.util.List;
+import java.util.Set;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * 在默认方法之外，为每个 Mapper 注入 {@link InsertBatch}、每种支持的数据库的 {@link UpsertBatch}，
+ * 以及与 selectList 相同的 {@link CursorMapper#selectCursor} 语句。指定租户列时，upsert 只更新当前租户的冲突行
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class RoseSqlInjector extends DefaultSqlInjector {
+
+    private final String tenantIdColumn;
+
+    private final Set<String> ignoredTables;
+
+    public RoseSqlInjector() {
+        this(null, null);
+    }
+
+    public RoseSqlInjector(String tenantIdColumn, Set<String> ignoredTables) {
+        this.tenantIdColumn = tenantIdColumn;
+        this.ignoredTables = ignoredTables;
+    }
+
+    @Override
+    public List<AbstractMethod> getMethodList(Configuration configuration, Class<?> mapperClass, TableInfo tableInfo) {
+        List<AbstractMethod> methodList = super.getMethodList(configuration, mapperClass, tableInfo);
+        methodList.add(new InsertBatch());
+        methodList.add(new SelectList(CursorMapper.SELECT_CURSOR));
+        for (DbTypeEnum dbType : DbTypeEnum.values()) {
+            if (dbType.isUpsertSupported()) {
+                methodList.add(new UpsertBatch(dbType, tenantIdColumn, ignoredTables));
+            }
+        }
+        return methodList;
+    }
+}
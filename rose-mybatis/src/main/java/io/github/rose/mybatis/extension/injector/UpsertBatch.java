@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.injector;
+
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import io.github.rose.mybatis.util.DbTypeEnum;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * 多行 upsert：在 {@link InsertBatch} 之后追加 {@link DbTypeEnum#getUpsertClause} 生成的子句，主键冲突时更新其余列。
+ * 仅插入时填充的列（创建人、创建时间、租户等）不会被更新，{@code @Version} 列在原值上加一，保持乐观锁有效。
+ * 表带租户列时只更新同一租户的冲突行，其他租户的行保持不变
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class UpsertBatch extends InsertBatch {
+
+    public static final String METHOD = "upsertBatch";
+
+    private final DbTypeEnum dbType;
+
+    private final String tenantIdColumn;
+
+    private final Set<String> ignoredTables;
+
+    public UpsertBatch(DbTypeEnum dbType) {
+        this(dbType, null, null);
+    }
+
+    /**
+     * @param dbType         数据库类型
+     * @param tenantIdColumn 租户列，为null时不区分租户
+     * @param ignoredTables  不做租户隔离的表
+     */
+    public UpsertBatch(DbTypeEnum dbType, String tenantIdColumn, Set<String> ignoredTables) {
+        super(getMethod(dbType));
+        this.dbType = dbType;
+        this.tenantIdColumn = tenantIdColumn;
+        this.ignoredTables = ignoredTables == null ? Collections.emptySet() : ignoredTables;
+    }
+
+    /**
+     * 指定数据库的 upsert 方法名
+     *
+     * @param dbType 数据库类型
+     * @return 方法名
+     */
+    public static String getMethod(DbTypeEnum dbType) {
+        return METHOD + StringUtils.capitalize(dbType.getMpDbType().getDb());
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        // 没有主键无法判断冲突
+        if (!tableInfo.havePK()) {
+            return null;
+        }
+        return super.injectMappedStatement(mapperClass, modelClass, tableInfo);
+    }
+
+    @Override
+    protected String suffix(TableInfo tableInfo) {
+        List<String> updateColumns = new ArrayList<>();
+        String versionColumn = null;
+        boolean hasTenantField = false;
+        for (TableFieldInfo fieldInfo : getInsertFields(tableInfo)) {
+            if (fieldInfo.getColumn().equalsIgnoreCase(tenantIdColumn)) {
+                hasTenantField = true;
+            }
+            if (fieldInfo.isVersion()) {
+                versionColumn = fieldInfo.getColumn();
+            } else if (fieldInfo.getFieldFill() != FieldFill.INSERT) {
+                updateColumns.add(fieldInfo.getColumn());
+            }
+        }
+        // 实体带租户字段，或者租户插件会为该表补上租户列
+        String tenantColumn = tenantIdColumn != null && (hasTenantField || !isIgnored(tableInfo.getTableName()))
+                ? tenantIdColumn
+                : null;
+        return " "
+                + dbType.getUpsertClause(
+                        tableInfo.getTableName(), tableInfo.getKeyColumn(), updateColumns, versionColumn, tenantColumn);
+    }
+
+    private boolean isIgnored(String tableName) {
+        return ignoredTables.stream().anyMatch(tableName::equalsIgnoreCase);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.interceptor;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import io.github.rose.mybatis.util.DbTypeEnum;
+import io.github.rose.mybatis.util.JdbcUtils;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * 游标查询拦截器
+ * <p>
+ * {@link MybatisPlusInterceptor} 只拦截 {@code Executor#query}，{@code Executor#queryCursor} 不会经过租户、数据权限等插件的
+ * {@code beforeQuery}。这里在游标查询准备语句时依次调用这些插件改写SQL，并按数据库设置流式读取的 fetchSize
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+@Intercepts({
+    @Signature(
+            type = Executor.class,
+            method = "queryCursor",
+            args = {MappedStatement.class, Object.class, RowBounds.class}),
+    @Signature(
+            type = StatementHandler.class,
+            method = "prepare",
+            args = {Connection.class, Integer.class})
+})
+public class CursorQueryInterceptor implements Interceptor {
+
+    private static final ThreadLocal<CursorQuery> CURSOR_QUERY = new ThreadLocal<>();
+
+    private final Map<String, Integer> fetchSizes = new ConcurrentHashMap<>();
+
+    private final MybatisPlusInterceptor mybatisPlusInterceptor;
+
+    public CursorQueryInterceptor(MybatisPlusInterceptor mybatisPlusInterceptor) {
+        this.mybatisPlusInterceptor = mybatisPlusInterceptor;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        if (invocation.getTarget() instanceof Executor) {
+            CursorQuery previous = CURSOR_QUERY.get();
+            CURSOR_QUERY.set(new CursorQuery((Executor) invocation.getTarget(), (RowBounds) args[2]));
+            try {
+                return invocation.proceed();
+            } finally {
+                if (previous == null) {
+                    CURSOR_QUERY.remove();
+                } else {
+                    CURSOR_QUERY.set(previous);
+                }
+            }
+        }
+
+        CursorQuery cursorQuery = CURSOR_QUERY.get();
+        if (cursorQuery == null) {
+            return invocation.proceed();
+        }
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler((StatementHandler) invocation.getTarget());
+        MappedStatement ms = mpSh.mappedStatement();
+        if (SqlCommandType.SELECT != ms.getSqlCommandType()) {
+            return invocation.proceed();
+        }
+        BoundSql boundSql = mpSh.boundSql();
+        // 拦截器列表可能在启动后被替换，每次读取
+        for (InnerInterceptor inner : mybatisPlusInterceptor.getInterceptors()) {
+            inner.beforeQuery(
+                    cursorQuery.executor, ms, boundSql.getParameterObject(), cursorQuery.rowBounds, null, boundSql);
+        }
+
+        Statement statement = (Statement) invocation.proceed();
+        // 语句和全局都没有配置 fetchSize 时才按数据库设置流式读取
+        if (ms.getFetchSize() == null && ms.getConfiguration().getDefaultFetchSize() == null) {
+            statement.setFetchSize(getFetchSize((Connection) args[0]));
+        }
+        return statement;
+    }
+
+    private int getFetchSize(Connection connection) throws Exception {
+        String url = connection.getMetaData().getURL();
+        Integer fetchSize = fetchSizes.get(url);
+        if (fetchSize == null) {
+            DbType dbType = JdbcUtils.getDbType(url);
+            DbTypeEnum dbTypeEnum = DbTypeEnum.MAP_BY_MP.get(dbType);
+            fetchSize = dbTypeEnum == null ? DbTypeEnum.DEFAULT_STREAM_FETCH_SIZE : dbTypeEnum.getStreamFetchSize();
+            fetchSizes.put(url, fetchSize);
+        }
+        return fetchSize;
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return target instanceof Executor || target instanceof StatementHandler ? Plugin.wrap(target, this) : target;
+    }
+
+    @Override
+    public void setProperties(Properties properties) {}
+
+    private static final class CursorQuery {
+        private final Executor executor;
+
+        private final RowBounds rowBounds;
+
+        private CursorQuery(Executor executor, RowBounds rowBounds) {
+            this.executor = executor;
+            this.rowBounds = rowBounds;
+        }
+    }
+}
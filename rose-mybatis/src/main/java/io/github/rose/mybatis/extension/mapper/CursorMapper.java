@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import io.github.rose.mybatis.extension.injector.RoseSqlInjector;
+import io.github.rose.mybatis.extension.interceptor.CursorQueryInterceptor;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+/**
+ * 支持游标查询的 Mapper，语句由 {@link RoseSqlInjector} 注入
+ * <p>
+ * 游标依赖查询时的连接，需在事务中使用并在事务结束前关闭；不在事务中时使用 {@code BaseService#selectCursor}。
+ * 租户、数据权限和 fetchSize 由 {@link CursorQueryInterceptor} 处理
+ *
+ * @param <T> 实体类型
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public interface CursorMapper<T> extends BaseMapper<T> {
+
+    String SELECT_CURSOR = "selectCursor";
+
+    /**
+     * 按条件流式查询
+     *
+     * @param queryWrapper 查询条件
+     * @return 游标
+     */
+    Cursor<T> selectCursor(@Param(Constants.WRAPPER) Wrapper<T> queryWrapper);
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.pagination;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标分页的请求和结果
+ * <p>
+ * 请求传入上一页返回的 {@link #getNextCursor() nextCursor} 作为 {@link #getCursor() cursor}，为空时查询第一页。
+ * 游标由排序键的值编码而成，对调用方不透明。默认不查询总数
+ *
+ * @param <T> 记录类型
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class CursorPage<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 上一页最后一条记录的游标
+     */
+    private String cursor;
+
+    /**
+     * 每页条数
+     */
+    private long size = 10;
+
+    /**
+     * 是否查询总数
+     */
+    private boolean searchCount = false;
+
+    private List<T> records = Collections.emptyList();
+
+    /**
+     * 下一页的游标，没有下一页时为 null
+     */
+    private String nextCursor;
+
+    /**
+     * 总数，未查询时为 null
+     */
+    private Long total;
+
+    public CursorPage() {}
+
+    public CursorPage(String cursor, long size) {
+        this.cursor = cursor;
+        this.size = size;
+    }
+
+    public CursorPage(String cursor, long size, boolean searchCount) {
+        this(cursor, size);
+        this.searchCount = searchCount;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public boolean isSearchCount() {
+        return searchCount;
+    }
+
+    public void setSearchCount(boolean searchCount) {
+        this.searchCount = searchCount;
+    }
+
+    public List<T> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<T> records) {
+        this.records = records;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.pagination;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.LambdaUtils;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.reflection.property.PropertyNamer;
+
+/**
+ * 游标（keyset）分页
+ * <p>
+ * 按排序键 {@code (k1, k2)} 排序，用上一页最后一条记录的排序键值定位下一页：
+ * {@code k1 >= ? AND (k1 > ? OR (k1 = ? AND k2 > ?))}，与 {@code (k1, k2) > (?, ?)} 等价，各数据库都能使用 (k1, k2)
+ * 上的索引，不需要 OFFSET。查询仍通过 Mapper 执行，租户和数据权限插件照常生效
+ * <p>
+ * 排序键的组合需唯一，最后一个键通常为主键；查询条件中不能再包含其他排序
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class CursorPageUtils {
+
+    /**
+     * 每页最大条数
+     */
+    public static final long MAX_SIZE = 1000;
+
+    private static final String SEPARATOR = ".";
+
+    /**
+     * 游标分页查询
+     *
+     * @param mapper       Mapper
+     * @param page         分页请求，查询结果写回该对象
+     * @param queryWrapper 查询条件，需指定实体类
+     * @param asc          是否升序
+     * @param keys         排序键
+     * @return 分页结果
+     */
+    public static <T> CursorPage<T> selectPage(
+            BaseMapper<T> mapper,
+            CursorPage<T> page,
+            LambdaQueryWrapper<T> queryWrapper,
+            boolean asc,
+            List<SFunction<T, ?>> keys) {
+        Class<?>[] types = getKeyTypes(queryWrapper.getEntityClass(), keys);
+        long size = Math.max(1, Math.min(page.getSize(), MAX_SIZE));
+        if (page.isSearchCount()) {
+            page.setTotal(mapper.selectCount(queryWrapper));
+        }
+        if (StringUtils.isNotBlank(page.getCursor())) {
+            seek(queryWrapper, asc, keys, decodeCursor(page.getCursor(), types));
+        }
+        for (SFunction<T, ?> key : keys) {
+            queryWrapper.orderBy(true, asc, key);
+        }
+
+        // 多查一条判断是否还有下一页
+        Page<T> query = new Page<>(1, size + 1, false);
+        query.setMaxLimit(size + 1);
+        List<T> records = mapper.selectPage(query, queryWrapper).getRecords();
+        if (records.size() > size) {
+            records = new ArrayList<>(records.subList(0, (int) size));
+            page.setNextCursor(encodeCursor(records.get(records.size() - 1), keys));
+        } else {
+            page.setNextCursor(null);
+        }
+        page.setRecords(records);
+        return page;
+    }
+
+    /**
+     * 追加定位到游标之后的条件
+     *
+     * @param queryWrapper 查询条件
+     * @param asc          是否升序
+     * @param keys         排序键
+     * @param values       游标中排序键的值
+     * @return 查询条件
+     */
+    public static <T> LambdaQueryWrapper<T> seek(
+            LambdaQueryWrapper<T> queryWrapper, boolean asc, List<SFunction<T, ?>> keys, Object[] values) {
+        if (keys.isEmpty() || keys.size() != values.length) {
+            throw new IllegalArgumentException("Cursor values do not match the sort keys");
+        }
+        return queryWrapper.and(wrapper -> {
+            // 冗余的首键范围条件，便于优化器按索引范围扫描
+            if (keys.size() > 1) {
+                compare(wrapper, keys.get(0), values[0], asc, true);
+            }
+            wrapper.and(seek -> {
+                for (int i = 0; i < keys.size(); i++) {
+                    int last = i;
+                    seek.or(i > 0).nested(term -> {
+                        for (int j = 0; j < last; j++) {
+                            term.eq(keys.get(j), values[j]);
+                        }
+                        compare(term, keys.get(last), values[last], asc, false);
+                    });
+                }
+            });
+        });
+    }
+
+    /**
+     * 用记录的排序键值生成游标
+     *
+     * @param record 记录
+     * @param keys   排序键
+     * @return 游标
+     */
+    public static <T> String encodeCursor(T record, List<SFunction<T, ?>> keys) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        StringJoiner cursor = new StringJoiner(SEPARATOR);
+        for (SFunction<T, ?> key : keys) {
+            Object value = key.apply(record);
+            if (value == null) {
+                throw new IllegalStateException("Sort key of cursor must not be null");
+            }
+            cursor.add(encoder.encodeToString(toString(value).getBytes(StandardCharsets.UTF_8)));
+        }
+        return cursor.toString();
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标
+     * @param types  排序键的类型
+     * @return 排序键的值
+     */
+    public static Object[] decodeCursor(String cursor, Class<?>[] types) {
+        String[] parts = StringUtils.splitPreserveAllTokens(cursor, SEPARATOR);
+        if (parts.length != types.length) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        Object[] values = new Object[types.length];
+        try {
+            for (int i = 0; i < types.length; i++) {
+                values[i] = fromString(new String(decoder.decode(parts[i]), StandardCharsets.UTF_8), types[i]);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        return values;
+    }
+
+    private static <T> void compare(
+            LambdaQueryWrapper<T> wrapper, SFunction<T, ?> key, Object value, boolean asc, boolean inclusive) {
+        if (asc) {
+            if (inclusive) {
+                wrapper.ge(key, value);
+            } else {
+                wrapper.gt(key, value);
+            }
+        } else if (inclusive) {
+            wrapper.le(key, value);
+        } else {
+            wrapper.lt(key, value);
+        }
+    }
+
+    private static <T> Class<?>[] getKeyTypes(Class<T> entityClass, List<SFunction<T, ?>> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("Sort keys must not be empty");
+        }
+        TableInfo tableInfo = entityClass == null ? null : TableInfoHelper.getTableInfo(entityClass);
+        if (tableInfo == null) {
+            throw ExceptionUtils.mpe("Can not find TableInfo, please specify the entity class of the query wrapper");
+        }
+        Class<?>[] types = new Class<?>[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            String property = PropertyNamer.methodToProperty(
+                    LambdaUtils.extract(keys.get(i)).getImplMethodName());
+            types[i] = getPropertyType(tableInfo, property);
+        }
+        return types;
+    }
+
+    private static Class<?> getPropertyType(TableInfo tableInfo, String property) {
+        if (property.equals(tableInfo.getKeyProperty())) {
+            return tableInfo.getKeyType();
+        }
+        for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+            if (fieldInfo.getProperty().equals(property)) {
+                return fieldInfo.getPropertyType();
+            }
+        }
+        throw ExceptionUtils.mpe("Sort key %s is not a column of %s", property, tableInfo.getTableName());
+    }
+
+    private static String toString(Object value) {
+        if (value instanceof Date) {
+            return String.valueOf(((Date) value).getTime());
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object fromString(String value, Class<?> type) {
+        if (type == String.class) {
+            return value;
+        } else if (type == Long.class || type == long.class) {
+            return Long.valueOf(value);
+        } else if (type == Integer.class || type == int.class) {
+            return Integer.valueOf(value);
+        } else if (type == Short.class || type == short.class) {
+            return Short.valueOf(value);
+        } else if (type == Boolean.class || type == boolean.class) {
+            return Boolean.valueOf(value);
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal(value);
+        } else if (type == BigInteger.class) {
+            return new BigInteger(value);
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        } else if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        } else if (type == LocalTime.class) {
+            return LocalTime.parse(value);
+        } else if (type == OffsetDateTime.class) {
+            return OffsetDateTime.parse(value);
+        } else if (type == Instant.class) {
+            return Instant.parse(value);
+        } else if (Date.class.isAssignableFrom(type)) {
+            return new Date(Long.parseLong(value));
+        } else if (type == UUID.class) {
+            return UUID.fromString(value);
+        } else if (type.isEnum()) {
+            return Enum.valueOf((Class) type, value);
+        }
+        throw new IllegalArgumentException("Unsupported sort key type: " + type.getName());
+    }
+}
@@ -15,8 +15,15 @@
  */
 package io.github.rose.mybatis.extension.service;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.service.IService;
+import io.github.rose.mybatis.extension.pagination.CursorPage;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.ibatis.cursor.Cursor;
 
 /**
  * 基础业务接口
@@ -34,4 +41,80 @@ public interface BaseService<T> extends IService<T> {
      * @return boolean
      */
     boolean isFieldDuplicate(SFunction<T, ?> field, Object value, Long excludedId);
+
+    /**
+     * 多行插入，按默认的行数和参数个数上限分批
+     *
+     * @param entityList 实体列表
+     * @return 影响行数
+     */
+    int insertBatch(Collection<T> entityList);
+
+    /**
+     * 多行插入，每条 INSERT 不超过指定的行数和参数个数
+     *
+     * @param entityList    实体列表
+     * @param maxRows       每条语句的最大行数
+     * @param maxParameters 每条语句的最大参数个数
+     * @return 影响行数
+     */
+    int insertBatch(Collection<T> entityList, int maxRows, int maxParameters);
+
+    /**
+     * 多行 upsert，主键冲突时更新，支持 MySQL 和 PostgreSQL
+     *
+     * @param entityList 实体列表
+     * @return 数据库返回的影响行数，不同数据库对更新行的计数方式不同
+     */
+    int upsertBatch(Collection<T> entityList);
+
+    /**
+     * 多行 upsert，每条语句不超过指定的行数和参数个数
+     *
+     * @param entityList    实体列表
+     * @param maxRows       每条语句的最大行数
+     * @param maxParameters 每条语句的最大参数个数
+     * @return 数据库返回的影响行数
+     */
+    int upsertBatch(Collection<T> entityList, int maxRows, int maxParameters);
+
+    /**
+     * 游标分页，按主键升序
+     *
+     * @param page         分页请求
+     * @param queryWrapper 查询条件，不能包含排序
+     * @return 分页结果
+     */
+    CursorPage<T> pageByCursor(CursorPage<T> page, LambdaQueryWrapper<T> queryWrapper);
+
+    /**
+     * 游标分页，按指定的排序键排序
+     *
+     * @param page         分页请求
+     * @param queryWrapper 查询条件，不能包含排序
+     * @param asc          是否升序
+     * @param keys         排序键，组合需唯一，最后一个键通常为主键
+     * @return 分页结果
+     */
+    CursorPage<T> pageByCursor(
+            CursorPage<T> page, LambdaQueryWrapper<T> queryWrapper, boolean asc, List<SFunction<T, ?>> keys);
+
+    /**
+     * 流式查询，逐行读取并解密，内存占用与结果行数无关
+     * <p>
+     * 在事务中时使用事务的连接；否则独占一个关闭自动提交的连接，遍历结束或关闭游标时归还。
+     * 必须读完或关闭游标，建议使用 try-with-resources；遍历期间不要在同一事务中执行其他查询
+     *
+     * @param queryWrapper 查询条件
+     * @return 游标
+     */
+    Cursor<T> selectCursor(Wrapper<T> queryWrapper);
+
+    /**
+     * 流式查询，见 {@link #selectCursor(Wrapper)}，需关闭返回的 Stream
+     *
+     * @param queryWrapper 查询条件
+     * @return 结果流
+     */
+    Stream<T> selectStream(Wrapper<T> queryWrapper);
 }
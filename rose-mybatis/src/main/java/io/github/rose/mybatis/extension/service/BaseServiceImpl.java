@@ -15,16 +15,68 @@
  */
 package io.github.rose.mybatis.extension.service;
 
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import io.github.rose.core.util.id.IdRange;
+import io.github.rose.mybatis.extension.cursor.CursorDecorator;
+import io.github.rose.mybatis.extension.incrementer.SnowflakeIdentifierGenerator;
+import io.github.rose.mybatis.extension.injector.InsertBatch;
+import io.github.rose.mybatis.extension.injector.RoseSqlInjector;
+import io.github.rose.mybatis.extension.injector.UpsertBatch;
+import io.github.rose.mybatis.extension.pagination.CursorPage;
+import io.github.rose.mybatis.extension.pagination.CursorPageUtils;
 import io.github.rose.mybatis.model.BaseEntity;
+import io.github.rose.mybatis.util.DbTypeEnum;
+import io.github.rose.mybatis.util.JdbcUtils;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+import org.mybatis.spring.SqlSessionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
 /**
  * 业务封装基础类
+ * <p>
+ * 批量写入使用 {@link RoseSqlInjector} 注入的多行 INSERT / upsert 语句，每条语句按行数和参数个数上限分批。
+ * 语句仍经过 MyBatis 插件和参数处理器，自动填充、租户和字段加密与单条插入一致；所有分批在同一事务中执行，空主键通过
+ * {@link SnowflakeIdentifierGenerator#reserve(int)} 按批预分配
+ * <p>
+ * 流式查询使用 selectList 语句的游标，逐行解密，fetchSize 和租户条件由 {@code CursorQueryInterceptor} 处理
  *
  * @param <M> mybatis-mapper
  * @param <T> domain
@@ -33,6 +85,18 @@ import org.springframework.validation.annotation.Validated;
 public class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseEntity> extends ServiceImpl<M, T>
         implements BaseService<T> {
 
+    /**
+     * 每条批量语句的默认最大行数
+     */
+    public static final int DEFAULT_BATCH_ROWS = 1000;
+
+    /**
+     * 每条批量语句的默认最大参数个数，低于 PostgreSQL 驱动 32767 的上限
+     */
+    public static final int DEFAULT_BATCH_PARAMETERS = 30000;
+
+    private static final Map<SqlSessionFactory, DbTypeEnum> DB_TYPES = new ConcurrentHashMap<>();
+
     @Override
     public boolean isFieldDuplicate(SFunction<T, ?> field, Object value, Long excludedId) {
         LambdaQueryWrapper<T> queryWrapper = Wrappers.lambdaQuery();
@@ -42,4 +106,216 @@ public class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseEntity> exte
         }
         return baseMapper.selectCount(queryWrapper) > 0;
     }
+
+    @Override
+    public CursorPage<T> pageByCursor(CursorPage<T> page, LambdaQueryWrapper<T> queryWrapper) {
+        SFunction<T, ?> id = T::getId;
+        return pageByCursor(page, queryWrapper, true, Collections.singletonList(id));
+    }
+
+    @Override
+    public CursorPage<T> pageByCursor(
+            CursorPage<T> page, LambdaQueryWrapper<T> queryWrapper, boolean asc, List<SFunction<T, ?>> keys) {
+        if (queryWrapper.getEntityClass() == null) {
+            queryWrapper.setEntityClass(getEntityClass());
+        }
+        return CursorPageUtils.selectPage(baseMapper, page, queryWrapper, asc, keys);
+    }
+
+    @Override
+    public Cursor<T> selectCursor(Wrapper<T> queryWrapper) {
+        return openCursor(queryWrapper);
+    }
+
+    @Override
+    public Stream<T> selectStream(Wrapper<T> queryWrapper) {
+        CursorDecorator<T> cursor = openCursor(queryWrapper);
+        return StreamSupport.stream(cursor.spliterator(), false).onClose(cursor::close);
+    }
+
+    private CursorDecorator<T> openCursor(Wrapper<T> queryWrapper) {
+        SqlSessionFactory sqlSessionFactory = SqlHelper.sqlSessionFactory(getEntityClass());
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            SqlSession sqlSession = SqlSessionUtils.getSqlSession(sqlSessionFactory);
+            return openCursor(
+                    sqlSession, queryWrapper, () -> SqlSessionUtils.closeSqlSession(sqlSession, sqlSessionFactory));
+        }
+
+        // 没有事务时独占一个连接，PostgreSQL 等驱动只在关闭自动提交时按 fetchSize 分批读取
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        Connection connection;
+        try {
+            connection = configuration.getEnvironment().getDataSource().getConnection();
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe(e);
+        }
+        JdbcTransaction transaction = new JdbcTransaction(connection);
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            closeQuietly(transaction);
+            throw ExceptionUtils.mpe(e);
+        }
+        // 关闭时由 JdbcTransaction 恢复自动提交并关闭连接
+        SqlSession sqlSession = new DefaultSqlSession(
+                configuration, configuration.newExecutor(transaction, ExecutorType.SIMPLE), false);
+        return openCursor(sqlSession, queryWrapper, sqlSession::close);
+    }
+
+    private CursorDecorator<T> openCursor(SqlSession sqlSession, Wrapper<T> queryWrapper, Runnable release) {
+        try {
+            MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+            param.put(Constants.WRAPPER, queryWrapper);
+            String statement = mapperClass.getName() + StringPool.DOT + SqlMethod.SELECT_LIST.getMethod();
+            Cursor<T> cursor = sqlSession.selectCursor(statement, param);
+            return new CursorDecorator<>(cursor, null, release);
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(JdbcTransaction transaction) {
+        try {
+            transaction.close();
+        } catch (SQLException ignored) {
+            // 获取连接后设置失败，忽略关闭异常
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int insertBatch(Collection<T> entityList) {
+        return insertBatch(entityList, DEFAULT_BATCH_ROWS, DEFAULT_BATCH_PARAMETERS);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int insertBatch(Collection<T> entityList, int maxRows, int maxParameters) {
+        return executeBatch(entityList, maxRows, maxParameters, false);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int upsertBatch(Collection<T> entityList) {
+        return upsertBatch(entityList, DEFAULT_BATCH_ROWS, DEFAULT_BATCH_PARAMETERS);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int upsertBatch(Collection<T> entityList, int maxRows, int maxParameters) {
+        return executeBatch(entityList, maxRows, maxParameters, true);
+    }
+
+    private int executeBatch(Collection<T> entityList, int maxRows, int maxParameters, boolean upsert) {
+        if (maxRows <= 0 || maxParameters <= 0) {
+            throw new IllegalArgumentException("maxRows and maxParameters must be greater than zero");
+        }
+        if (CollectionUtils.isEmpty(entityList)) {
+            return 0;
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(getEntityClass());
+        if (tableInfo == null) {
+            throw ExceptionUtils.mpe("Can not find TableInfo for %s", getEntityClass().getName());
+        }
+        int batchRows = getBatchRows(tableInfo, maxRows, maxParameters);
+
+        SqlSessionFactory sqlSessionFactory = SqlHelper.sqlSessionFactory(getEntityClass());
+        SqlSession sqlSession = SqlSessionUtils.getSqlSession(sqlSessionFactory);
+        try {
+            String method =
+                    upsert ? UpsertBatch.getMethod(getDbType(sqlSessionFactory, sqlSession)) : InsertBatch.METHOD;
+            String statement = mapperClass.getName() + StringPool.DOT + method;
+            if (!sqlSessionFactory.getConfiguration().hasStatement(statement)) {
+                throw ExceptionUtils.mpe(
+                        "Statement %s not found, please register %s", statement, RoseSqlInjector.class.getName());
+            }
+            GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(sqlSessionFactory.getConfiguration());
+
+            int rows = 0;
+            // 字段加密插件只处理 ArrayList 类型的参数
+            ArrayList<T> batch = new ArrayList<>(Math.min(batchRows, entityList.size()));
+            for (T entity : entityList) {
+                batch.add(entity);
+                if (batch.size() == batchRows) {
+                    rows += insert(sqlSession, statement, tableInfo, globalConfig, batch, upsert);
+                    batch = new ArrayList<>(batchRows);
+                }
+            }
+            if (!batch.isEmpty()) {
+                rows += insert(sqlSession, statement, tableInfo, globalConfig, batch, upsert);
+            }
+            return rows;
+        } finally {
+            SqlSessionUtils.closeSqlSession(sqlSession, sqlSessionFactory);
+        }
+    }
+
+    private int insert(
+            SqlSession sqlSession,
+            String statement,
+            TableInfo tableInfo,
+            GlobalConfig globalConfig,
+            ArrayList<T> batch,
+            boolean upsert) {
+        reserveIds(tableInfo, globalConfig.getIdentifierGenerator(), batch);
+        // 插入时的填充由参数处理器完成，upsert 可能更新已有数据，再补充更新时的填充
+        MetaObjectHandler metaObjectHandler = globalConfig.getMetaObjectHandler();
+        if (upsert && metaObjectHandler != null && tableInfo.isWithUpdateFill()) {
+            for (T entity : batch) {
+                metaObjectHandler.updateFill(tableInfo.getConfiguration().newMetaObject(entity));
+            }
+        }
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(InsertBatch.LIST, batch);
+        return sqlSession.insert(statement, param);
+    }
+
+    private void reserveIds(TableInfo tableInfo, IdentifierGenerator identifierGenerator, List<T> batch) {
+        if (tableInfo.getIdType() != IdType.ASSIGN_ID
+                || !(identifierGenerator instanceof SnowflakeIdentifierGenerator)) {
+            return;
+        }
+        int missing = 0;
+        for (T entity : batch) {
+            if (entity.getId() == null) {
+                missing++;
+            }
+        }
+        if (missing == 0) {
+            return;
+        }
+        IdRange ids = ((SnowflakeIdentifierGenerator) identifierGenerator).reserve(missing);
+        for (T entity : batch) {
+            if (entity.getId() == null) {
+                entity.setId(ids.nextLong());
+            }
+        }
+    }
+
+    private static int getBatchRows(TableInfo tableInfo, int maxRows, int maxParameters) {
+        int parameters = tableInfo.havePK() && tableInfo.getIdType() != IdType.AUTO ? 1 : 0;
+        // 所有列都会写入，再预留租户插件可能追加的一列
+        parameters += tableInfo.getFieldList().size() + 1;
+        return Math.max(1, Math.min(maxRows, maxParameters / parameters));
+    }
+
+    private static DbTypeEnum getDbType(SqlSessionFactory sqlSessionFactory, SqlSession sqlSession) {
+        DbTypeEnum dbType = DB_TYPES.get(sqlSessionFactory);
+        if (dbType != null) {
+            return dbType;
+        }
+        DbType mpDbType;
+        try {
+            mpDbType = JdbcUtils.getDbType(sqlSession.getConnection().getMetaData().getURL());
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe(e);
+        }
+        dbType = DbTypeEnum.MAP_BY_MP.get(mpDbType);
+        if (dbType == null || !dbType.isUpsertSupported()) {
+            throw ExceptionUtils.mpe("Batch upsert is not supported by %s", mpDbType);
+        }
+        DB_TYPES.put(sqlSessionFactory, dbType);
+        return dbType;
+    }
 }
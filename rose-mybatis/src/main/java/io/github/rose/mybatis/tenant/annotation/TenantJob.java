@@ -20,6 +20,20 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * 多租户 Job，按租户并发执行，详见 {@link io.github.rose.mybatis.tenant.job.TenantJobExecutor}
+ */
 @Target({ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
-public @interface TenantJob {}
+public @interface TenantJob {
+
+    /**
+     * 是否按 XXL-Job 的分片参数拆分租户，集群中每个节点只执行自己分片内的租户
+     */
+    boolean sharding() default false;
+
+    /**
+     * 单个租户的超时时间（毫秒），小于0表示使用全局配置，0表示不限制
+     */
+    long timeoutMillis() default -1;
+}
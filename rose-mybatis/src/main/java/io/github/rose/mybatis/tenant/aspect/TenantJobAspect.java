@@ -16,15 +16,14 @@
 package io.github.rose.mybatis.tenant.aspect;
 
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.xxl.job.core.context.XxlJobHelper;
 import io.github.rose.core.json.JsonUtils;
-import io.github.rose.core.util.text.TextFormatUtils;
 import io.github.rose.mybatis.tenant.annotation.TenantJob;
+import io.github.rose.mybatis.tenant.job.TenantJobExecutor;
+import io.github.rose.mybatis.tenant.job.TenantJobResult;
 import io.github.rose.mybatis.tenant.service.TenantService;
-import io.github.rose.mybatis.tenant.util.TenantUtils;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -32,7 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * 多租户 JobHandler AOP 任务执行时，会按照租户逐个执行 Job 的逻辑
+ * 多租户 JobHandler AOP 任务执行时，会按照租户并发执行 Job 的逻辑，并发数和超时时间由 {@link TenantJobExecutor} 控制
  * <p>
  * 注意，需要保证 JobHandler 的幂等性。因为 Job 因为某个租户执行失败重试时，之前执行成功的租户也会再次执行。
  *
@@ -44,8 +43,11 @@ public class TenantJobAspect {
 
     private final TenantService tenantService;
 
-    public TenantJobAspect(TenantService tenantService) {
+    private final TenantJobExecutor tenantJobExecutor;
+
+    public TenantJobAspect(TenantService tenantService, TenantJobExecutor tenantJobExecutor) {
         this.tenantService = tenantService;
+        this.tenantJobExecutor = tenantJobExecutor;
     }
 
     @Around("@annotation(tenantJob)")
@@ -54,23 +56,17 @@ public class TenantJobAspect {
         if (CollectionUtils.isEmpty(tenantIds)) {
             return null;
         }
+        if (tenantJob.sharding()) {
+            tenantIds = TenantJobExecutor.shard(tenantIds, XxlJobHelper.getShardIndex(), XxlJobHelper.getShardTotal());
+        }
 
         // 逐个租户，执行 Job
-        Map<String, String> results = new ConcurrentHashMap<>();
-        tenantIds.parallelStream().forEach(tenantId -> {
-            TenantUtils.execute(tenantId, () -> {
-                try {
-                    joinPoint.proceed();
-                } catch (Throwable e) {
-                    results.put(tenantId, ExceptionUtils.getRootCauseMessage(e));
-                    log.info(TextFormatUtils.format(
-                            "{}租户执行任务({})，发生异常：{}]",
-                            tenantId,
-                            joinPoint.getSignature(),
-                            ExceptionUtils.getStackTrace(e)));
-                }
-            });
-        });
+        String jobName = joinPoint.getSignature().toShortString();
+        TenantJobExecutor.TenantTask task = tenantId -> joinPoint.proceed();
+        TenantJobResult result = tenantJob.timeoutMillis() < 0
+                ? tenantJobExecutor.execute(jobName, tenantIds, task)
+                : tenantJobExecutor.execute(jobName, tenantIds, task, tenantJob.timeoutMillis());
+        Map<String, String> results = result.getFailures();
         // 如果 results 非空，说明发生了异常，标记 XXL-Job 执行失败
         if (CollectionUtils.isNotEmpty(results)) {
             log.error(JsonUtils.toJson(results));
@@ -0,0 +1,290 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.tenant.job;
+
+import io.github.rose.mybatis.tenant.util.TenantContextHolder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 多租户任务执行器，按租户并发执行同一个任务，不占用公共的 ForkJoinPool
+ * <p>
+ * 每个任务同时执行的租户数不超过{@code concurrency}；单个租户失败不影响其他租户，结果汇总到{@link TenantJobResult}。
+ * 单个租户从开始执行起超过超时时间后记为超时并中断执行线程，同时释放并发名额，不会拖住其他租户。
+ * 不响应中断的线程会继续占用线程池，可以通过{@link #getOrphanedRunners()}观察，线程池最多{@code concurrency * 2}个线程，
+ * 没有空闲线程时该租户记为失败。
+ * 集群部署时可以通过{@link #shard(List, int, int)}按分片拆分租户列表，由各节点分别执行
+ */
+public class TenantJobExecutor implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TenantJobExecutor.class);
+
+    private final int concurrency;
+
+    private final long timeoutMillis;
+
+    private final List<TenantJobListener> listeners;
+
+    private final ExecutorService workers;
+
+    private final ScheduledExecutorService timer;
+
+    /**
+     * 已超时但执行线程还没有结束的租户数
+     */
+    private final AtomicInteger orphanedRunners = new AtomicInteger();
+
+    /**
+     * @param concurrency   每个任务同时执行的租户数
+     * @param timeoutMillis 默认的单租户超时时间，小于等于0表示不限制
+     * @param listeners     租户执行完成的回调
+     */
+    public TenantJobExecutor(int concurrency, long timeoutMillis, List<TenantJobListener> listeners) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be greater than zero");
+        }
+        this.concurrency = concurrency;
+        this.timeoutMillis = timeoutMillis;
+        this.listeners = listeners == null ? Collections.emptyList() : new ArrayList<>(listeners);
+        // 超时的租户立即释放并发名额，但执行线程可能仍在运行，因此线程池预留一倍的线程给未结束的线程
+        this.workers = new ThreadPoolExecutor(
+                0,
+                concurrency * 2,
+                60L,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new BasicThreadFactory.Builder()
+                        .namingPattern("tenant-job-%d")
+                        .daemon(true)
+                        .build());
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(
+                1,
+                new BasicThreadFactory.Builder()
+                        .namingPattern("tenant-job-timer-%d")
+                        .daemon(true)
+                        .build());
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.timer = scheduler;
+    }
+
+    /**
+     * 按分片拆分租户列表，按租户编号的哈希取模，各节点的租户列表顺序不同也能得到一致的结果
+     *
+     * @param tenantIds  租户编号
+     * @param shardIndex 当前分片序号，从0开始
+     * @param shardTotal 分片总数
+     * @return 当前分片负责的租户，分片参数无效时返回全部租户
+     */
+    public static List<String> shard(List<String> tenantIds, int shardIndex, int shardTotal) {
+        if (shardTotal <= 1 || shardIndex < 0 || shardIndex >= shardTotal) {
+            return tenantIds;
+        }
+        List<String> result = new ArrayList<>(tenantIds.size() / shardTotal + 1);
+        for (String tenantId : tenantIds) {
+            if (Math.floorMod(tenantId.hashCode(), shardTotal) == shardIndex) {
+                result.add(tenantId);
+            }
+        }
+        return result;
+    }
+
+    public TenantJobResult execute(String jobName, List<String> tenantIds, TenantTask task) {
+        return execute(jobName, tenantIds, task, timeoutMillis);
+    }
+
+    /**
+     * 按租户执行任务，等待所有租户完成或超时后返回
+     *
+     * @param jobName       任务名
+     * @param tenantIds     租户编号
+     * @param task          任务，执行时已设置好租户上下文
+     * @param timeoutMillis 单租户超时时间，小于等于0表示不限制
+     * @return 汇总结果
+     */
+    public TenantJobResult execute(String jobName, List<String> tenantIds, TenantTask task, long timeoutMillis) {
+        long start = System.nanoTime();
+        TenantJobResult result = new TenantJobResult(jobName);
+        CountDownLatch latch = new CountDownLatch(tenantIds.size());
+        Semaphore permits = new Semaphore(concurrency);
+        List<TenantRun> runs = new ArrayList<>(tenantIds.size());
+        try {
+            for (String tenantId : tenantIds) {
+                permits.acquire();
+                TenantRun run = new TenantRun(jobName, tenantId, result, latch, permits);
+                runs.add(run);
+                try {
+                    workers.execute(() -> run.run(task, timeoutMillis));
+                } catch (RejectedExecutionException e) {
+                    if (run.complete(TenantJobResult.Status.FAILED, "No tenant job thread available")) {
+                        log.warn("{}租户执行任务({})没有可用的线程", tenantId, jobName);
+                    }
+                }
+            }
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Tenant job {} interrupted, {} tenants not finished", jobName, latch.getCount());
+            for (TenantRun run : runs) {
+                run.interrupt();
+            }
+            // 还没有开始的租户同样记为失败，避免中断后被当作执行成功
+            for (int i = runs.size(); i < tenantIds.size(); i++) {
+                new TenantRun(jobName, tenantIds.get(i), result, latch, permits)
+                        .complete(TenantJobResult.Status.FAILED, "Interrupted");
+            }
+        }
+        result.setDurationNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * @return 已超时但执行线程还没有结束的租户数
+     */
+    public int getOrphanedRunners() {
+        return orphanedRunners.get();
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * 单个租户的任务
+     */
+    @FunctionalInterface
+    public interface TenantTask {
+        void execute(String tenantId) throws Throwable;
+    }
+
+    private class TenantRun {
+        private final String jobName;
+        private final String tenantId;
+        private final TenantJobResult result;
+        private final CountDownLatch latch;
+        private final Semaphore permits;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile long startNanos = System.nanoTime();
+
+        /**
+         * 正在执行的线程，执行结束后清空，避免超时中断到线程池中的下一个任务
+         */
+        private Thread runner;
+
+        /**
+         * 已超时但执行线程还没有结束
+         */
+        private boolean orphaned;
+
+        private TenantRun(
+                String jobName, String tenantId, TenantJobResult result, CountDownLatch latch, Semaphore permits) {
+            this.jobName = jobName;
+            this.tenantId = tenantId;
+            this.result = result;
+            this.latch = latch;
+            this.permits = permits;
+        }
+
+        private void run(TenantTask task, long timeoutMillis) {
+            synchronized (this) {
+                if (done.get()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            startNanos = System.nanoTime();
+            ScheduledFuture<?> timeout = timeoutMillis > 0
+                    ? timer.schedule(() -> timeout(timeoutMillis), timeoutMillis, TimeUnit.MILLISECONDS)
+                    : null;
+            try {
+                TenantContextHolder.setTenantId(tenantId);
+                TenantContextHolder.setIgnore(Boolean.FALSE);
+                task.execute(tenantId);
+                complete(TenantJobResult.Status.SUCCESS, null);
+            } catch (Throwable e) {
+                if (complete(TenantJobResult.Status.FAILED, ExceptionUtils.getRootCauseMessage(e))) {
+                    log.info("{}租户执行任务({})，发生异常：{}", tenantId, jobName, ExceptionUtils.getStackTrace(e));
+                }
+            } finally {
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                synchronized (this) {
+                    runner = null;
+                    if (orphaned) {
+                        orphaned = false;
+                        orphanedRunners.decrementAndGet();
+                    }
+                }
+                TenantContextHolder.clear();
+                // 超时时设置的中断标记不带到下一个任务
+                Thread.interrupted();
+            }
+        }
+
+        private synchronized void timeout(long timeoutMillis) {
+            if (complete(TenantJobResult.Status.TIMEOUT, "Timeout after " + timeoutMillis + "ms")) {
+                log.warn("{}租户执行任务({})超时", tenantId, jobName);
+                if (runner != null) {
+                    runner.interrupt();
+                    orphaned = true;
+                    orphanedRunners.incrementAndGet();
+                }
+            }
+        }
+
+        private synchronized void interrupt() {
+            if (complete(TenantJobResult.Status.FAILED, "Interrupted") && runner != null) {
+                runner.interrupt();
+            }
+        }
+
+        private boolean complete(TenantJobResult.Status status, String message) {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            long durationNanos = System.nanoTime() - startNanos;
+            result.add(tenantId, status, message);
+            for (TenantJobListener listener : listeners) {
+                try {
+                    listener.onComplete(jobName, tenantId, status, durationNanos);
+                } catch (RuntimeException e) {
+                    log.warn("Tenant job listener failed", e);
+                }
+            }
+            permits.release();
+            latch.countDown();
+            return true;
+        }
+    }
+}
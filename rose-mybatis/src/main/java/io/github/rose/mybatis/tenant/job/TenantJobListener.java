@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.tenant.job;
+
+/**
+ * 单个租户执行完成的回调，可用于统计每个租户的耗时
+ */
+@FunctionalInterface
+public interface TenantJobListener {
+
+    /**
+     * 租户执行完成、失败或超时后调用，不应抛出异常
+     *
+     * @param jobName       任务名
+     * @param tenantId      租户编号
+     * @param status        执行结果
+     * @param durationNanos 从开始执行到完成或超时的耗时
+     */
+    void onComplete(String jobName, String tenantId, TenantJobResult.Status status, long durationNanos);
+}
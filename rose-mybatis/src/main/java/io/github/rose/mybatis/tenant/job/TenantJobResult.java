@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.tenant.job;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多租户任务的汇总结果
+ */
+public class TenantJobResult {
+
+    private final String jobName;
+
+    private final List<String> succeeded = new ArrayList<>();
+
+    /**
+     * 租户编号 -> 失败或超时原因
+     */
+    private final Map<String, String> failures = new LinkedHashMap<>();
+
+    private final Map<String, Status> statuses = new LinkedHashMap<>();
+
+    private long durationNanos;
+
+    TenantJobResult(String jobName) {
+        this.jobName = jobName;
+    }
+
+    synchronized void add(String tenantId, Status status, String message) {
+        statuses.put(tenantId, status);
+        if (status == Status.SUCCESS) {
+            succeeded.add(tenantId);
+        } else {
+            failures.put(tenantId, message);
+        }
+    }
+
+    void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public synchronized List<String> getSucceeded() {
+        return Collections.unmodifiableList(new ArrayList<>(succeeded));
+    }
+
+    public synchronized Map<String, String> getFailures() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    public synchronized Map<String, Status> getStatuses() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(statuses));
+    }
+
+    public synchronized boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public enum Status {
+        SUCCESS,
+        FAILED,
+        TIMEOUT
+    }
+}
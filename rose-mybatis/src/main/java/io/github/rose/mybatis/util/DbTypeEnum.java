@@ -16,7 +16,10 @@
 package io.github.rose.mybatis.util;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -38,7 +41,12 @@ public enum DbTypeEnum {
     /**
      * MySQL
      */
-    MY_SQL(DbType.MYSQL, "MySQL", "FIND_IN_SET('#{value}', #{column}) <> 0"),
+    MY_SQL(
+            DbType.MYSQL,
+            "MySQL",
+            "FIND_IN_SET('#{value}', #{column}) <> 0",
+            "ON DUPLICATE KEY UPDATE #{assignments}",
+            "VALUES(#{column})"),
 
     /**
      * Oracle
@@ -50,7 +58,12 @@ public enum DbTypeEnum {
      * <p>
      * 华为 openGauss 使用 ProductName 与 PostgreSQL 相同
      */
-    POSTGRE_SQL(DbType.POSTGRE_SQL, "PostgreSQL", "POSITION('#{value}' IN #{column}) <> 0"),
+    POSTGRE_SQL(
+            DbType.POSTGRE_SQL,
+            "PostgreSQL",
+            "POSITION('#{value}' IN #{column}) <> 0",
+            "ON CONFLICT (#{key}) DO UPDATE SET #{assignments}#{where}",
+            "EXCLUDED.#{column}"),
 
     /**
      * SQL Server
@@ -76,6 +89,11 @@ public enum DbTypeEnum {
     KINGBASE_ES(DbType.KINGBASE_ES, "KingbaseES", "POSITION('#{value}' IN #{column}) <> 0"),
     ;
 
+    /**
+     * 流式查询默认的 fetchSize
+     */
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
     public static final Map<String, DbTypeEnum> MAP_BY_NAME =
             Arrays.stream(values()).collect(Collectors.toMap(DbTypeEnum::getProductName, Function.identity()));
 
@@ -97,10 +115,32 @@ public enum DbTypeEnum {
      */
     private final String findInSetTemplate;
 
+    /**
+     * 批量 upsert 时追加在 INSERT 之后的子句模板，为空表示不支持。
+     * 带{@code #{where}}时租户条件写在冲突更新的 WHERE 中，否则写在每列的赋值中
+     */
+    private final String upsertTemplate;
+
+    /**
+     * upsert 子句中引用待插入值的模板
+     */
+    private final String upsertValueTemplate;
+
     DbTypeEnum(DbType mpDbType, String productName, String findInSetTemplate) {
+        this(mpDbType, productName, findInSetTemplate, "", "");
+    }
+
+    DbTypeEnum(
+            DbType mpDbType,
+            String productName,
+            String findInSetTemplate,
+            String upsertTemplate,
+            String upsertValueTemplate) {
         this.mpDbType = mpDbType;
         this.productName = productName;
         this.findInSetTemplate = findInSetTemplate;
+        this.upsertTemplate = upsertTemplate;
+        this.upsertValueTemplate = upsertValueTemplate;
     }
 
     public static DbType find(String databaseProductName) {
@@ -115,6 +155,87 @@ public enum DbTypeEnum {
                 .orElseThrow(() -> new IllegalArgumentException("FIND_IN_SET not supported"));
     }
 
+    /**
+     * 生成批量 upsert 子句，主键冲突时更新指定的列
+     *
+     * @param tableName     表名
+     * @param keyColumn     主键列
+     * @param updateColumns 冲突时用新值更新的列
+     * @param versionColumn 乐观锁版本列，冲突时在原值上加一，可为 null
+     * @return upsert 子句
+     */
+    public String getUpsertClause(
+            String tableName, String keyColumn, List<String> updateColumns, String versionColumn) {
+        return getUpsertClause(tableName, keyColumn, updateColumns, versionColumn, null);
+    }
+
+    /**
+     * 生成批量 upsert 子句，主键冲突时只更新租户列与待插入值相同的行，与 updateById 追加租户条件一致，
+     * 避免覆盖其他租户的数据
+     *
+     * @param tableName     表名
+     * @param keyColumn     主键列
+     * @param updateColumns 冲突时用新值更新的列
+     * @param versionColumn 乐观锁版本列，冲突时在原值上加一，可为 null
+     * @param tenantColumn  租户列，为 null 时不限制租户
+     * @return upsert 子句
+     */
+    public String getUpsertClause(
+            String tableName,
+            String keyColumn,
+            List<String> updateColumns,
+            String versionColumn,
+            String tenantColumn) {
+        if (!isUpsertSupported()) {
+            throw new IllegalArgumentException("UPSERT not supported by " + productName);
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String column : updateColumns) {
+            values.put(column, upsertValueTemplate.replace("#{column}", column));
+        }
+        if (versionColumn != null) {
+            values.put(versionColumn, "COALESCE(" + tableName + "." + versionColumn + ", 0) + 1");
+        }
+        // 没有可更新的列时用主键自赋值，保证语句合法
+        if (values.isEmpty()) {
+            values.put(keyColumn, upsertValueTemplate.replace("#{column}", keyColumn));
+        }
+
+        boolean conditionInWhere = upsertTemplate.contains("#{where}");
+        String condition = tenantColumn == null
+                ? null
+                : (conditionInWhere ? tableName + "." + tenantColumn : tenantColumn) + " = "
+                        + upsertValueTemplate.replace("#{column}", tenantColumn);
+        List<String> assignments = new ArrayList<>(values.size());
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            if (condition != null && !conditionInWhere) {
+                value = "CASE WHEN " + condition + " THEN " + value + " ELSE " + entry.getKey() + " END";
+            }
+            assignments.add(entry.getKey() + " = " + value);
+        }
+        return upsertTemplate
+                .replace("#{key}", keyColumn)
+                .replace("#{assignments}", String.join(", ", assignments))
+                .replace("#{where}", condition == null ? "" : " WHERE " + condition);
+    }
+
+    public boolean isUpsertSupported() {
+        return StringUtils.isNotEmpty(upsertTemplate);
+    }
+
+    /**
+     * 流式查询使用的 fetchSize
+     * <p>
+     * MySQL 驱动只有 {@link Integer#MIN_VALUE} 时才逐行读取，否则会读入全部结果；PostgreSQL、人大金仓需在关闭自动提交的连接上
+     * 使用正数；其他数据库使用正数减少网络往返
+     *
+     * @return fetchSize
+     */
+    public int getStreamFetchSize() {
+        return this == MY_SQL ? Integer.MIN_VALUE : DEFAULT_STREAM_FETCH_SIZE;
+    }
+
     public DbType getMpDbType() {
         return mpDbType;
     }
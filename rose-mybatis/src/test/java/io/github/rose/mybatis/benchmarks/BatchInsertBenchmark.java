@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.benchmarks;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import io.github.rose.mybatis.extension.incrementer.SnowflakeIdentifierGenerator;
+import io.github.rose.mybatis.extension.injector.RoseSqlInjector;
+import io.github.rose.mybatis.extension.interceptor.DefaultMetaObjectHandler;
+import io.github.rose.mybatis.extension.service.BaseServiceImpl;
+import io.github.rose.mybatis.model.BaseEntity;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts 100k rows into an in-memory H2 database, with the JDBC batch of {@code saveBatch} and with the multi-row
+ * statements of {@link BaseServiceImpl#insertBatch}. Both paths go through auto-fill and snowflake id generation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BatchInsertBenchmark {
+    private static final int ROWS = 100_000;
+
+    private JdbcDataSource dataSource;
+
+    private UserService userService;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1");
+        execute("CREATE TABLE IF NOT EXISTS bench_user (id BIGINT PRIMARY KEY, name VARCHAR(64), email VARCHAR(64), "
+                + "version INT, is_deleted BOOLEAN, created_by VARCHAR(64), create_time TIMESTAMP, "
+                + "updated_by VARCHAR(64), update_time TIMESTAMP)");
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("benchmark", new SpringManagedTransactionFactory(), dataSource));
+        GlobalConfig globalConfig = new GlobalConfig();
+        globalConfig.setSqlInjector(new RoseSqlInjector());
+        globalConfig.setIdentifierGenerator(new SnowflakeIdentifierGenerator());
+        globalConfig.setMetaObjectHandler(new DefaultMetaObjectHandler());
+        configuration.setGlobalConfig(globalConfig);
+        configuration.addMapper(UserMapper.class);
+        SqlSessionFactory sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+
+        userService = new UserService(new SqlSessionTemplate(sqlSessionFactory).getMapper(UserMapper.class));
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() throws SQLException {
+        execute("TRUNCATE TABLE bench_user");
+        users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            User user = new User();
+            user.setName("rose" + i);
+            user.setEmail("user" + i + "@rosestack.io");
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public boolean saveBatch() {
+        return userService.saveBatch(users, 1000);
+    }
+
+    @Benchmark
+    public int insertBatch() {
+        return userService.insertBatch(users);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    public interface UserMapper extends BaseMapper<User> {}
+
+    public static class UserService extends BaseServiceImpl<UserMapper, User> {
+        UserService(UserMapper userMapper) {
+            this.baseMapper = userMapper;
+        }
+    }
+
+    @TableName("bench_user")
+    public static class User extends BaseEntity {
+        private String name;
+
+        private String email;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.benchmarks;
+
+import com.baomidou.mybatisplus.core.toolkit.AES;
+import io.github.rose.mybatis.encrypt.DefaultEncryptor;
+import io.github.rose.mybatis.encrypt.IEncryptor;
+import io.github.rose.mybatis.encrypt.util.Algorithm;
+import io.github.rose.mybatis.encrypt.util.CryptoProvider;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Encryption throughput of {@link CryptoProvider} with cached ciphers, compared with MyBatis-Plus {@link AES}
+ * which creates a {@code Cipher} per value. Runs with several threads to cover the per-thread caches.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class CryptoBenchmark {
+    private static final String PASSWORD = "1234567890abcdef";
+
+    private final IEncryptor encryptor = new DefaultEncryptor();
+
+    private List<String> phones;
+
+    @Setup
+    public void setup() {
+        phones = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            phones.add("135" + String.format("%08d", i));
+        }
+    }
+
+    @Benchmark
+    public String mybatisPlusAes() {
+        return AES.encrypt("13512345678", PASSWORD);
+    }
+
+    @Benchmark
+    public String aes() {
+        return CryptoProvider.aesEncrypt("13512345678", PASSWORD);
+    }
+
+    @Benchmark
+    public String md5() {
+        return CryptoProvider.md5With32("13512345678");
+    }
+
+    @Benchmark
+    public List<String> encryptEach() {
+        List<String> result = new ArrayList<>(phones.size());
+        for (String phone : phones) {
+            result.add(encryptor.encrypt(Algorithm.AES, PASSWORD, phone, null));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> encryptAll() {
+        return encryptor.encryptAll(Algorithm.AES, PASSWORD, phones);
+    }
+}
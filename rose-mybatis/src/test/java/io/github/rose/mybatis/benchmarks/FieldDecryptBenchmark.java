@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.benchmarks;
+
+import io.github.rose.mybatis.encrypt.DefaultEncryptor;
+import io.github.rose.mybatis.encrypt.FieldSetProperty;
+import io.github.rose.mybatis.encrypt.IEncryptor;
+import io.github.rose.mybatis.encrypt.annotation.FieldEncrypt;
+import io.github.rose.mybatis.encrypt.interceptor.FieldDecryptInterceptor;
+import io.github.rose.mybatis.encrypt.util.Algorithm;
+import io.github.rose.mybatis.encrypt.util.FieldSetPropertyHelper;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decrypts 100k rows with two {@link FieldEncrypt} fields, through the compiled accessor plan of
+ * {@link FieldSetPropertyHelper} and through a {@link MetaObject} per row as before.
+ */
+@State(Scope.Benchmark)
+public class FieldDecryptBenchmark {
+    private static final int ROWS = 100_000;
+
+    private final Configuration configuration = new Configuration();
+
+    private final IEncryptor encryptor = new DefaultEncryptor();
+
+    private FieldDecryptInterceptor interceptor;
+
+    private List<User> users;
+
+    private String[] phones;
+
+    private String[] emails;
+
+    @Setup
+    public void setup() {
+        interceptor = new FieldDecryptInterceptor(encryptor, null, "rose");
+        users = new ArrayList<>(ROWS);
+        phones = new String[ROWS];
+        emails = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setName("rose" + i);
+            users.add(user);
+            phones[i] = encryptor.encrypt(Algorithm.BASE64, "rose", "135" + String.format("%08d", i), null);
+            emails[i] = encryptor.encrypt(Algorithm.BASE64, "rose", "user" + i + "@rosestack.io", null);
+        }
+    }
+
+    @Benchmark
+    public List<User> accessorPlan() {
+        reset();
+        for (User user : users) {
+            FieldSetPropertyHelper.foreachValue(
+                    configuration,
+                    user,
+                    (config, value, fieldSetProperty) ->
+                            interceptor.decrypt(encryptor, null, "rose", config, value, fieldSetProperty));
+        }
+        return users;
+    }
+
+    @Benchmark
+    public List<User> metaObject() {
+        reset();
+        for (User user : users) {
+            List<FieldSetProperty> fieldSetPropertyList = FieldSetPropertyHelper.getFieldSetPropertyList(User.class);
+            MetaObject metaObject = configuration.newMetaObject(user);
+            fieldSetPropertyList.parallelStream().forEach(fieldSetProperty -> {
+                String fieldName = fieldSetProperty.getFieldName();
+                Object value = metaObject.getValue(fieldName);
+                if (value != null) {
+                    FieldEncrypt fieldEncrypt = fieldSetProperty.getFieldEncrypt();
+                    metaObject.setValue(
+                            fieldName, encryptor.decrypt(fieldEncrypt.algorithm(), "rose", (String) value, null));
+                }
+            });
+        }
+        return users;
+    }
+
+    private void reset() {
+        for (int i = 0; i < ROWS; i++) {
+            User user = users.get(i);
+            user.setPhone(phones[i]);
+            user.setEmail(emails[i]);
+        }
+    }
+
+    public static class User {
+        private Long id;
+
+        private String name;
+
+        @FieldEncrypt
+        private String phone;
+
+        @FieldEncrypt
+        private String email;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public void setPhone(String phone) {
+            this.phone = phone;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.datapermission.rule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rose.mybatis.datapermission.annotation.DataPermission;
+import io.github.rose.mybatis.datapermission.aop.DataPermissionContextHolder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.Expression;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DataPermissionRuleFactoryImplTest {
+    private final DeptRule deptRule = new DeptRule();
+    private final UserRule userRule = new UserRule();
+    private final DataPermissionRuleFactoryImpl ruleFactory =
+            new DataPermissionRuleFactoryImpl(Arrays.asList(deptRule, userRule));
+
+    @AfterEach
+    public void clear() {
+        DataPermissionContextHolder.clear();
+    }
+
+    @Test
+    public void testRulesByTable() {
+        assertThat(ruleFactory.getDataPermissionRule("select", "sys_user")).containsExactly(deptRule, userRule);
+        assertThat(ruleFactory.getDataPermissionRule("select", "sys_dept")).containsExactly(deptRule);
+        assertThat(ruleFactory.getDataPermissionRule("select", "sys_role")).isEmpty();
+    }
+
+    @Test
+    public void testCachedByDataPermission() throws Exception {
+        DataPermissionContextHolder.add(dataPermission("includeUser"));
+        assertThat(ruleFactory.getDataPermissionRule("select", "sys_user")).containsExactly(userRule);
+        assertThat(ruleFactory.getDataPermissionRule("select", "sys_dept")).isEmpty();
+        assertThat(ruleFactory.getCacheMisses()).isEqualTo(1);
+        assertThat(ruleFactory.getCacheHits()).isEqualTo(1);
+
+        DataPermissionContextHolder.add(dataPermission("disabled"));
+        assertThat(ruleFactory.getDataPermissionRule("select")).isEmpty();
+        assertThat(ruleFactory.getCacheSize()).isEqualTo(2);
+        assertThat(ruleFactory.getCacheHitRate()).isEqualTo(1 / 3.0);
+
+        ruleFactory.clearCache();
+        assertThat(ruleFactory.getCacheSize()).isZero();
+    }
+
+    @DataPermission(includeRules = UserRule.class)
+    private void includeUser() {}
+
+    @DataPermission(enable = false)
+    private void disabled() {}
+
+    private static DataPermission dataPermission(String method) throws Exception {
+        return DataPermissionRuleFactoryImplTest.class.getDeclaredMethod(method).getAnnotation(DataPermission.class);
+    }
+
+    static class DeptRule implements DataPermissionRule {
+        @Override
+        public Set<String> getTableNames() {
+            return new HashSet<>(Arrays.asList("sys_dept", "sys_user"));
+        }
+
+        @Override
+        public Expression getExpression(String tableName, Alias tableAlias) {
+            return null;
+        }
+    }
+
+    static class UserRule implements DataPermissionRule {
+        @Override
+        public Set<String> getTableNames() {
+            return Collections.singleton("sys_user");
+        }
+
+        @Override
+        public Expression getExpression(String tableName, Alias tableAlias) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.encrypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rose.mybatis.encrypt.annotation.BlindIndex;
+import io.github.rose.mybatis.encrypt.annotation.FieldEncrypt;
+import io.github.rose.mybatis.encrypt.util.Algorithm;
+import org.junit.jupiter.api.Test;
+
+public class BlindIndexerTest {
+    private final BlindIndexer blindIndexer = new BlindIndexer("rose");
+
+    @Test
+    public void testIndexNormalized() throws Exception {
+        BlindIndex blindIndex = blindIndex("phone");
+        String index = blindIndexer.index("13512345678", blindIndex);
+        assertThat(index).hasSize(32).isEqualTo(blindIndexer.index("135-1234 5678", blindIndex));
+        assertThat(new BlindIndexer("other").index("13512345678", blindIndex)).isNotEqualTo(index);
+        assertThat(blindIndexer.index(null, blindIndex)).isNull();
+    }
+
+    @Test
+    public void testLikeIndex() throws Exception {
+        BlindIndex blindIndex = blindIndex("idCard");
+        String index = blindIndexer.index("34030419900101123X", blindIndex);
+        String like = blindIndexer.likeIndex("%19900101%", blindIndex);
+        assertThat(like).startsWith("%").endsWith("%");
+        assertThat(index).contains(like.substring(1, like.length() - 1));
+        assertThat(index).doesNotContain(blindIndexer.likeIndex("%19900102%", blindIndex).replace("%", ""));
+
+        assertThat(blindIndexer.likeIndex("%12%", blindIndex)).isNull();
+        assertThat(blindIndexer.likeIndex("1990%0101", blindIndex)).isNull();
+        assertThat(blindIndexer.likeIndex("%19900101%", blindIndex("phone"))).isNull();
+    }
+
+    private static BlindIndex blindIndex(String field) throws Exception {
+        return User.class.getDeclaredField(field).getAnnotation(BlindIndex.class);
+    }
+
+    static class User {
+        @FieldEncrypt(algorithm = Algorithm.AES)
+        @BlindIndex(target = "phoneIndex")
+        private String phone;
+
+        private String phoneIndex;
+
+        @FieldEncrypt(algorithm = Algorithm.AES)
+        @BlindIndex(target = "idCardIndex", ngram = 4)
+        private String idCard;
+
+        private String idCardIndex;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.encrypt.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import io.github.rose.mybatis.encrypt.BlindIndexer;
+import io.github.rose.mybatis.encrypt.annotation.BlindIndex;
+import io.github.rose.mybatis.encrypt.annotation.FieldEncrypt;
+import io.github.rose.mybatis.encrypt.util.Algorithm;
+import io.github.rose.mybatis.encrypt.util.FieldSetPropertyHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BlindIndexInnerInterceptorTest {
+    private final BlindIndexer blindIndexer = new BlindIndexer("rose");
+
+    private BlindIndexInnerInterceptor interceptor;
+
+    @BeforeAll
+    public static void initTableInfo() {
+        FieldSetPropertyHelper.init(true, false);
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), User.class);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        interceptor = new BlindIndexInnerInterceptor(blindIndexer);
+        assertThat(interceptor.getTables(new MybatisConfiguration())).isNotEmpty();
+    }
+
+    @Test
+    public void testEquals() {
+        BlindIndexInnerInterceptor.RewritePlan plan = interceptor.plan("SELECT id FROM sys_user WHERE phone = ?");
+        assertThat(plan.sql).isEqualTo("SELECT id FROM sys_user WHERE phone_index = ?");
+        assertThat(plan.indexes).containsExactly(0);
+        assertThat(plan.likes).containsExactly(false);
+    }
+
+    @Test
+    public void testReversedEquals() {
+        BlindIndexInnerInterceptor.RewritePlan plan = interceptor.plan("SELECT id FROM sys_user WHERE ? = phone");
+        assertThat(plan.sql).isEqualTo("SELECT id FROM sys_user WHERE ? = phone_index");
+        assertThat(plan.indexes).containsExactly(0);
+    }
+
+    @Test
+    public void testIn() {
+        BlindIndexInnerInterceptor.RewritePlan plan =
+                interceptor.plan("SELECT id FROM sys_user WHERE status = ? AND phone IN (?, ?)");
+        assertThat(plan.sql).isEqualTo("SELECT id FROM sys_user WHERE status = ? AND phone_index IN (?, ?)");
+        assertThat(plan.indexes).containsExactly(1, 2);
+    }
+
+    @Test
+    public void testLike() {
+        BlindIndexInnerInterceptor.RewritePlan plan =
+                interceptor.plan("SELECT id FROM sys_user WHERE id_card LIKE ?");
+        assertThat(plan.sql).isEqualTo("SELECT id FROM sys_user WHERE id_card_index LIKE ?");
+        assertThat(plan.likes).containsExactly(true);
+
+        // 没有开启n-gram的列不改写LIKE
+        assertThat(interceptor.plan("SELECT id FROM sys_user WHERE phone LIKE ?"))
+                .isSameAs(BlindIndexInnerInterceptor.RewritePlan.NONE);
+    }
+
+    @Test
+    public void testStringValue() {
+        BlindIndexInnerInterceptor.RewritePlan plan =
+                interceptor.plan("SELECT id FROM sys_user WHERE phone = '13512345678'");
+        assertThat(plan.sql)
+                .isEqualTo("SELECT id FROM sys_user WHERE phone_index = '"
+                        + blindIndexer.index("13512345678", User.blindIndex("phone")) + "'");
+        assertThat(plan.indexes).isEmpty();
+    }
+
+    @Test
+    public void testAliasAndJoin() {
+        BlindIndexInnerInterceptor.RewritePlan plan = interceptor.plan("SELECT u.id FROM sys_user u "
+                + "JOIN sys_role r ON u.role_id = r.id WHERE r.name = ? AND u.phone = ?");
+        assertThat(plan.sql)
+                .isEqualTo("SELECT u.id FROM sys_user u "
+                        + "JOIN sys_role r ON u.role_id = r.id WHERE r.name = ? AND u.phone_index = ?");
+        assertThat(plan.indexes).containsExactly(1);
+
+        // 其他表的同名列不改写
+        assertThat(interceptor.plan(
+                        "SELECT u.id FROM sys_user u JOIN sys_role r ON u.role_id = r.id WHERE r.phone = ?"))
+                .isSameAs(BlindIndexInnerInterceptor.RewritePlan.NONE);
+    }
+
+    @Test
+    public void testUnion() {
+        BlindIndexInnerInterceptor.RewritePlan plan = interceptor.plan(
+                "SELECT id FROM sys_user WHERE phone = ? UNION SELECT id FROM sys_user WHERE id_card = ?");
+        assertThat(plan.sql)
+                .isEqualTo("SELECT id FROM sys_user WHERE phone_index = ? "
+                        + "UNION SELECT id FROM sys_user WHERE id_card_index = ?");
+        assertThat(plan.indexes).containsExactly(0, 1);
+        assertThat(plan.likes).containsExactly(false, false);
+    }
+
+    @Test
+    public void testQuotedParameter() {
+        BlindIndexInnerInterceptor.RewritePlan plan =
+                interceptor.plan("SELECT id FROM sys_user WHERE remark = '?' AND status = ? AND phone = ?");
+        assertThat(plan.sql)
+                .isEqualTo("SELECT id FROM sys_user WHERE remark = '?' AND status = ? AND phone_index = ?");
+        assertThat(plan.indexes).containsExactly(1);
+    }
+
+    @Test
+    public void testNone() {
+        assertThat(interceptor.plan("SELECT id FROM sys_user WHERE status = ?"))
+                .isSameAs(BlindIndexInnerInterceptor.RewritePlan.NONE);
+        assertThat(interceptor.plan("UPDATE sys_user SET phone = ? WHERE id = ?"))
+                .isSameAs(BlindIndexInnerInterceptor.RewritePlan.NONE);
+    }
+
+    @Test
+    public void testOrdinals() {
+        assertThat(BlindIndexInnerInterceptor.ordinals("SELECT ?, '?', ?1000001, \"?\", ?1000000", 2))
+                .containsExactly(2, 1);
+        assertThat(BlindIndexInnerInterceptor.ordinals("SELECT ?, ?1000000", 2))
+                .containsExactly(1, Integer.MAX_VALUE);
+    }
+
+    @TableName("sys_user")
+    static class User {
+        private Long id;
+
+        private String status;
+
+        private String remark;
+
+        @FieldEncrypt(algorithm = Algorithm.AES)
+        @BlindIndex(target = "phoneIndex")
+        private String phone;
+
+        private String phoneIndex;
+
+        @FieldEncrypt(algorithm = Algorithm.AES)
+        @BlindIndex(target = "idCardIndex", ngram = 4)
+        private String idCard;
+
+        private String idCardIndex;
+
+        static BlindIndex blindIndex(String field) {
+            try {
+                return User.class.getDeclaredField(field).getAnnotation(BlindIndex.class);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.encrypt.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.baomidou.mybatisplus.core.toolkit.AES;
+import io.github.rose.mybatis.encrypt.DefaultEncryptor;
+import io.github.rose.mybatis.encrypt.IEncryptor;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class CryptoProviderTest {
+    private static final String PASSWORD = "1234567890abcdef";
+
+    @Test
+    public void testAesCompatibleWithMybatisPlus() {
+        String plaintext = "13512345678中文";
+        String ciphertext = CryptoProvider.aesEncrypt(plaintext, PASSWORD);
+        assertThat(ciphertext).isEqualTo(AES.encrypt(plaintext, PASSWORD));
+        assertThat(CryptoProvider.aesDecrypt(AES.encrypt(plaintext, PASSWORD), PASSWORD))
+                .isEqualTo(plaintext);
+    }
+
+    @Test
+    public void testCipherReusableAfterFailure() {
+        assertThatThrownBy(() -> CryptoProvider.aesDecrypt("AAAA", PASSWORD)).isInstanceOf(RuntimeException.class);
+        assertThat(CryptoProvider.aesDecrypt(CryptoProvider.aesEncrypt("rose", PASSWORD), PASSWORD))
+                .isEqualTo("rose");
+    }
+
+    @Test
+    public void testInvalidAesKey() {
+        assertThatThrownBy(() -> CryptoProvider.aesEncrypt("rose", "short")).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testMd5() {
+        assertThat(CryptoProvider.md5With32("rose")).isEqualTo("fcdc7b4207660a1372d0cd5491ad856e");
+        assertThat(CryptoProvider.md5With16("rose")).isEqualTo("07660a1372d0cd54");
+    }
+
+    @Test
+    public void testEncryptAll() {
+        IEncryptor encryptor = new DefaultEncryptor();
+        List<String> plaintexts = Arrays.asList("a", null, "c");
+        List<String> ciphertexts = encryptor.encryptAll(Algorithm.AES, PASSWORD, plaintexts);
+        assertThat(ciphertexts.get(0)).isEqualTo(encryptor.encrypt(Algorithm.AES, PASSWORD, "a", null));
+        assertThat(ciphertexts.get(1)).isNull();
+        assertThat(encryptor.decryptAll(Algorithm.AES, PASSWORD, ciphertexts)).isEqualTo(plaintexts);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import io.github.rose.mybatis.model.BaseEntity;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class CursorPageUtilsTest {
+    private static final Class<?>[] TYPES = {LocalDateTime.class, Long.class};
+
+    private final List<SFunction<User, ?>> keys = Arrays.asList(User::getCreateTime, User::getId);
+
+    @BeforeAll
+    public static void initTableInfo() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), User.class);
+    }
+
+    @Test
+    public void testCursorRoundTrip() {
+        User user = new User();
+        user.setId(1234567890123L);
+        user.setCreateTime(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 6000));
+
+        String cursor = CursorPageUtils.encodeCursor(user, keys);
+        assertThat(cursor).doesNotContain("2025", "1234567890123");
+        assertThat(CursorPageUtils.decodeCursor(cursor, TYPES))
+                .containsExactly(user.getCreateTime(), user.getId());
+    }
+
+    @Test
+    public void testInvalidCursor() {
+        assertThatThrownBy(() -> CursorPageUtils.decodeCursor("abc", TYPES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPageUtils.decodeCursor("YWJj.YWJj", TYPES))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        User user = new User();
+        user.setId(1L);
+        assertThatThrownBy(() -> CursorPageUtils.encodeCursor(user, keys)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testSeek() {
+        LocalDateTime createTime = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+        LambdaQueryWrapper<User> asc = Wrappers.lambdaQuery(User.class);
+        CursorPageUtils.seek(asc, true, keys, new Object[] {createTime, 1L});
+        assertThat(normalize(asc.getSqlSegment()))
+                .contains("create_time>=?AND((create_time>?)OR(create_time=?ANDid>?))");
+        assertThat(asc.getParamNameValuePairs().values()).containsOnly(createTime, 1L);
+
+        LambdaQueryWrapper<User> desc = Wrappers.lambdaQuery(User.class);
+        CursorPageUtils.seek(desc, false, keys.subList(1, 2), new Object[] {1L});
+        assertThat(normalize(desc.getSqlSegment())).contains("((id<?))").doesNotContain("<=");
+
+        assertThatThrownBy(() -> CursorPageUtils.seek(Wrappers.lambdaQuery(User.class), true, keys, new Object[] {1L}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String normalize(String sql) {
+        return sql.replaceAll("#\\{[^}]+}", "?").replaceAll("\\s+", "");
+    }
+
+    @TableName("sys_user")
+    static class User extends BaseEntity {}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.extension.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import io.github.rose.mybatis.encrypt.DefaultEncryptor;
+import io.github.rose.mybatis.encrypt.IEncryptor;
+import io.github.rose.mybatis.encrypt.annotation.FieldEncrypt;
+import io.github.rose.mybatis.encrypt.interceptor.FieldDecryptInterceptor;
+import io.github.rose.mybatis.encrypt.util.Algorithm;
+import io.github.rose.mybatis.extension.interceptor.CursorQueryInterceptor;
+import io.github.rose.mybatis.model.BaseEntity;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 在 32MB 堆的子进程中流式导出 100 万行，读入全部结果需要数百 MB，只有逐行读取才能完成
+ */
+public class StreamExportTest {
+    private static final int ROWS = 1_000_000;
+
+    private static final String PASSWORD = "rose";
+
+    private static final String PHONE = "13512345678";
+
+    @Test
+    public void testExportWithSmallHeap() throws Exception {
+        File output = File.createTempFile("stream-export", ".log");
+        output.deleteOnExit();
+        Process process = new ProcessBuilder(
+                        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                        "-Xmx32m",
+                        "-cp",
+                        System.getProperty("java.class.path"),
+                        Export.class.getName())
+                .redirectErrorStream(true)
+                .redirectOutput(output)
+                .start();
+        boolean exited = process.waitFor(5, TimeUnit.MINUTES);
+        if (!exited) {
+            process.destroyForcibly();
+        }
+        String log = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+        assertThat(exited).isTrue();
+        assertThat(process.exitValue()).as(log).isZero();
+        assertThat(log).contains("rows=" + ROWS);
+    }
+
+    public static class Export {
+        public static void main(String[] args) throws Exception {
+            IEncryptor encryptor = new DefaultEncryptor();
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:export;DB_CLOSE_DELAY=-1;LAZY_QUERY_EXECUTION=1");
+            // 视图按需生成数据，数据库本身不占用堆
+            try (Connection connection = dataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute("CREATE VIEW export_user AS SELECT X AS id, CONCAT('user', X) AS name, '"
+                        + encryptor.encrypt(Algorithm.BASE64, PASSWORD, PHONE, null) + "' AS phone, "
+                        + "0 AS version, FALSE AS is_deleted, CAST(NULL AS VARCHAR(64)) AS created_by, "
+                        + "CAST(NULL AS TIMESTAMP) AS create_time, CAST(NULL AS VARCHAR(64)) AS updated_by, "
+                        + "CAST(NULL AS TIMESTAMP) AS update_time FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            }
+
+            MybatisConfiguration configuration = new MybatisConfiguration();
+            configuration.setEnvironment(new Environment("export", new JdbcTransactionFactory(), dataSource));
+            configuration.addInterceptor(new FieldDecryptInterceptor(encryptor, null, PASSWORD));
+            configuration.addInterceptor(new CursorQueryInterceptor(new MybatisPlusInterceptor()));
+            configuration.addMapper(UserMapper.class);
+            new MybatisSqlSessionFactoryBuilder().build(configuration);
+
+            long rows = 0;
+            try (Stream<User> users = new UserService().selectStream(Wrappers.lambdaQuery(User.class))) {
+                Iterator<User> iterator = users.iterator();
+                while (iterator.hasNext()) {
+                    User user = iterator.next();
+                    if (!PHONE.equals(user.getPhone())) {
+                        throw new IllegalStateException("Row " + user.getId() + " is not decrypted");
+                    }
+                    rows++;
+                }
+            }
+            System.out.println("rows=" + rows);
+        }
+    }
+
+    public interface UserMapper extends BaseMapper<User> {}
+
+    public static class UserService extends BaseServiceImpl<UserMapper, User> {}
+
+    @TableName("export_user")
+    public static class User extends BaseEntity {
+        private String name;
+
+        @FieldEncrypt
+        private String phone;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public void setPhone(String phone) {
+            this.phone = phone;
+        }
+    }
+}
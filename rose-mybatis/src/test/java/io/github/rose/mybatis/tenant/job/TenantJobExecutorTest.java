@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.tenant.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rose.mybatis.tenant.util.TenantContextHolder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+public class TenantJobExecutorTest {
+
+    @Test
+    public void testFanOut() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<String> contexts = new HashSet<>();
+        try (TenantJobExecutor executor = new TenantJobExecutor(2, 0, null)) {
+            List<String> tenantIds = Arrays.asList("t1", "t2", "t3", "t4", "t5");
+            TenantJobResult result = executor.execute("fanOut", tenantIds, tenantId -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                synchronized (contexts) {
+                    contexts.add(TenantContextHolder.getTenantId());
+                }
+                Thread.sleep(20);
+                running.decrementAndGet();
+                if ("t3".equals(tenantId)) {
+                    throw new IllegalStateException("boom");
+                }
+            });
+
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getSucceeded()).containsExactlyInAnyOrder("t1", "t2", "t4", "t5");
+            assertThat(result.getFailures()).containsOnlyKeys("t3");
+            assertThat(result.getStatuses()).hasSize(5);
+            assertThat(contexts).containsExactlyInAnyOrder("t1", "t2", "t3", "t4", "t5");
+            assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testTimeout() {
+        List<String> completed = new ArrayList<>();
+        TenantJobListener listener = (jobName, tenantId, status, durationNanos) -> {
+            synchronized (completed) {
+                completed.add(tenantId + ":" + status);
+            }
+        };
+        try (TenantJobExecutor executor = new TenantJobExecutor(2, 50, Arrays.asList(listener))) {
+            TenantJobResult result = executor.execute("timeout", Arrays.asList("slow", "fast"), tenantId -> {
+                if ("slow".equals(tenantId)) {
+                    Thread.sleep(10_000);
+                }
+            });
+
+            assertThat(result.getStatuses())
+                    .containsEntry("slow", TenantJobResult.Status.TIMEOUT)
+                    .containsEntry("fast", TenantJobResult.Status.SUCCESS);
+            assertThat(completed).containsExactlyInAnyOrder("slow:TIMEOUT", "fast:SUCCESS");
+        }
+    }
+
+    @Test
+    public void testOrphanedRunners() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (TenantJobExecutor executor = new TenantJobExecutor(1, 20, null)) {
+            TenantJobResult result = executor.execute("orphaned", Arrays.asList("t1", "t2", "t3"), tenantId -> {
+                // 不响应中断，超时后线程继续运行
+                while (release.getCount() > 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {
+                        // ignore
+                    }
+                }
+            });
+
+            // 线程池最多 concurrency * 2 个线程，前两个租户超时后占满线程池，第三个租户没有可用线程
+            assertThat(result.getStatuses())
+                    .containsEntry("t1", TenantJobResult.Status.TIMEOUT)
+                    .containsEntry("t2", TenantJobResult.Status.TIMEOUT)
+                    .containsEntry("t3", TenantJobResult.Status.FAILED);
+            assertThat(executor.getOrphanedRunners()).isEqualTo(2);
+
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (executor.getOrphanedRunners() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(executor.getOrphanedRunners()).isZero();
+        }
+    }
+
+    @Test
+    public void testInterrupted() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<TenantJobResult> result = new AtomicReference<>();
+        try (TenantJobExecutor executor = new TenantJobExecutor(1, 0, null)) {
+            Thread caller = new Thread(() -> result.set(
+                    executor.execute("interrupted", Arrays.asList("t1", "t2", "t3"), tenantId -> {
+                        started.countDown();
+                        Thread.sleep(10_000);
+                    })));
+            caller.start();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            caller.interrupt();
+            caller.join(5_000);
+
+            assertThat(result.get().isSuccess()).isFalse();
+            assertThat(result.get().getStatuses())
+                    .hasSize(3)
+                    .containsValues(TenantJobResult.Status.FAILED)
+                    .doesNotContainValue(TenantJobResult.Status.SUCCESS);
+        }
+    }
+
+    @Test
+    public void testShard() {
+        List<String> tenantIds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tenantIds.add("tenant-" + i);
+        }
+        List<String> reversed = new ArrayList<>(tenantIds);
+        Collections.reverse(reversed);
+
+        Set<String> all = new HashSet<>();
+        int total = 0;
+        for (int shard = 0; shard < 3; shard++) {
+            List<String> part = TenantJobExecutor.shard(tenantIds, shard, 3);
+            assertThat(TenantJobExecutor.shard(reversed, shard, 3)).containsExactlyInAnyOrderElementsOf(part);
+            all.addAll(part);
+            total += part.size();
+        }
+        assertThat(total).isEqualTo(tenantIds.size());
+        assertThat(all).containsExactlyInAnyOrderElementsOf(tenantIds);
+        assertThat(TenantJobExecutor.shard(tenantIds, 3, 3)).isSameAs(tenantIds);
+        assertThat(TenantJobExecutor.shard(tenantIds, 0, 1)).isSameAs(tenantIds);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+public class DbTypeEnumTest {
+
+    @Test
+    public void testUpsertClause() {
+        assertThat(DbTypeEnum.MY_SQL.getUpsertClause("sys_user", "id", Arrays.asList("name", "update_time"), "version"))
+                .isEqualTo("ON DUPLICATE KEY UPDATE name = VALUES(name), update_time = VALUES(update_time), "
+                        + "version = COALESCE(sys_user.version, 0) + 1");
+        assertThat(DbTypeEnum.POSTGRE_SQL.getUpsertClause("sys_user", "id", Collections.singletonList("name"), null))
+                .isEqualTo("ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name");
+        assertThat(DbTypeEnum.POSTGRE_SQL.getUpsertClause("sys_user", "id", Collections.emptyList(), null))
+                .isEqualTo("ON CONFLICT (id) DO UPDATE SET id = EXCLUDED.id");
+        assertThatThrownBy(() -> DbTypeEnum.H2.getUpsertClause("sys_user", "id", Collections.emptyList(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testTenantUpsertClause() {
+        assertThat(DbTypeEnum.MY_SQL.getUpsertClause(
+                        "sys_user", "id", Collections.singletonList("name"), "version", "tenant_id"))
+                .isEqualTo("ON DUPLICATE KEY UPDATE "
+                        + "name = CASE WHEN tenant_id = VALUES(tenant_id) THEN VALUES(name) ELSE name END, "
+                        + "version = CASE WHEN tenant_id = VALUES(tenant_id) "
+                        + "THEN COALESCE(sys_user.version, 0) + 1 ELSE version END");
+        assertThat(DbTypeEnum.POSTGRE_SQL.getUpsertClause(
+                        "sys_user", "id", Collections.singletonList("name"), null, "tenant_id"))
+                .isEqualTo("ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name "
+                        + "WHERE sys_user.tenant_id = EXCLUDED.tenant_id");
+    }
+
+    @Test
+    public void testTenantUpsertKeepsOtherTenantRow() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:upsert;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE sys_user "
+                    + "(id BIGINT PRIMARY KEY, tenant_id VARCHAR(32), name VARCHAR(32), version INT)");
+            statement.execute("INSERT INTO sys_user VALUES (1, 't2', 'other', 1), (3, 't1', 'old', 1)");
+            statement.execute("INSERT INTO sys_user (id, tenant_id, name, version) "
+                    + "VALUES (1, 't1', 'mine', 1), (2, 't1', 'new', 1), (3, 't1', 'renamed', 1) "
+                    + DbTypeEnum.MY_SQL.getUpsertClause(
+                            "sys_user", "id", Collections.singletonList("name"), "version", "tenant_id"));
+
+            List<String> rows = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery("SELECT * FROM sys_user ORDER BY id")) {
+                while (rs.next()) {
+                    rows.add(rs.getLong("id") + "," + rs.getString("tenant_id") + ","
+                            + rs.getString("name") + "," + rs.getInt("version"));
+                }
+            }
+            // 其他租户的冲突行保持不变
+            assertThat(rows).containsExactly("1,t2,other,1", "2,t1,new,1", "3,t1,renamed,2");
+        }
+    }
+}
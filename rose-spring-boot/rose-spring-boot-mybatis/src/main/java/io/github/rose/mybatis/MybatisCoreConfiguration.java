@@ -17,15 +17,16 @@ package io.github.rose.mybatis;
 
 import com.baomidou.mybatisplus.autoconfigure.MybatisPlusAutoConfiguration;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
-import com.baomidou.mybatisplus.core.incrementer.DefaultIdentifierGenerator;
 import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
-import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
 import com.baomidou.mybatisplus.core.injector.ISqlInjector;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
 import com.baomidou.mybatisplus.extension.parser.cache.JdkSerialCaffeineJsqlParseCache;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
-import io.github.rose.core.util.NetUtils;
+import io.github.rose.core.util.id.SnowflakeIdGenerator;
+import io.github.rose.mybatis.extension.incrementer.SnowflakeIdentifierGenerator;
+import io.github.rose.mybatis.extension.injector.RoseSqlInjector;
+import io.github.rose.mybatis.extension.interceptor.CursorQueryInterceptor;
 import io.github.rose.mybatis.extension.interceptor.DefaultMetaObjectHandler;
 import io.github.rose.mybatis.mq.rabbitmq.TenantRabbitMQInitializer;
 import io.github.rose.mybatis.mq.redis.TenantRedisMessageInterceptor;
@@ -35,6 +36,7 @@ import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
 
 /**
  * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
@@ -51,9 +53,15 @@ public class MybatisCoreConfiguration {
     }
 
     @Bean
-    public IdentifierGenerator idGenerator() {
-        // 通过本地 生成 workerId 和 dataCenterId
-        return new DefaultIdentifierGenerator(NetUtils.getLocalInetAddress());
+    @ConditionalOnMissingBean
+    public IdentifierGenerator idGenerator(Environment environment) {
+        // workerId 通过 rose.id.worker-id 配置，支持配置文件、系统属性和 ROSE_ID_WORKER_ID 环境变量，
+        // 未配置时根据本机 MAC 地址和进程号生成。配置的 workerId 写入进程内默认的生成器，与 Uuids.nextId() 共用
+        Long workerId = environment.getProperty(SnowflakeIdGenerator.WORKER_ID_PROPERTY, Long.class);
+        if (workerId != null) {
+            SnowflakeIdGenerator.initDefault(workerId);
+        }
+        return new SnowflakeIdentifierGenerator();
     }
 
     @Bean
@@ -65,10 +73,15 @@ public class MybatisCoreConfiguration {
         return mybatisPlusInterceptor;
     }
 
+    @Bean
+    public CursorQueryInterceptor cursorQueryInterceptor(MybatisPlusInterceptor mybatisPlusInterceptor) {
+        return new CursorQueryInterceptor(mybatisPlusInterceptor);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ISqlInjector sqlInjector() {
-        return new DefaultSqlInjector();
+        return new RoseSqlInjector();
     }
 
     @Bean
@@ -17,6 +17,7 @@ package io.github.rose.mybatis;
 
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
+import io.github.rose.mybatis.datapermission.DataPermissionRuleMetrics;
 import io.github.rose.mybatis.datapermission.aop.DataPermissionAnnotationAdvisor;
 import io.github.rose.mybatis.datapermission.db.DataPermissionRuleHandler;
 import io.github.rose.mybatis.datapermission.rule.DataPermissionRule;
@@ -25,7 +26,9 @@ import io.github.rose.mybatis.datapermission.rule.DataPermissionRuleFactoryImpl;
 import io.github.rose.mybatis.util.MyBatisUtils;
 import java.util.List;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 /**
  * 数据权限的自动配置类
@@ -34,7 +37,7 @@ import org.springframework.context.annotation.Bean;
 public class MybatisDataPermissionConfiguration {
 
     @Bean
-    public DataPermissionRuleFactory dataPermissionRuleFactory(List<DataPermissionRule> rules) {
+    public DataPermissionRuleFactoryImpl dataPermissionRuleFactory(List<DataPermissionRule> rules) {
         return new DataPermissionRuleFactoryImpl(rules);
     }
 
@@ -53,4 +56,14 @@ public class MybatisDataPermissionConfiguration {
     public DataPermissionAnnotationAdvisor dataPermissionAnnotationAdvisor() {
         return new DataPermissionAnnotationAdvisor();
     }
+
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class DataPermissionMetricsConfiguration {
+
+        @Bean
+        public DataPermissionRuleMetrics dataPermissionRuleMetrics(DataPermissionRuleFactoryImpl ruleFactory) {
+            return new DataPermissionRuleMetrics(ruleFactory);
+        }
+    }
 }
@@ -15,17 +15,22 @@
  */
 package io.github.rose.mybatis;
 
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import io.github.rose.mybatis.encrypt.BlindIndexer;
 import io.github.rose.mybatis.encrypt.DefaultEncryptor;
 import io.github.rose.mybatis.encrypt.IEncryptor;
 import io.github.rose.mybatis.encrypt.IFieldBinder;
+import io.github.rose.mybatis.encrypt.interceptor.BlindIndexInnerInterceptor;
 import io.github.rose.mybatis.encrypt.interceptor.FieldDecryptInterceptor;
 import io.github.rose.mybatis.encrypt.interceptor.FieldEncryptInterceptor;
+import io.github.rose.mybatis.util.MyBatisUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 
 /**
  * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
@@ -38,10 +43,16 @@ public class MybatisEncryptorConfiguration {
     @Value("${mybatis-plus.encryptor.password:-123456654321}")
     private String password;
 
+    /**
+     * 盲索引密钥，未配置时使用加密密码派生
+     */
+    @Value("${mybatis-plus.encryptor.blind-index-key:}")
+    private String blindIndexKey;
+
     @Bean
     @ConditionalOnMissingBean
-    public FieldEncryptInterceptor fieldEncryptInterceptor(IEncryptor encryptor) {
-        return new FieldEncryptInterceptor(encryptor, password);
+    public FieldEncryptInterceptor fieldEncryptInterceptor(IEncryptor encryptor, BlindIndexer blindIndexer) {
+        return new FieldEncryptInterceptor(encryptor, password, blindIndexer);
     }
 
     @Bean
@@ -51,6 +62,21 @@ public class MybatisEncryptorConfiguration {
         return new FieldDecryptInterceptor(encryptor, fieldBinder, password);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public BlindIndexer blindIndexer() {
+        return new BlindIndexer(StringUtils.hasText(blindIndexKey) ? blindIndexKey : password);
+    }
+
+    @Bean
+    public BlindIndexInnerInterceptor blindIndexInnerInterceptor(
+            MybatisPlusInterceptor interceptor, BlindIndexer blindIndexer) {
+        BlindIndexInnerInterceptor inner = new BlindIndexInnerInterceptor(blindIndexer);
+        // 加在分页插件之前，count查询同样改写为盲索引列
+        MyBatisUtils.addInterceptor(interceptor, inner, 0);
+        return inner;
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public IEncryptor encryptor() {
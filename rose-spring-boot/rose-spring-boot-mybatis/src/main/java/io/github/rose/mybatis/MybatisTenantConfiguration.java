@@ -18,10 +18,12 @@ package io.github.rose.mybatis;
 import static io.github.rose.core.util.Constants.TENANT_CONTEXT_FILTER_ORDER;
 
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
+import com.baomidou.mybatisplus.core.injector.ISqlInjector;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
 import io.github.rose.boot.util.FilterUtils;
+import io.github.rose.mybatis.extension.injector.RoseSqlInjector;
 import io.github.rose.mybatis.redis.TenantRedisCacheManager;
 import io.github.rose.mybatis.tenant.aspect.TenantIgnoreAspect;
 import io.github.rose.mybatis.tenant.aspect.TenantJobAspect;
@@ -29,14 +31,21 @@ import io.github.rose.mybatis.tenant.feign.TenantFeignRequestInterceptor;
 import io.github.rose.mybatis.tenant.filter.TenantContextFilter;
 import io.github.rose.mybatis.tenant.handler.DefaultTenantLineHandler;
 import io.github.rose.mybatis.tenant.handler.TenantMetaObjectHandler;
+import io.github.rose.mybatis.tenant.interceptor.TenantSqlCacheInnerInterceptor;
+import io.github.rose.mybatis.tenant.job.TenantJobExecutor;
+import io.github.rose.mybatis.tenant.job.TenantJobListener;
+import io.github.rose.mybatis.tenant.job.TenantJobMetrics;
 import io.github.rose.mybatis.tenant.service.TenantService;
 import io.github.rose.mybatis.util.MyBatisUtils;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
@@ -72,8 +81,20 @@ public class MybatisTenantConfiguration {
     @Bean
     @ConditionalOnBean(TenantService.class)
     @ConditionalOnClass(name = "com.xxl.job.core.context.XxlJobHelper")
-    public TenantJobAspect tenantJobAspect(TenantService tenantService) {
-        return new TenantJobAspect(tenantService);
+    public TenantJobExecutor tenantJobExecutor(
+            TenantProperties tenantProperties, ObjectProvider<TenantJobListener> tenantJobListeners) {
+        TenantProperties.Job job = tenantProperties.getJob();
+        return new TenantJobExecutor(
+                job.getConcurrency(),
+                job.getTimeout().toMillis(),
+                tenantJobListeners.orderedStream().collect(Collectors.toList()));
+    }
+
+    @Bean
+    @ConditionalOnBean(TenantService.class)
+    @ConditionalOnClass(name = "com.xxl.job.core.context.XxlJobHelper")
+    public TenantJobAspect tenantJobAspect(TenantService tenantService, TenantJobExecutor tenantJobExecutor) {
+        return new TenantJobAspect(tenantService, tenantJobExecutor);
     }
 
     @Bean
@@ -86,11 +107,20 @@ public class MybatisTenantConfiguration {
             MybatisPlusInterceptor interceptor, TenantProperties tenantProperties) {
         DefaultTenantLineHandler defaultTenantLineHandler =
                 new DefaultTenantLineHandler(tenantProperties.getIgnoredTables());
-        TenantLineInnerInterceptor tenantInterceptor = new TenantLineInnerInterceptor(defaultTenantLineHandler);
+        // 按语句缓存改写后的SQL，租户ID作为参数绑定
+        TenantLineInnerInterceptor tenantInterceptor = new TenantSqlCacheInnerInterceptor(
+                defaultTenantLineHandler, tenantProperties.getIgnoredMappedStatements());
         MyBatisUtils.addInterceptor(interceptor, tenantInterceptor, 0);
         return tenantInterceptor;
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public ISqlInjector tenantSqlInjector(TenantProperties tenantProperties) {
+        // upsert 只更新当前租户的冲突行
+        return new RoseSqlInjector(tenantProperties.getTenantIdColumn(), tenantProperties.getIgnoredTables());
+    }
+
     @Bean
     public FilterRegistrationBean<TenantContextFilter> tenantContextFilter() {
         return FilterUtils.createFilterBean(new TenantContextFilter(), TENANT_CONTEXT_FILTER_ORDER);
@@ -118,4 +148,14 @@ public class MybatisTenantConfiguration {
         RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory);
         return new TenantRedisCacheManager(tenantProperties.getIgnoredCaches(), cacheWriter, redisCacheConfiguration);
     }
+
+    @Configuration
+    @ConditionalOnClass(name = {"io.micrometer.core.instrument.MeterRegistry", "com.xxl.job.core.context.XxlJobHelper"})
+    static class TenantJobMetricsConfiguration {
+
+        @Bean
+        public TenantJobMetrics tenantJobMetrics(ObjectProvider<TenantJobExecutor> tenantJobExecutor) {
+            return new TenantJobMetrics(tenantJobExecutor);
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.github.rose.mybatis;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -52,6 +53,11 @@ public class TenantProperties {
      */
     private Set<String> ignoredCaches = Collections.emptySet();
 
+    /**
+     * 多租户 Job 的执行配置
+     */
+    private Job job = new Job();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -99,4 +105,41 @@ public class TenantProperties {
     public void setIgnoredCaches(Set<String> ignoredCaches) {
         this.ignoredCaches = ignoredCaches;
     }
+
+    public Job getJob() {
+        return job;
+    }
+
+    public void setJob(Job job) {
+        this.job = job;
+    }
+
+    public static class Job {
+
+        /**
+         * 每个 Job 同时执行的租户数
+         */
+        private int concurrency = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 单个租户的超时时间，为0表示不限制
+         */
+        private Duration timeout = Duration.ZERO;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
 }
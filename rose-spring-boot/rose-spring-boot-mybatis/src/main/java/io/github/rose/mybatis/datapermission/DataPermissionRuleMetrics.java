@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.datapermission;
+
+import io.github.rose.mybatis.datapermission.rule.DataPermissionRuleFactoryImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 数据权限规则缓存指标：命中数、未命中数、命中率和缓存大小
+ */
+public class DataPermissionRuleMetrics implements MeterBinder {
+
+    private final DataPermissionRuleFactoryImpl ruleFactory;
+
+    public DataPermissionRuleMetrics(DataPermissionRuleFactoryImpl ruleFactory) {
+        this.ruleFactory = ruleFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(
+                        "datapermission.rule.cache.hits", ruleFactory, DataPermissionRuleFactoryImpl::getCacheHits)
+                .register(registry);
+        FunctionCounter.builder(
+                        "datapermission.rule.cache.misses", ruleFactory, DataPermissionRuleFactoryImpl::getCacheMisses)
+                .register(registry);
+        Gauge.builder("datapermission.rule.cache.hit.rate", ruleFactory, DataPermissionRuleFactoryImpl::getCacheHitRate)
+                .description("Ratio of statements resolved from the rule cache")
+                .register(registry);
+        Gauge.builder("datapermission.rule.cache.size", ruleFactory, DataPermissionRuleFactoryImpl::getCacheSize)
+                .register(registry);
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.tenant.interceptor;
+
+import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import io.github.rose.mybatis.tenant.util.TenantContextHolder;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.update.UpdateSet;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * 带改写缓存的多租户插件：每个 (mappedStatementId, SQL) 只解析一次，租户条件以参数 {@code ?} 的形式写入缓存的SQL，
+ * 之后每次执行只需一次缓存查找，再把租户ID作为额外参数绑定。
+ * <p>
+ * 缓存的前提是 {@link TenantLineHandler#ignoreTable(String)} 只与表名有关，全局忽略多租户通过
+ * {@link TenantContextHolder#isIgnored()} 判断，此时以及 {@code ignoredMappedStatements} 中的语句不解析SQL。
+ * 租户ID不是字符串或数字常量、或者SQL中的参数与参数映射对不上时，退回到原有的逐次解析方式
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 0.0.1
+ */
+public class TenantSqlCacheInnerInterceptor extends TenantLineInnerInterceptor {
+
+    private static final String PARAMETER_NAME = "__tenant_id";
+
+    /**
+     * 逐次解析改写过的 BoundSql 的标记，此时没有租户参数
+     */
+    private static final String REWRITTEN_NAME = "__tenant_rewritten";
+
+    /**
+     * 解析时租户参数使用的序号起点，用于在输出的SQL中定位租户参数
+     */
+    private static final int MARKER = 1_000_000;
+
+    /**
+     * 正在生成改写方案时收集租户参数，其余时间为空
+     */
+    private static final ThreadLocal<List<JdbcParameter>> COLLECTING = new ThreadLocal<>();
+
+    private final TenantLineHandler tenantLineHandler;
+
+    private final Set<String> ignoredMappedStatements;
+
+    private final ConcurrentLruCache<SqlKey, RewritePlan> plans;
+
+    public TenantSqlCacheInnerInterceptor(TenantLineHandler tenantLineHandler, Set<String> ignoredMappedStatements) {
+        this(tenantLineHandler, ignoredMappedStatements, 1024);
+    }
+
+    public TenantSqlCacheInnerInterceptor(
+            TenantLineHandler tenantLineHandler, Set<String> ignoredMappedStatements, int cacheSize) {
+        super(new MarkerTenantLineHandler(tenantLineHandler));
+        this.tenantLineHandler = tenantLineHandler;
+        this.ignoredMappedStatements = ignoredMappedStatements == null
+                ? Collections.emptySet()
+                : new HashSet<>(ignoredMappedStatements);
+        this.plans = new ConcurrentLruCache<>(cacheSize, this::plan);
+    }
+
+    @Override
+    public void beforeQuery(
+            Executor executor,
+            MappedStatement ms,
+            Object parameter,
+            RowBounds rowBounds,
+            ResultHandler resultHandler,
+            BoundSql boundSql) {
+        if (isIgnored(ms)) {
+            return;
+        }
+        rewrite(ms, boundSql, false);
+    }
+
+    @Override
+    public void beforeGetBoundSql(StatementHandler sh) {
+        // 批量执行器在 prepare 之前按SQL判断是否复用语句，需要在这里改写，保证复用的语句和参数一致
+        beforeUpdate(sh);
+    }
+
+    @Override
+    public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+        beforeUpdate(sh);
+    }
+
+    private void beforeUpdate(StatementHandler sh) {
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+        MappedStatement ms = mpSh.mappedStatement();
+        SqlCommandType sct = ms.getSqlCommandType();
+        if ((sct == SqlCommandType.INSERT || sct == SqlCommandType.UPDATE || sct == SqlCommandType.DELETE)
+                && !isIgnored(ms)) {
+            rewrite(ms, mpSh.boundSql(), true);
+        }
+    }
+
+    private boolean isIgnored(MappedStatement ms) {
+        return Boolean.TRUE.equals(TenantContextHolder.isIgnored())
+                || ignoredMappedStatements.contains(ms.getId())
+                || InterceptorIgnoreHelper.willIgnoreTenantLine(ms.getId());
+    }
+
+    void rewrite(MappedStatement ms, BoundSql boundSql, boolean multi) {
+        // 同一个 BoundSql 可能经过 getBoundSql 和 prepare 两次，只改写一次
+        if (boundSql.hasAdditionalParameter(PARAMETER_NAME) || boundSql.hasAdditionalParameter(REWRITTEN_NAME)) {
+            return;
+        }
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        String sql = mpBs.sql();
+        List<ParameterMapping> mappings = mpBs.parameterMappings();
+        Object tenantId = bindValue(tenantLineHandler.getTenantId());
+        RewritePlan plan = tenantId == null ? null : plans.get(new SqlKey(ms.getId(), sql, multi));
+        if (plan == null || plan.parameterCount != mappings.size() + plan.positions.length) {
+            mpBs.sql(multi ? parserMulti(sql, null) : parserSingle(sql, null));
+            boundSql.setAdditionalParameter(REWRITTEN_NAME, Boolean.TRUE);
+            return;
+        }
+
+        mpBs.sql(plan.sql);
+        boundSql.setAdditionalParameter(PARAMETER_NAME, tenantId);
+        if (plan.positions.length == 0) {
+            return;
+        }
+        ParameterMapping tenantMapping = new ParameterMapping.Builder(
+                        ms.getConfiguration(), PARAMETER_NAME, tenantId.getClass())
+                .build();
+        List<ParameterMapping> rewritten = new ArrayList<>(plan.parameterCount);
+        int next = 0;
+        int position = 0;
+        for (int i = 0; i < plan.parameterCount; i++) {
+            if (position < plan.positions.length && plan.positions[position] == i) {
+                rewritten.add(tenantMapping);
+                position++;
+            } else {
+                rewritten.add(mappings.get(next++));
+            }
+        }
+        mpBs.parameterMappings(rewritten);
+    }
+
+    /**
+     * 冲突更新不改写租户列：原插件会在 ON DUPLICATE KEY UPDATE 后追加 {@code tenant_id = ?}，
+     * 把其他租户的冲突行改到当前租户下。是否更新由 upsert 子句中的租户条件决定
+     */
+    @Override
+    protected void processInsert(Insert insert, int index, String sql, Object obj) {
+        List<UpdateSet> updateSets = insert.getDuplicateUpdateSets();
+        int size = updateSets == null ? 0 : updateSets.size();
+        super.processInsert(insert, index, sql, obj);
+        if (updateSets != null && updateSets.size() > size) {
+            updateSets.subList(size, updateSets.size()).clear();
+        }
+    }
+
+    /**
+     * 租户ID常量转换为绑定的参数值，无法绑定时返回null
+     */
+    private static Object bindValue(Expression tenantId) {
+        if (tenantId instanceof StringValue) {
+            return ((StringValue) tenantId).getNotExcapedValue();
+        }
+        if (tenantId instanceof LongValue) {
+            return ((LongValue) tenantId).getValue();
+        }
+        return null;
+    }
+
+    private RewritePlan plan(SqlKey key) {
+        List<JdbcParameter> parameters = new ArrayList<>();
+        COLLECTING.set(parameters);
+        String sql;
+        try {
+            sql = key.multi ? parserMulti(key.sql, null) : parserSingle(key.sql, null);
+        } finally {
+            COLLECTING.remove();
+        }
+        return compile(sql, parameters.size());
+    }
+
+    /**
+     * 把租户参数还原为 {@code ?}，并记录它们是SQL中的第几个参数，跳过引号中的内容
+     */
+    static RewritePlan compile(String sql, int markerCount) {
+        StringBuilder result = new StringBuilder(sql.length());
+        List<Integer> positions = new ArrayList<>();
+        int ordinal = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                int j = i + 1;
+                while (j < sql.length() && Character.isDigit(sql.charAt(j))) {
+                    j++;
+                }
+                if (j > i + 1 && j - i - 1 < 10) {
+                    int marker = Integer.parseInt(sql.substring(i + 1, j)) - MARKER;
+                    if (marker >= 0 && marker < markerCount) {
+                        positions.add(ordinal);
+                        result.append('?');
+                        ordinal++;
+                        i = j - 1;
+                        continue;
+                    }
+                }
+                ordinal++;
+            }
+            result.append(c);
+        }
+        int[] array = new int[positions.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = positions.get(i);
+        }
+        return new RewritePlan(result.toString(), array, ordinal);
+    }
+
+    /**
+     * 改写方案：带租户参数的SQL、租户参数在所有参数中的位置和参数总数
+     */
+    static final class RewritePlan {
+        final String sql;
+        final int[] positions;
+        final int parameterCount;
+
+        RewritePlan(String sql, int[] positions, int parameterCount) {
+            this.sql = sql;
+            this.positions = positions;
+            this.parameterCount = parameterCount;
+        }
+    }
+
+    private static final class SqlKey {
+        private final String mappedStatementId;
+        private final String sql;
+        private final boolean multi;
+        private final int hash;
+
+        private SqlKey(String mappedStatementId, String sql, boolean multi) {
+            this.mappedStatementId = mappedStatementId;
+            this.sql = sql;
+            this.multi = multi;
+            this.hash = 31 * Objects.hashCode(mappedStatementId) + sql.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SqlKey)) {
+                return false;
+            }
+            SqlKey other = (SqlKey) o;
+            return multi == other.multi
+                    && sql.equals(other.sql)
+                    && Objects.equals(mappedStatementId, other.mappedStatementId);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 生成改写方案时，租户ID返回带序号的参数；其余方法交给原处理器
+     */
+    private static final class MarkerTenantLineHandler implements TenantLineHandler {
+        private final TenantLineHandler delegate;
+
+        private MarkerTenantLineHandler(TenantLineHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Expression getTenantId() {
+            List<JdbcParameter> parameters = COLLECTING.get();
+            if (parameters == null) {
+                return delegate.getTenantId();
+            }
+            JdbcParameter parameter = new JdbcParameter(MARKER + parameters.size(), true);
+            parameters.add(parameter);
+            return parameter;
+        }
+
+        @Override
+        public String getTenantIdColumn() {
+            return delegate.getTenantIdColumn();
+        }
+
+        @Override
+        public boolean ignoreTable(String tableName) {
+            return delegate.ignoreTable(tableName);
+        }
+
+        @Override
+        public boolean ignoreInsert(List<Column> columns, String tenantIdColumn) {
+            return delegate.ignoreInsert(columns, tenantIdColumn);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.tenant.job;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 多租户 Job 指标：按任务、租户和执行结果统计每个租户的耗时，以及已超时但线程还没有结束的租户数
+ */
+public class TenantJobMetrics implements MeterBinder, TenantJobListener {
+
+    private final ObjectProvider<TenantJobExecutor> tenantJobExecutor;
+
+    private volatile MeterRegistry registry;
+
+    public TenantJobMetrics(ObjectProvider<TenantJobExecutor> tenantJobExecutor) {
+        this.tenantJobExecutor = tenantJobExecutor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        tenantJobExecutor.ifAvailable(executor -> Gauge.builder(
+                        "tenant.job.orphaned", executor, TenantJobExecutor::getOrphanedRunners)
+                .description("Timed out tenant jobs whose thread is still running")
+                .register(registry));
+    }
+
+    @Override
+    public void onComplete(String jobName, String tenantId, TenantJobResult.Status status, long durationNanos) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder("tenant.job.duration")
+                .description("Duration of a tenant job for one tenant")
+                .tag("job", jobName)
+                .tag("tenant", tenantId)
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+}
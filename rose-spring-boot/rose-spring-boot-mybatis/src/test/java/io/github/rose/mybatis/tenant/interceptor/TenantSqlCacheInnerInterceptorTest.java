@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.mybatis.tenant.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import io.github.rose.mybatis.tenant.handler.DefaultTenantLineHandler;
+import io.github.rose.mybatis.tenant.util.TenantContextHolder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TenantSqlCacheInnerInterceptorTest {
+    private static final String TENANT_ID = "1001";
+
+    private static final String IGNORED_STATEMENT = "io.github.rose.mapper.DictMapper.selectAll";
+
+    private final Configuration configuration = new MybatisConfiguration();
+
+    private final DefaultTenantLineHandler tenantLineHandler =
+            new DefaultTenantLineHandler(Collections.singleton("sys_dict"));
+
+    private final TenantLineInnerInterceptor baseline = new TenantLineInnerInterceptor(tenantLineHandler);
+
+    private final TenantSqlCacheInnerInterceptor interceptor =
+            new TenantSqlCacheInnerInterceptor(tenantLineHandler, Collections.singleton(IGNORED_STATEMENT));
+
+    @BeforeEach
+    public void setUp() {
+        TenantContextHolder.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testCompile() {
+        TenantSqlCacheInnerInterceptor.RewritePlan plan = TenantSqlCacheInnerInterceptor.compile(
+                "SELECT id FROM sys_user WHERE name = '?1000000' AND id = ? AND tenant_id = ?1000000", 1);
+        assertThat(plan.sql).isEqualTo("SELECT id FROM sys_user WHERE name = '?1000000' AND id = ? AND tenant_id = ?");
+        assertThat(plan.positions).containsExactly(1);
+        assertThat(plan.parameterCount).isEqualTo(2);
+
+        // 超出租户参数个数的序号按普通参数处理
+        plan = TenantSqlCacheInnerInterceptor.compile("SELECT ?1000001, ?1000000", 1);
+        assertThat(plan.sql).isEqualTo("SELECT ?1000001, ?");
+        assertThat(plan.positions).containsExactly(1);
+        assertThat(plan.parameterCount).isEqualTo(2);
+    }
+
+    @Test
+    public void testSelect() {
+        assertSameAsBaseline("SELECT id FROM sys_user WHERE name = ?", false);
+        assertSameAsBaseline("SELECT id FROM sys_user WHERE name = '?' AND id = ?", false);
+        assertSameAsBaseline("SELECT u.id FROM sys_user u LEFT JOIN sys_dept d ON u.dept_id = d.id "
+                + "WHERE u.name = ? AND d.name = ?", false);
+        assertSameAsBaseline("SELECT id FROM sys_user WHERE status = ? "
+                + "AND dept_id IN (SELECT id FROM sys_dept WHERE name = ?)", false);
+    }
+
+    @Test
+    public void testInsert() {
+        assertSameAsBaseline("INSERT INTO sys_user (id, name) VALUES (?, ?)", true);
+        assertSameAsBaseline("INSERT INTO sys_user (id, name) VALUES (?, ?), (?, ?)", true);
+    }
+
+    @Test
+    public void testUpdateAndDelete() {
+        assertSameAsBaseline("UPDATE sys_user SET name = ? WHERE id = ?", true);
+        assertSameAsBaseline(
+                "DELETE FROM sys_user WHERE id IN (SELECT user_id FROM sys_user_role WHERE role_id = ?)", true);
+    }
+
+    @Test
+    public void testIgnoredTable() {
+        BoundSql boundSql = rewrite("SELECT id FROM sys_dict WHERE code = ?", false);
+        assertThat(boundSql.getSql()).isEqualTo("SELECT id FROM sys_dict WHERE code = ?");
+        assertThat(boundSql.getParameterMappings()).extracting(ParameterMapping::getProperty).containsExactly("p0");
+    }
+
+    @Test
+    public void testIgnoredStatement() {
+        String sql = "SELECT id FROM sys_user WHERE name = ?";
+        BoundSql boundSql = boundSql(sql, 1);
+        interceptor.beforeQuery(null, mappedStatement(IGNORED_STATEMENT), null, null, null, boundSql);
+        assertThat(boundSql.getSql()).isEqualTo(sql);
+        assertThat(boundSql.hasAdditionalParameter("__tenant_id")).isFalse();
+    }
+
+    @Test
+    public void testParameterCountMismatch() {
+        // 参数映射少于SQL中的参数时无法定位租户参数，退回到逐次解析
+        String sql = "SELECT id FROM sys_user WHERE name = ? AND id = ?";
+        BoundSql boundSql = boundSql(sql, 1);
+        interceptor.rewrite(mappedStatement("selectByName"), boundSql, false);
+        assertThat(boundSql.getSql()).isEqualTo(baseline.parserSingle(sql, null));
+        assertThat(boundSql.getParameterMappings()).hasSize(1);
+        assertThat(boundSql.hasAdditionalParameter("__tenant_id")).isFalse();
+    }
+
+    @Test
+    public void testParameterCountMismatchRewrittenOnce() {
+        // 批量执行器对同一个 BoundSql 先后调用 beforeGetBoundSql 和 beforePrepare，逐次解析时也只追加一次租户条件
+        String sql = "UPDATE sys_user SET name = ? WHERE id = ?";
+        BoundSql boundSql = boundSql(sql, 1);
+        StatementHandler handler = new RoutingStatementHandler(
+                null, mappedStatement("updateById", SqlCommandType.UPDATE), null, RowBounds.DEFAULT, null, boundSql);
+        interceptor.beforeGetBoundSql(handler);
+        interceptor.beforePrepare(handler, null, null);
+        assertThat(boundSql.getSql()).isEqualTo(baseline.parserMulti(sql, null));
+        assertThat(boundSql.getParameterMappings()).hasSize(1);
+    }
+
+    /**
+     * 把改写后SQL中的租户参数替换为常量，应与原插件的输出一致
+     */
+    private void assertSameAsBaseline(String sql, boolean multi) {
+        BoundSql boundSql = rewrite(sql, multi);
+        assertThat(boundSql.getAdditionalParameter("__tenant_id")).isEqualTo(TENANT_ID);
+        assertThat(inline(boundSql.getSql(), boundSql.getParameterMappings()))
+                .isEqualTo(multi ? baseline.parserMulti(sql, null) : baseline.parserSingle(sql, null));
+
+        // 第二次执行命中缓存，结果不变
+        BoundSql cached = rewrite(sql, multi);
+        assertThat(cached.getSql()).isEqualTo(boundSql.getSql());
+    }
+
+    private BoundSql rewrite(String sql, boolean multi) {
+        // 没有租户参数时 compile 只统计引号外的参数个数
+        BoundSql boundSql = boundSql(sql, TenantSqlCacheInnerInterceptor.compile(sql, 0).parameterCount);
+        interceptor.rewrite(mappedStatement("statement"), boundSql, multi);
+        return boundSql;
+    }
+
+    private BoundSql boundSql(String sql, int parameterCount) {
+        List<ParameterMapping> mappings = new ArrayList<>();
+        for (int i = 0; i < parameterCount; i++) {
+            mappings.add(new ParameterMapping.Builder(configuration, "p" + i, Object.class).build());
+        }
+        return new BoundSql(configuration, sql, mappings, null);
+    }
+
+    private MappedStatement mappedStatement(String id) {
+        return mappedStatement(id, SqlCommandType.SELECT);
+    }
+
+    private MappedStatement mappedStatement(String id, SqlCommandType sqlCommandType) {
+        return new MappedStatement.Builder(configuration, id, new StaticSqlSource(configuration, ""), sqlCommandType)
+                .build();
+    }
+
+    /**
+     * 把绑定租户ID的参数替换为字符串常量
+     */
+    private static String inline(String sql, List<ParameterMapping> mappings) {
+        StringBuilder result = new StringBuilder();
+        int ordinal = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'') {
+                quote = c;
+            } else if (c == '?') {
+                if ("__tenant_id".equals(mappings.get(ordinal).getProperty())) {
+                    result.append('\'').append(TENANT_ID).append('\'');
+                    ordinal++;
+                    continue;
+                }
+                ordinal++;
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+}
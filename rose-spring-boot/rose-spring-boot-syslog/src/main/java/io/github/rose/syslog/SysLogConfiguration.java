@@ -16,35 +16,54 @@
 package io.github.rose.syslog;
 
 import io.github.rose.syslog.aspect.SysLogAspect;
-import io.github.rose.syslog.event.SysLogListener;
+import io.github.rose.syslog.event.SysLogPipeline;
+import io.github.rose.syslog.event.SysLogPipelineMetrics;
+import io.github.rose.syslog.event.SysLogSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * 日志自动配置
  */
-@EnableAsync
 @Configuration
 @ConditionalOnWebApplication
+@EnableConfigurationProperties(SysLogProperties.class)
 public class SysLogConfiguration {
     public static final Logger log = LoggerFactory.getLogger(SysLogConfiguration.class);
 
     @Bean
     @ConditionalOnMissingBean
-    public SysLogListener sysLogListener() {
-        return new SysLogListener(sysLogInfo -> {
+    public SysLogSink sysLogSink() {
+        return sysLogInfo -> {
             log.info("sysLogInfo: {}", sysLogInfo);
-        });
+        };
     }
 
     @Bean
-    public SysLogAspect sysLogAspect() {
+    @ConditionalOnMissingBean
+    public SysLogPipeline sysLogPipeline(SysLogSink sysLogSink, SysLogProperties sysLogProperties) {
+        return new SysLogPipeline(sysLogSink, sysLogProperties);
+    }
+
+    @Bean
+    public SysLogAspect sysLogAspect(SysLogPipeline sysLogPipeline, SysLogProperties sysLogProperties) {
         log.info("Initializing SysLogAspect");
-        return new SysLogAspect();
+        return new SysLogAspect(sysLogPipeline, sysLogProperties);
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class SysLogMetricsConfiguration {
+
+        @Bean
+        public SysLogPipelineMetrics sysLogPipelineMetrics(SysLogPipeline sysLogPipeline) {
+            return new SysLogPipelineMetrics(sysLogPipeline);
+        }
     }
 }
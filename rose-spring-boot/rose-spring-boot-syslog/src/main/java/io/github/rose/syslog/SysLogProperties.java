@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.syslog;
+
+import io.github.rose.core.util.Constants;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 操作日志配置
+ */
+@ConfigurationProperties(Constants.PROJECT_NAME + ".syslog")
+public class SysLogProperties {
+
+    /**
+     * 缓冲区容量
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * 每批最多保存的日志数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 未攒满一批时的最长等待时间
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * {@link OverflowPolicy#SAMPLE}时，缓冲区使用率超过该比例后开始采样
+     */
+    private double sampleThreshold = 0.5;
+
+    /**
+     * {@link OverflowPolicy#SAMPLE}时，开始采样后保留的比例
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * {@link OverflowPolicy#BLOCK}时，最长阻塞时间，超时后丢弃
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /**
+     * 关闭时等待缓冲区写完的最长时间
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 请求参数的序列化时机
+     */
+    private CaptureMode requestParamsCapture = CaptureMode.DEFERRED;
+
+    /**
+     * 请求参数序列化后的最大字节数，超出部分截断，小于等于0时不限制
+     */
+    private int maxRequestParamsSize = 4096;
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public double getSampleThreshold() {
+        return sampleThreshold;
+    }
+
+    public void setSampleThreshold(double sampleThreshold) {
+        this.sampleThreshold = sampleThreshold;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Duration getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    public void setBlockTimeout(Duration blockTimeout) {
+        this.blockTimeout = blockTimeout;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public CaptureMode getRequestParamsCapture() {
+        return requestParamsCapture;
+    }
+
+    public void setRequestParamsCapture(CaptureMode requestParamsCapture) {
+        this.requestParamsCapture = requestParamsCapture;
+    }
+
+    public int getMaxRequestParamsSize() {
+        return maxRequestParamsSize;
+    }
+
+    public void setMaxRequestParamsSize(int maxRequestParamsSize) {
+        this.maxRequestParamsSize = maxRequestParamsSize;
+    }
+
+    public enum CaptureMode {
+        /**
+         * 在请求线程中序列化
+         */
+        EAGER,
+        /**
+         * 请求线程只保存参数引用，由{@link io.github.rose.syslog.event.SysLogPipeline}在后台线程中序列化，
+         * 被丢弃的日志不会序列化。方法执行过程中修改参数对象会反映到日志中
+         */
+        DEFERRED
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * 缓冲区满时丢弃新日志
+         */
+        DROP,
+        /**
+         * 缓冲区使用率超过阈值后按比例采样，满时丢弃
+         */
+        SAMPLE,
+        /**
+         * 缓冲区满时阻塞调用线程，超时后丢弃
+         */
+        BLOCK
+    }
+}
@@ -15,10 +15,10 @@
  */
 package io.github.rose.syslog.aspect;
 
-import io.github.rose.core.spring.SpringContextHolder;
+import io.github.rose.syslog.SysLogProperties;
 import io.github.rose.syslog.annotation.SysLog;
-import io.github.rose.syslog.event.SysLogEvent;
 import io.github.rose.syslog.event.SysLogInfo;
+import io.github.rose.syslog.event.SysLogPipeline;
 import io.github.rose.syslog.util.SysLogUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -27,19 +27,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * 操作日志使用spring event异步入库
+ * 操作日志通过{@link SysLogPipeline}异步批量入库
  */
 @Aspect
 public class SysLogAspect {
     private static final Logger log = LoggerFactory.getLogger(SysLogAspect.class);
 
+    private final SysLogPipeline pipeline;
+
+    private final SysLogProperties properties;
+
+    public SysLogAspect(SysLogPipeline pipeline, SysLogProperties properties) {
+        this.pipeline = pipeline;
+        this.properties = properties;
+    }
+
     @Around("@annotation(sysLog)")
     public Object around(ProceedingJoinPoint joinPoint, SysLog sysLog) {
-        String strClassName = joinPoint.getTarget().getClass().getName();
-        String strMethodName = joinPoint.getSignature().getName();
-        log.debug("[类名]:{},[方法]:{}", strClassName, strMethodName);
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "[类名]:{},[方法]:{}",
+                    joinPoint.getTarget().getClass().getName(),
+                    joinPoint.getSignature().getName());
+        }
 
-        SysLogInfo sysLogInfo = SysLogUtils.getSysLog(joinPoint, sysLog);
+        SysLogInfo sysLogInfo = SysLogUtils.getSysLog(joinPoint, sysLog, properties);
 
         long startTime = System.currentTimeMillis();
         Object result = null;
@@ -51,7 +63,7 @@ public class SysLogAspect {
             throw new RuntimeException(e);
         } finally {
             sysLogInfo.setCostTime(System.currentTimeMillis() - startTime);
-            SpringContextHolder.publishEvent(new SysLogEvent(sysLogInfo));
+            pipeline.submit(sysLogInfo);
         }
         return result;
     }
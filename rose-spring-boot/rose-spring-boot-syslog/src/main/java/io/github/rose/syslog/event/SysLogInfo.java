@@ -34,6 +34,11 @@ public class SysLogInfo implements Serializable {
 
     private String requestParams;
 
+    /**
+     * 尚未序列化的请求参数，延迟序列化时使用
+     */
+    private transient Object requestParamsSource;
+
     private String requestMethod;
 
     private Long costTime;
@@ -98,6 +103,14 @@ public class SysLogInfo implements Serializable {
         this.requestParams = requestParams;
     }
 
+    public Object getRequestParamsSource() {
+        return requestParamsSource;
+    }
+
+    public void setRequestParamsSource(Object requestParamsSource) {
+        this.requestParamsSource = requestParamsSource;
+    }
+
     public String getRequestMethod() {
         return requestMethod;
     }
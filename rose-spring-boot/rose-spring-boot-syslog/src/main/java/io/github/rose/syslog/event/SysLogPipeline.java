@@ -0,0 +1,305 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.syslog.event;
+
+import io.github.rose.core.json.JsonUtils;
+import io.github.rose.syslog.SysLogProperties;
+import io.github.rose.syslog.SysLogProperties.OverflowPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 日志异步写入管道
+ * <p>
+ * 日志先写入有界环形缓冲区，缓冲区满时按{@link OverflowPolicy}丢弃、采样或阻塞，不会占用业务线程池；
+ * 单个后台线程按条数或时间攒批，序列化延迟捕获的请求参数后调用{@link SysLogSink#saveBatch(List)}。
+ * 关闭时在超时时间内写完缓冲区中的日志。
+ */
+public class SysLogPipeline implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SysLogPipeline.class);
+
+    private final SysLogSink sink;
+
+    private final BlockingQueue<SysLogInfo> buffer;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final int sampleThreshold;
+
+    private final double sampleRate;
+
+    private final long blockTimeoutNanos;
+
+    private final long shutdownTimeoutMillis;
+
+    private final int maxRequestParamsSize;
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder saved = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder flushCount = new LongAdder();
+
+    private final LongAdder flushTotalNanos = new LongAdder();
+
+    private final AtomicLong flushMaxNanos = new AtomicLong();
+
+    private volatile boolean running;
+
+    /**
+     * 调用{@link #stop()}之后为true，之后提交的日志直接丢弃
+     */
+    private volatile boolean stopped;
+
+    private Thread consumer;
+
+    public SysLogPipeline(SysLogSink sink, SysLogProperties properties) {
+        if (properties.getBufferSize() <= 0 || properties.getBatchSize() <= 0) {
+            throw new IllegalArgumentException("bufferSize and batchSize must be greater than zero");
+        }
+        this.sink = sink;
+        this.capacity = properties.getBufferSize();
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.sampleThreshold = (int) (capacity * properties.getSampleThreshold());
+        this.sampleRate = properties.getSampleRate();
+        this.blockTimeoutNanos = properties.getBlockTimeout().toNanos();
+        this.shutdownTimeoutMillis = properties.getShutdownTimeout().toMillis();
+        this.maxRequestParamsSize = properties.getMaxRequestParamsSize();
+    }
+
+    /**
+     * 提交日志，不会抛出异常
+     *
+     * @param sysLogInfo 日志
+     * @return 是否进入缓冲区
+     */
+    public boolean submit(SysLogInfo sysLogInfo) {
+        submitted.increment();
+        if (stopped) {
+            dropped.increment();
+            log.warn("日志管道已关闭，丢弃日志: {}", sysLogInfo.getName());
+            return false;
+        }
+        boolean accepted;
+        switch (overflowPolicy) {
+            case SAMPLE:
+                accepted = (buffer.size() < sampleThreshold
+                                || ThreadLocalRandom.current().nextDouble() < sampleRate)
+                        && buffer.offer(sysLogInfo);
+                break;
+            case BLOCK:
+                try {
+                    accepted = buffer.offer(sysLogInfo, blockTimeoutNanos, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    accepted = false;
+                }
+                break;
+            default:
+                accepted = buffer.offer(sysLogInfo);
+        }
+        if (!accepted) {
+            dropped.increment();
+        }
+        return accepted;
+    }
+
+    @Override
+    public void start() {
+        synchronized (this) {
+            if (running) {
+                return;
+            }
+            running = true;
+            stopped = false;
+            consumer = new Thread(this::consume, "syslog-pipeline");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            stopped = true;
+            thread = consumer;
+        }
+        try {
+            thread.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("日志管道关闭超时，{} 条日志未保存", buffer.size());
+            return;
+        }
+        // 关闭过程中提交、未被后台线程取走的日志
+        int remaining = buffer.size();
+        if (remaining > 0) {
+            buffer.clear();
+            dropped.add(remaining);
+            log.warn("日志管道已关闭，丢弃 {} 条日志", remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 在 Web 服务器停止之后关闭，使关闭前最后的请求日志也能写入
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    private void consume() {
+        List<SysLogInfo> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        try {
+            while (running || !buffer.isEmpty()) {
+                long wait = deadline - System.nanoTime();
+                SysLogInfo first = wait > 0 && running ? buffer.poll(wait, TimeUnit.NANOSECONDS) : buffer.poll();
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+                if (batch.size() >= batchSize || deadline - System.nanoTime() <= 0 || !running) {
+                    flush(batch);
+                    deadline = System.nanoTime() + flushIntervalNanos;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            buffer.drainTo(batch);
+        } finally {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<SysLogInfo> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            for (SysLogInfo sysLogInfo : batch) {
+                resolveRequestParams(sysLogInfo);
+            }
+            sink.saveBatch(batch);
+            saved.add(batch.size());
+        } catch (Throwable e) {
+            failed.add(batch.size());
+            log.error("保存日志失败", e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushCount.increment();
+            flushTotalNanos.add(elapsed);
+            flushMaxNanos.accumulateAndGet(elapsed, Math::max);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 序列化延迟捕获的请求参数，失败时忽略参数
+     */
+    private void resolveRequestParams(SysLogInfo sysLogInfo) {
+        Object source = sysLogInfo.getRequestParamsSource();
+        if (source == null) {
+            return;
+        }
+        sysLogInfo.setRequestParamsSource(null);
+        try {
+            sysLogInfo.setRequestParams(JsonUtils.toJson(source, maxRequestParamsSize));
+        } catch (Exception e) {
+            log.warn("序列化请求参数失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return 缓冲区中待保存的日志数
+     */
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return 因缓冲区满、采样或管道已关闭被丢弃的日志数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getSavedCount() {
+        return saved.sum();
+    }
+
+    /**
+     * @return 保存失败的日志数
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    public long getFlushTotalNanos() {
+        return flushTotalNanos.sum();
+    }
+
+    public long getFlushMaxNanos() {
+        return flushMaxNanos.get();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.syslog.event;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志管道指标：队列深度、丢弃数、保存数和批量写入耗时
+ */
+public class SysLogPipelineMetrics implements MeterBinder {
+
+    private final SysLogPipeline pipeline;
+
+    public SysLogPipelineMetrics(SysLogPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("syslog.queue.depth", pipeline, SysLogPipeline::getQueueDepth)
+                .description("Number of logs waiting in the buffer")
+                .register(registry);
+        Gauge.builder("syslog.queue.capacity", pipeline, SysLogPipeline::getCapacity)
+                .register(registry);
+        FunctionCounter.builder("syslog.submitted", pipeline, SysLogPipeline::getSubmittedCount)
+                .register(registry);
+        FunctionCounter.builder("syslog.dropped", pipeline, SysLogPipeline::getDroppedCount)
+                .description("Logs dropped because the buffer was full or sampled out")
+                .register(registry);
+        FunctionCounter.builder("syslog.saved", pipeline, SysLogPipeline::getSavedCount)
+                .register(registry);
+        FunctionCounter.builder("syslog.failed", pipeline, SysLogPipeline::getFailedCount)
+                .register(registry);
+        FunctionTimer.builder(
+                        "syslog.flush",
+                        pipeline,
+                        SysLogPipeline::getFlushCount,
+                        SysLogPipeline::getFlushTotalNanos,
+                        TimeUnit.NANOSECONDS)
+                .description("Latency of batch writes to the sink")
+                .register(registry);
+        Gauge.builder("syslog.flush.max", pipeline, p -> p.getFlushMaxNanos() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.syslog.event;
+
+import java.util.List;
+
+/**
+ * 日志存储，由{@link SysLogPipeline}在后台线程中批量调用
+ */
+@FunctionalInterface
+public interface SysLogSink {
+
+    void save(SysLogInfo sysLogInfo) throws Exception;
+
+    /**
+     * 批量保存，支持批量插入的实现应覆盖此方法
+     *
+     * @param sysLogInfos 日志
+     */
+    default void saveBatch(List<SysLogInfo> sysLogInfos) throws Exception {
+        for (SysLogInfo sysLogInfo : sysLogInfos) {
+            save(sysLogInfo);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.syslog.util;
+
+import io.github.rose.syslog.annotation.SysLog;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.StandardReflectionParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * {@link SysLog}方法的元数据，每个方法只解析一次：编译后的表达式、参数名以及参数过滤策略，
+ * 每次调用只需计算表达式和收集参数
+ */
+public final class SysLogMetadata {
+
+    private static final Logger log = LoggerFactory.getLogger(SysLogMetadata.class);
+
+    private static final Map<Method, SysLogMetadata> CACHE = new ConcurrentReferenceHashMap<>();
+
+    private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, SysLogMetadata.class.getClassLoader()));
+
+    /**
+     * 所有调用共享的属性访问器和方法解析器，复用其中的反射缓存
+     */
+    private static final List<PropertyAccessor> PROPERTY_ACCESSORS;
+
+    private static final List<MethodResolver> METHOD_RESOLVERS;
+
+    static {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        PROPERTY_ACCESSORS = context.getPropertyAccessors();
+        METHOD_RESOLVERS = context.getMethodResolvers();
+    }
+
+    private final String value;
+
+    private final Expression expression;
+
+    private final String[] parameterNames;
+
+    private final ArgFilter[] argFilters;
+
+    private SysLogMetadata(Method method, SysLog sysLog) {
+        this.value = sysLog.value();
+        this.expression = parseExpression(method, sysLog.expression());
+        this.parameterNames = new StandardReflectionParameterNameDiscoverer().getParameterNames(method);
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        this.argFilters = new ArgFilter[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            argFilters[i] = ArgFilter.of(parameterTypes[i]);
+        }
+    }
+
+    /**
+     * 表达式有误时只记录一次错误，不影响业务方法执行
+     */
+    private static Expression parseExpression(Method method, String expression) {
+        if (StringUtils.isBlank(expression)) {
+            return null;
+        }
+        try {
+            return EXPRESSION_PARSER.parseExpression(expression);
+        } catch (ParseException e) {
+            log.error("@SysLog 解析 spel {} 异常, 方法: {}", expression, method, e);
+            return null;
+        }
+    }
+
+    public static SysLogMetadata of(Method method, SysLog sysLog) {
+        return CACHE.computeIfAbsent(method, key -> new SysLogMetadata(key, sysLog));
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return 表达式，未配置时为null
+     */
+    public Expression getExpression() {
+        return expression;
+    }
+
+    /**
+     * 获取参数容器
+     *
+     * @param arguments 方法的参数列表
+     * @return 装载参数的容器
+     */
+    public StandardEvaluationContext createContext(Object[] arguments) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setPropertyAccessors(PROPERTY_ACCESSORS);
+        context.setMethodResolvers(METHOD_RESOLVERS);
+        if (parameterNames == null) {
+            return context;
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            context.setVariable(parameterNames[i], arguments[i]);
+        }
+        return context;
+    }
+
+    /**
+     * 过滤掉不需要记录的参数，例如请求、响应和上传文件
+     *
+     * @param args 方法的参数列表
+     * @return 需要记录的参数
+     */
+    public List<Object> filterArgs(Object[] args) {
+        if (args == null || args.length == 0) {
+            return new ArrayList<>();
+        }
+        List<Object> result = new ArrayList<>(args.length);
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            ArgFilter filter = i < argFilters.length ? argFilters[i] : ArgFilter.CHECK;
+            if (filter == ArgFilter.EXCLUDE
+                    || arg == null
+                    || (filter == ArgFilter.CHECK && SysLogUtils.isFilterObject(arg))) {
+                continue;
+            }
+            result.add(arg);
+        }
+        return result;
+    }
+
+    /**
+     * 根据参数声明类型预先确定的过滤策略
+     */
+    enum ArgFilter {
+        /**
+         * 总是记录（为null时除外）
+         */
+        INCLUDE,
+        /**
+         * 总是过滤
+         */
+        EXCLUDE,
+        /**
+         * 需要根据运行时的值判断
+         */
+        CHECK;
+
+        static ArgFilter of(Class<?> type) {
+            if (MultipartFile.class.isAssignableFrom(type)
+                    || HttpServletRequest.class.isAssignableFrom(type)
+                    || HttpServletResponse.class.isAssignableFrom(type)
+                    || BindingResult.class.isAssignableFrom(type)) {
+                return EXCLUDE;
+            }
+            if (ClassUtils.isPrimitiveOrWrapper(type)
+                    || String.class == type
+                    || (type.isArray() && type.getComponentType().isPrimitive())) {
+                return INCLUDE;
+            }
+            return CHECK;
+        }
+    }
+}
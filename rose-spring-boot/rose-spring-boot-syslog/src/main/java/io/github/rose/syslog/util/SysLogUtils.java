@@ -18,26 +18,20 @@ package io.github.rose.syslog.util;
 import io.github.rose.core.json.JsonUtils;
 import io.github.rose.core.spring.WebUtils;
 import io.github.rose.core.util.NetUtils;
+import io.github.rose.syslog.SysLogProperties;
 import io.github.rose.syslog.annotation.SysLog;
 import io.github.rose.syslog.annotation.SysLogIgnore;
 import io.github.rose.syslog.event.SysLogInfo;
-import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
-import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.StandardReflectionParameterNameDiscoverer;
-import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.http.HttpMethod;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -46,9 +40,12 @@ import org.springframework.web.multipart.MultipartFile;
 public class SysLogUtils {
     private static final Logger log = LoggerFactory.getLogger(SysLogUtils.class);
 
-    public static SysLogInfo getSysLog(ProceedingJoinPoint joinPoint, SysLog sysLog) {
+    public static SysLogInfo getSysLog(ProceedingJoinPoint joinPoint, SysLog sysLog, SysLogProperties properties) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        SysLogMetadata metadata = SysLogMetadata.of(signature.getMethod(), sysLog);
+
         SysLogInfo sysLogInfo = new SysLogInfo();
-        sysLogInfo.setName(getSysLogValue(joinPoint, sysLog));
+        sysLogInfo.setName(getSysLogValue(joinPoint, metadata));
         sysLogInfo.setSuccess(true);
         sysLogInfo.setServerIp(NetUtils.getLocalAddress());
         sysLogInfo.setCreatedBy(WebUtils.getUsername());
@@ -62,41 +59,39 @@ public class SysLogUtils {
             sysLogInfo.setUserAgent(WebUtils.getUserAgent(request));
             sysLogInfo.setClientIp(WebUtils.getClientIp(request));
 
+            Object requestParams;
             if (HttpMethod.PUT.name().equals(sysLogInfo.getRequestMethod())
                     || HttpMethod.POST.name().equals(sysLogInfo.getRequestMethod())) {
-                sysLogInfo.setRequestParams(JsonUtils.toJson(dealArgs(joinPoint.getArgs())));
+                requestParams = metadata.filterArgs(joinPoint.getArgs());
+            } else {
+                // 请求结束后容器可能回收参数 Map，这里复制一份
+                requestParams = new LinkedHashMap<>(request.getParameterMap());
+            }
+            if (properties.getRequestParamsCapture() == SysLogProperties.CaptureMode.DEFERRED) {
+                sysLogInfo.setRequestParamsSource(requestParams);
             } else {
-                sysLogInfo.setRequestParams(JsonUtils.toJson(request.getParameterMap()));
+                sysLogInfo.setRequestParams(JsonUtils.toJson(requestParams, properties.getMaxRequestParamsSize()));
             }
         }
         return sysLogInfo;
     }
 
-    private static String getSysLogValue(ProceedingJoinPoint joinPoint, SysLog sysLog) {
-        String value = sysLog.value();
-        String expression = sysLog.expression();
+    private static String getSysLogValue(ProceedingJoinPoint joinPoint, SysLogMetadata metadata) {
+        String value = metadata.getValue();
+        Expression expression = metadata.getExpression();
 
-        if (StringUtils.isNotBlank(expression)) {
-            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-            EvaluationContext context = getContext(joinPoint.getArgs(), signature.getMethod());
+        if (expression != null) {
             try {
-                value = getValue(context, expression, String.class);
+                value = expression.getValue(metadata.createContext(joinPoint.getArgs()), String.class);
             } catch (Exception e) {
-                log.error("@SysLog 解析 spel {} 异常", expression);
+                log.error("@SysLog 解析 spel {} 异常", expression.getExpressionString());
             }
         }
         return value;
     }
 
-    private static List<Object> dealArgs(Object[] args) {
-        if (args == null) {
-            return new ArrayList<>();
-        }
-        return Arrays.stream(args).filter(t -> !isFilterObject(t)).collect(Collectors.toList());
-    }
-
     @SuppressWarnings("rawtypes")
-    private static boolean isFilterObject(Object o) {
+    static boolean isFilterObject(Object o) {
         if (Objects.isNull(o)
                 || o.getClass().isAnnotationPresent(SysLogIgnore.class)
                 || o.getClass().isAnnotationPresent(PathVariable.class)) {
@@ -123,38 +118,4 @@ public class SysLogUtils {
                 || o instanceof HttpServletResponse
                 || o instanceof BindingResult;
     }
-
-    /**
-     * 获取spel 定义的参数值
-     *
-     * @param context 参数容器
-     * @param key     key
-     * @param clazz   需要返回的类型
-     * @param <T>     返回泛型
-     * @return 参数值
-     */
-    private static <T> T getValue(EvaluationContext context, String key, Class<T> clazz) {
-        SpelExpressionParser spelExpressionParser = new SpelExpressionParser();
-        Expression expression = spelExpressionParser.parseExpression(key);
-        return expression.getValue(context, clazz);
-    }
-
-    /**
-     * 获取参数容器
-     *
-     * @param arguments       方法的参数列表
-     * @param signatureMethod 被执行的方法体
-     * @return 装载参数的容器
-     */
-    private static EvaluationContext getContext(Object[] arguments, Method signatureMethod) {
-        String[] parameterNames = new StandardReflectionParameterNameDiscoverer().getParameterNames(signatureMethod);
-        EvaluationContext context = new StandardEvaluationContext();
-        if (parameterNames == null) {
-            return context;
-        }
-        for (int i = 0; i < arguments.length; i++) {
-            context.setVariable(parameterNames[i], arguments[i]);
-        }
-        return context;
-    }
 }
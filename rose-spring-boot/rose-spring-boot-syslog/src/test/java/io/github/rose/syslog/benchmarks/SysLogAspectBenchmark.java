@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.syslog.benchmarks;
+
+import io.github.rose.core.util.NetUtils;
+import io.github.rose.syslog.annotation.SysLog;
+import io.github.rose.syslog.SysLogProperties;
+import io.github.rose.syslog.aspect.SysLogAspect;
+import io.github.rose.syslog.event.SysLogPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+/**
+ * Overhead of {@link SysLogAspect#around} compared with calling the target directly and through a proxy
+ * without the aspect.
+ */
+@State(Scope.Benchmark)
+public class SysLogAspectBenchmark {
+    private Service direct;
+
+    private Service plainProxy;
+
+    private Service sysLogProxy;
+
+    private Order order;
+
+    private SysLogPipeline pipeline;
+
+    @Setup
+    public void setup() {
+        NetUtils.getLocalInetAddress();
+        direct = new DefaultService();
+        plainProxy = new AspectJProxyFactory(direct).getProxy();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(direct);
+        SysLogProperties properties = new SysLogProperties();
+        pipeline = new SysLogPipeline(sysLogInfo -> {}, properties);
+        pipeline.start();
+        factory.addAspect(new SysLogAspect(pipeline, properties));
+        sysLogProxy = factory.getProxy();
+
+        order = new Order();
+        order.setId(1L);
+        order.setName("rose");
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.stop();
+    }
+
+    @Benchmark
+    public Object direct() {
+        return direct.save(order, "remark");
+    }
+
+    @Benchmark
+    public Object plainProxy() {
+        return plainProxy.save(order, "remark");
+    }
+
+    @Benchmark
+    public Object sysLog() {
+        return sysLogProxy.save(order, "remark");
+    }
+
+    @Benchmark
+    public Object sysLogWithExpression() {
+        return sysLogProxy.update(order, "remark");
+    }
+
+    public interface Service {
+        Long save(Order order, String remark);
+
+        Long update(Order order, String remark);
+    }
+
+    public static class DefaultService implements Service {
+        @Override
+        @SysLog("保存订单")
+        public Long save(Order order, String remark) {
+            return order.getId();
+        }
+
+        @Override
+        @SysLog(value = "修改订单", expression = "'修改订单:' + #order?.name")
+        public Long update(Order order, String remark) {
+            return order.getId();
+        }
+    }
+
+    public static class Order {
+        private Long id;
+
+        private String name;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2025 rosestack.github.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.rose.syslog.event;
+
+import io.github.rose.syslog.SysLogProperties;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SysLogPipelineTest {
+
+    @Test
+    void testBatchAndDrainOnStop() {
+        List<Integer> batches = new CopyOnWriteArrayList<>();
+        SysLogProperties properties = new SysLogProperties();
+        properties.setBatchSize(50);
+        properties.setBufferSize(10_000);
+        properties.setFlushInterval(Duration.ofMillis(100));
+        SysLogPipeline pipeline = new SysLogPipeline(new BatchSink(batches), properties);
+        pipeline.start();
+        for (int i = 0; i < 5_000; i++) {
+            Assertions.assertTrue(pipeline.submit(new SysLogInfo()));
+        }
+        pipeline.stop();
+
+        Assertions.assertEquals(5_000, pipeline.getSavedCount());
+        Assertions.assertEquals(5_000, batches.stream().mapToInt(Integer::intValue).sum());
+        Assertions.assertTrue(batches.stream().allMatch(size -> size <= 50));
+        Assertions.assertEquals(0, pipeline.getQueueDepth());
+        Assertions.assertEquals(batches.size(), pipeline.getFlushCount());
+    }
+
+    @Test
+    void testFlushByTime() throws InterruptedException {
+        List<Integer> batches = new CopyOnWriteArrayList<>();
+        SysLogProperties properties = new SysLogProperties();
+        properties.setFlushInterval(Duration.ofMillis(50));
+        SysLogPipeline pipeline = new SysLogPipeline(new BatchSink(batches), properties);
+        pipeline.start();
+        pipeline.submit(new SysLogInfo());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (batches.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(pipeline.isRunning());
+        Assertions.assertEquals(1, batches.size());
+        pipeline.stop();
+    }
+
+    @Test
+    void testDropWhenFull() {
+        SysLogProperties properties = new SysLogProperties();
+        properties.setBufferSize(10);
+        SysLogPipeline pipeline = new SysLogPipeline(sysLogInfo -> {}, properties);
+        for (int i = 0; i < 15; i++) {
+            pipeline.submit(new SysLogInfo());
+        }
+        Assertions.assertEquals(10, pipeline.getQueueDepth());
+        Assertions.assertEquals(5, pipeline.getDroppedCount());
+        Assertions.assertEquals(15, pipeline.getSubmittedCount());
+    }
+
+    @Test
+    void testDropAfterStop() {
+        SysLogPipeline pipeline = new SysLogPipeline(sysLogInfo -> {}, new SysLogProperties());
+        pipeline.start();
+        pipeline.stop();
+
+        Assertions.assertFalse(pipeline.submit(new SysLogInfo()));
+        Assertions.assertEquals(0, pipeline.getQueueDepth());
+        Assertions.assertEquals(1, pipeline.getDroppedCount());
+        Assertions.assertEquals(1, pipeline.getSubmittedCount());
+    }
+
+    @Test
+    void testSinkFailure() {
+        SysLogProperties properties = new SysLogProperties();
+        SysLogPipeline pipeline = new SysLogPipeline(
+                sysLogInfo -> {
+                    throw new IllegalStateException("sink is down");
+                },
+                properties);
+        pipeline.start();
+        pipeline.submit(new SysLogInfo());
+        pipeline.stop();
+        Assertions.assertEquals(1, pipeline.getFailedCount());
+        Assertions.assertEquals(0, pipeline.getSavedCount());
+    }
+
+    @Test
+    void testDeferredRequestParams() {
+        List<SysLogInfo> saved = new CopyOnWriteArrayList<>();
+        SysLogProperties properties = new SysLogProperties();
+        properties.setMaxRequestParamsSize(20);
+        SysLogPipeline pipeline = new SysLogPipeline(saved::add, properties);
+
+        SysLogInfo small = new SysLogInfo();
+        small.setRequestParamsSource(Collections.singletonMap("id", 1));
+        SysLogInfo large = new SysLogInfo();
+        large.setRequestParamsSource(Collections.singletonMap("name", String.join("", Collections.nCopies(100, "a"))));
+        pipeline.start();
+        pipeline.submit(small);
+        pipeline.submit(large);
+        pipeline.stop();
+
+        Assertions.assertEquals("{\"id\":1}", saved.get(0).getRequestParams());
+        Assertions.assertEquals("{\"name\":\"aaaaaaaa...", saved.get(1).getRequestParams());
+        Assertions.assertNull(saved.get(1).getRequestParamsSource());
+    }
+
+    private static class BatchSink implements SysLogSink {
+        private final List<Integer> batches;
+
+        BatchSink(List<Integer> batches) {
+            this.batches = batches;
+        }
+
+        @Override
+        public void save(SysLogInfo sysLogInfo) {}
+
+        @Override
+        public void saveBatch(List<SysLogInfo> sysLogInfos) {
+            batches.add(sysLogInfos.size());
+        }
+    }
+}